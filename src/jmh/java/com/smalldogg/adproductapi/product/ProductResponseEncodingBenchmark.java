@@ -0,0 +1,99 @@
+package com.smalldogg.adproductapi.product;
+
+import com.smalldogg.adproductapi.config.CborCodecConfig;
+import com.smalldogg.adproductapi.product.entity.ProductStatus;
+import com.smalldogg.adproductapi.product.response.ProductFieldSelection;
+import com.smalldogg.adproductapi.product.response.ProductListResponse;
+import com.smalldogg.adproductapi.product.response.ProductSelectedFieldsResponse;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 목록 응답 직렬화 비용 (최대 페이지 200건 = op 1회).
+ *
+ * - json / cbor                 : 전체 필드
+ * - jsonSelected / cborSelected : fields=id,price,status (필드 선택 맵 생성 비용 포함)
+ *
+ * 페이지 한 건의 바이트 수는 setUp 에서 출력합니다. (ns/op 는 JMH 결과, 바이트당 할당은 -prof gc)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductResponseEncodingBenchmark {
+
+    private static final int PAGE_SIZE = 200;
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private ProductListResponse page;
+    private ProductFieldSelection<ProductListResponse.ProductItem> selection;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        cborMapper = CborCodecConfig.cborMapper();
+
+        SplittableRandom rnd = new SplittableRandom(42);
+        ProductStatus[] statuses = ProductStatus.values();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        List<ProductListResponse.ProductItem> items = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            LocalDateTime createdAt = base.plusSeconds(rnd.nextInt(60 * 60 * 24 * 365));
+            items.add(new ProductListResponse.ProductItem(
+                    100_000L + i,
+                    (long) rnd.nextInt(1, 1_001),
+                    rnd.nextInt(1, 4) * 100,
+                    rnd.nextInt(1, 4) * 10,
+                    rnd.nextInt(1, 4),
+                    "상품-" + (i + 1) + "-프리미엄-세트",
+                    statuses[rnd.nextInt(statuses.length)].name(),
+                    rnd.nextLong(100, 100_000_000),
+                    "https://cdn.jerry.world/product/thumbnail/" + Long.toHexString(rnd.nextLong()),
+                    createdAt,
+                    createdAt.plusDays(rnd.nextInt(30))
+            ));
+        }
+        page = new ProductListResponse(items,
+                new ProductListResponse.PageMeta(null, PAGE_SIZE, null, null, true, null, "MTIzNDU2Nzg5MHwxMjM0NQ"));
+
+        selection = ProductFieldSelection.parse("id,price,status", ProductFieldSelection.LIST_ITEM_FIELDS);
+
+        System.out.printf("%nbytes/page (%d items): json=%d cbor=%d jsonSelected=%d cborSelected=%d%n",
+                PAGE_SIZE, json().length, cbor().length, jsonSelected().length, cborSelected().length);
+    }
+
+    @Benchmark
+    public byte[] json() {
+        return jsonMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] cbor() {
+        return cborMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] jsonSelected() {
+        return jsonMapper.writeValueAsBytes(selectedPage());
+    }
+
+    @Benchmark
+    public byte[] cborSelected() {
+        return cborMapper.writeValueAsBytes(selectedPage());
+    }
+
+    private ProductSelectedFieldsResponse selectedPage() {
+        return new ProductSelectedFieldsResponse(selection.apply(page.items()), page.page(), null);
+    }
+}
@@ -0,0 +1,114 @@
+package com.smalldogg.adproductapi.product;
+
+import com.smalldogg.adproductapi.product.entity.Product;
+import com.smalldogg.adproductapi.product.entity.ProductStatus;
+import com.smalldogg.adproductapi.product.response.ProductListResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 목록 응답 매핑 비용 (행 1개 = op 1회).
+ * 두 경로 모두 같은 "컬럼 값"(ResultSet 에서 꺼낸 값에 해당)에서 출발합니다.
+ *
+ * - hydrateAndMap    : 컬럼 → Product 엔티티 → toItem (기존 엔티티 조회 경로의 Java 측 비용, Hibernate 스냅샷 제외)
+ * - directProjection : 컬럼 → ProductItem 바로 생성 (RowMapper 프로젝션 경로)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private static final int SIZE = 4_096;
+
+    private long[] ids;
+    private long[] partnerIds;
+    private int[] categories;
+    private String[] names;
+    private ProductStatus[] statuses;
+    private long[] prices;
+    private String[] imageUrls;
+    private LocalDateTime[] createdAts;
+    private LocalDateTime[] modifiedAts;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom rnd = new SplittableRandom(42);
+        ProductStatus[] values = ProductStatus.values();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        ids = new long[SIZE];
+        partnerIds = new long[SIZE];
+        categories = new int[SIZE];
+        names = new String[SIZE];
+        statuses = new ProductStatus[SIZE];
+        prices = new long[SIZE];
+        imageUrls = new String[SIZE];
+        createdAts = new LocalDateTime[SIZE];
+        modifiedAts = new LocalDateTime[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            ids[i] = i + 1;
+            partnerIds[i] = rnd.nextInt(1, 1_001);
+            categories[i] = rnd.nextInt(1, 4) * 100 + rnd.nextInt(1, 4) * 10 + rnd.nextInt(1, 4);
+            names[i] = "상품-" + (i + 1) + "-프리미엄-세트";
+            statuses[i] = values[rnd.nextInt(values.length)];
+            prices[i] = rnd.nextLong(100, 100_000_000);
+            imageUrls[i] = "https://cdn.jerry.world/product/thumbnail/" + Long.toHexString(rnd.nextLong());
+            createdAts[i] = base.plusSeconds(rnd.nextInt(60 * 60 * 24 * 365));
+            modifiedAts[i] = createdAts[i].plusDays(rnd.nextInt(30));
+        }
+    }
+
+    private int next() {
+        int i = cursor;
+        cursor = (i + 1) & (SIZE - 1);
+        return i;
+    }
+
+    @Benchmark
+    public ProductListResponse.ProductItem hydrateAndMap() {
+        int i = next();
+        Product p = Product.of(
+                ids[i], partnerIds[i], categories[i], names[i], statuses[i], prices[i],
+                imageUrls[i], createdAts[i], modifiedAts[i]
+        );
+        return new ProductListResponse.ProductItem(
+                p.getId(),
+                p.getPartnerId(),
+                p.getCategory1(),
+                p.getCategory2(),
+                p.getCategory3(),
+                p.getName(),
+                p.getStatus().name(),
+                p.getPrice(),
+                p.getImageUrl(),
+                p.getCreatedAt(),
+                p.getModifiedAt()
+        );
+    }
+
+    @Benchmark
+    public ProductListResponse.ProductItem directProjection() {
+        int i = next();
+        int category = categories[i];
+        return new ProductListResponse.ProductItem(
+                ids[i],
+                partnerIds[i],
+                (category / 100) * 100,
+                ((category / 10) % 10) * 10,
+                category % 10,
+                names[i],
+                statuses[i].name(),
+                prices[i],
+                imageUrls[i],
+                createdAts[i],
+                modifiedAts[i]
+        );
+    }
+}
@@ -0,0 +1,204 @@
+package com.smalldogg.adproductapi.product.bulk;
+
+import com.smalldogg.adproductapi.config.ProductImportProperties;
+import com.smalldogg.adproductapi.mock.ProductMockDataGenerator;
+import com.smalldogg.adproductapi.product.entity.Product;
+import com.smalldogg.adproductapi.product.entity.ProductStatus;
+import com.smalldogg.adproductapi.product.response.BulkAddResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * importCsv 파싱 단계별 비용 (행 1개 = op 1회).
+ * -prof gc 의 gc.alloc.rate.norm 이 곧 "행당 할당 바이트"입니다.
+ *
+ * split/parseDateTime 계열은 ProductCsvParser 도입 전 경로(legacy*)이며,
+ * 파일 단위 비교는 importCsvWholeFile vs legacySplitWholeFile 로 봅니다.
+ *
+ * 입력은 ProductMockDataGenerator 로 만든 CSV 를 그대로 사용합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImportParseBenchmark {
+
+    @Param("100000")
+    int rows;
+
+    private byte[] csv;
+    private String[] lines;
+    private String[][] fields;
+    private String[] spaceDateTimes;
+    private int cursor;
+
+    private ProductCsvImporter importer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path tmp = Files.createTempFile("bench-products-", ".csv");
+        try {
+            ProductMockDataGenerator.generate(tmp, ProductMockDataGenerator.Options.of(rows, Math.max(rows / 100, 1), 1L));
+            csv = Files.readAllBytes(tmp);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+
+        List<String> all = new String(csv, StandardCharsets.UTF_8).lines().skip(1).toList();
+        lines = all.toArray(String[]::new);
+        fields = new String[lines.length][];
+        spaceDateTimes = new String[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            fields[i] = lines[i].split(",", 9);
+            for (int j = 0; j < fields[i].length; j++) {
+                fields[i][j] = fields[i][j].trim();
+            }
+            spaceDateTimes[i] = fields[i][7].replace("T", " ");
+        }
+
+        importer = new ProductCsvImporter(
+                new ProductImportProperties(5_000, 1, 1, Duration.ofHours(1), 1, 0),
+                new ProductImportMetrics(new SimpleMeterRegistry())
+        );
+    }
+
+    private int next() {
+        int i = cursor;
+        cursor = (i + 1 == lines.length) ? 0 : i + 1;
+        return i;
+    }
+
+    /**
+     * ProductCsvParser 도입 전 importCsv 의 시간 파싱.
+     */
+    static LocalDateTime legacyParseDateTime(String raw) {
+        String v = raw.trim();
+        if (v.contains("T")) {
+            return LocalDateTime.parse(v);
+        }
+        return LocalDateTime.parse(v.replace(" ", "T"));
+    }
+
+    @Benchmark
+    public String[] split() {
+        return lines[next()].split(",", 9);
+    }
+
+    @Benchmark
+    public String[] splitAndTrim() {
+        String[] t = lines[next()].split(",", 9);
+        for (int j = 0; j < t.length; j++) {
+            t[j] = t[j].trim();
+        }
+        return t;
+    }
+
+    @Benchmark
+    public LocalDateTime parseDateTimeIso() {
+        return legacyParseDateTime(fields[next()][7]);
+    }
+
+    @Benchmark
+    public LocalDateTime parseDateTimeWithSpace() {
+        return legacyParseDateTime(spaceDateTimes[next()]);
+    }
+
+    @Benchmark
+    public ProductStatus statusValueOf() {
+        return ProductStatus.valueOf(fields[next()][4]);
+    }
+
+    @Benchmark
+    public Product productOf() {
+        String[] t = fields[next()];
+        return Product.of(
+                1L, 2L, 123, t[3], ProductStatus.ACTIVE, 1_000L, t[6],
+                LocalDateTime.MIN, LocalDateTime.MIN
+        );
+    }
+
+    /**
+     * importCsv 한 행 분량과 같은 순서의 전체 파싱 (split → trim → 숫자/enum/시간 파싱 → Product.of)
+     */
+    @Benchmark
+    public Product fullRow() {
+        String[] t = lines[next()].split(",", 9);
+        return Product.of(
+                Long.parseLong(t[0].trim()),
+                Long.parseLong(t[1].trim()),
+                Integer.parseInt(t[2].trim()),
+                t[3].trim(),
+                ProductStatus.valueOf(t[4].trim()),
+                Long.parseLong(t[5].trim()),
+                t[6].trim(),
+                legacyParseDateTime(t[7].trim()),
+                legacyParseDateTime(t[8].trim())
+        );
+    }
+
+    /**
+     * 실제 importCsv 경로 전체 (ProductCsvParser, 청크 버퍼 포함, DB 기록은 no-op).
+     * 결과는 파일 단위이므로 행당 수치는 rows 로 나눠서 봅니다.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public BulkAddResponse importCsvWholeFile() throws IOException {
+        return importer.importCsv(
+                new ByteArrayInputStream(csv),
+                new ImportProgress(csv.length),
+                chunk -> new BulkWriteResult(chunk.size(), 0, 0, 0)
+        );
+    }
+
+    /**
+     * ProductCsvParser 도입 전 importCsv 의 파일 단위 경로
+     * (BufferedReader.readLine → split → trim → 파싱 → 청크 버퍼).
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public long legacySplitWholeFile() throws IOException {
+        long written = 0;
+        List<Product> buffer = new ArrayList<>(5_000);
+        try (BufferedReader br = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8))) {
+            br.readLine(); // header
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] t = line.split(",", 9);
+                buffer.add(Product.of(
+                        Long.parseLong(t[0].trim()),
+                        Long.parseLong(t[1].trim()),
+                        Integer.parseInt(t[2].trim()),
+                        t[3].trim(),
+                        ProductStatus.valueOf(t[4].trim()),
+                        Long.parseLong(t[5].trim()),
+                        t[6].trim().isEmpty() ? null : t[6].trim(),
+                        legacyParseDateTime(t[7]),
+                        legacyParseDateTime(t[8])
+                ));
+                if (buffer.size() >= 5_000) {
+                    written += buffer.size();
+                    buffer.clear();
+                }
+            }
+        }
+        return written + buffer.size();
+    }
+}
@@ -0,0 +1,492 @@
+package com.smalldogg.adproductapi.loadtest;
+
+import com.smalldogg.adproductapi.mock.ProductMockDataGenerator;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ProductController 혼합 부하 테스트 (./gradlew mixedLoadTest).
+ *
+ * 1) 빌드한 bootJar 를 로컬 PostgreSQL 에 붙여 띄우고 /actuator/health 가 UP 이 될 때까지 기다림
+ *    (--base-url 을 주면 이미 떠 있는 인스턴스를 그대로 사용)
+ * 2) ProductMockDataGenerator 로 만든 CSV 를 비동기 bulk-add 로 적재하고 job 완료까지 기다림 (--skip-seed 로 생략)
+ * 3) 동시 사용자(closed-loop) 가 --mix 비율대로 요청을 섞어 보내는 동안, 별도 스레드가 bulk-add 를 계속 반복
+ *    - get          : GET /{id}
+ *    - list.{SORT}  : 파트너 목록, ProductSortType 마다 따로 집계 (list 비중을 정렬 종류 수로 나눔)
+ *    - search       : 이름 부분 일치 검색
+ *    - bulk-add     : 동기 UPSERT (--bulk-rows 행, 0 이면 생략)
+ * 4) 엔드포인트별 처리량과 p50/p95/p99/p999 를 출력하고 --out 에 JSON 으로 저장
+ *    (릴리스별 결과 파일을 비교해 회귀를 찾음, 예: jq '.endpoints[] | {name, p99Ms}')
+ *
+ * 옵션 (--name=value): jar, base-url, port, db-url, db-username, db-password, seed-rows, partners, zipf, seed,
+ *                     skip-seed, concurrency, warmup, duration, mix(get:50,list:35,search:15), bulk-rows, label, out
+ */
+public class ProductMixedLoadTest {
+
+    private static final String PRODUCTS = "/api/v1/products";
+    private static final String[] SORT_TYPES = {"ID", "ID_DESC", "CREATED_AT", "PRICE_ASC", "PRICE_DESC"};
+    private static final String[] SEARCH_KEYWORDS = {"프리미엄", "리미티드-번들", "에센셜-키트", "프로", "맥스-에디션"};
+
+    private static final Pattern JOB_STATUS = Pattern.compile("\"status\"\\s*:\\s*\"(\\w+)\"");
+    private static final Pattern JOB_ID = Pattern.compile("\"jobId\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        long seedRows = Long.parseLong(option(args, "seed-rows", "1000000"));
+        int partners = Integer.parseInt(option(args, "partners", "10000"));
+        long seed = Long.parseLong(option(args, "seed", "42"));
+        int concurrency = Integer.parseInt(option(args, "concurrency", "64"));
+        Duration warmup = parseDuration(option(args, "warmup", "10s"));
+        Duration duration = parseDuration(option(args, "duration", "60s"));
+        String mix = option(args, "mix", "get:50,list:35,search:15");
+        int bulkRows = Integer.parseInt(option(args, "bulk-rows", "20000"));
+        Path out = Path.of(option(args, "out", "build/results/loadtest/results.json"));
+        Files.createDirectories(out.toAbsolutePath().getParent());
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        String baseUrl = option(args, "base-url", null);
+        Process app = null;
+        if (baseUrl == null) {
+            int port = Integer.parseInt(option(args, "port", "18081"));
+            baseUrl = "http://localhost:" + port;
+            app = startApp(args, port, out.toAbsolutePath().getParent().resolve("app.log"));
+            Process started = app;
+            Runtime.getRuntime().addShutdownHook(new Thread(started::destroy));
+            awaitHealthy(client, baseUrl, started);
+        }
+
+        try {
+            Path workDir = Files.createTempDirectory("mixed-load-");
+            if (!Boolean.parseBoolean(option(args, "skip-seed", "false"))) {
+                Path csv = workDir.resolve("seed.csv");
+                ProductMockDataGenerator.generate(csv, ProductMockDataGenerator.Options.parse(new String[]{
+                        "--rows=" + seedRows, "--partners=" + partners, "--zipf=" + option(args, "zipf", "1.1"),
+                        "--seed=" + seed, "--quoted-names=0.001"
+                }));
+                seed(client, baseUrl, csv);
+                Files.delete(csv);
+            }
+
+            // 동시 bulk-add 는 적재된 id 범위 안의 행을 다시 올리므로 UPDATE 경로를 탐
+            byte[] bulkCsv = null;
+            if (bulkRows > 0) {
+                Path csv = workDir.resolve("bulk.csv");
+                ProductMockDataGenerator.generate(csv, ProductMockDataGenerator.Options.of(bulkRows, partners, seed + 1));
+                bulkCsv = Files.readAllBytes(csv);
+                Files.delete(csv);
+            }
+            Files.delete(workDir);
+
+            Map<String, Integer> weights = operationWeights(mix);
+            Scenario scenario = new Scenario(baseUrl, weights, seedRows, partners);
+
+            System.out.printf("warmup %ss, measure %ss, concurrency %d, mix %s%n",
+                    warmup.toSeconds(), duration.toSeconds(), concurrency, weights);
+            run(client, scenario, concurrency, warmup, bulkCsv);
+            Instant startedAt = Instant.now();
+            Map<String, Result> results = run(client, scenario, concurrency, duration, bulkCsv);
+
+            print(results);
+            Files.writeString(out, toJson(option(args, "label", "unlabeled"), startedAt, duration, concurrency,
+                    seedRows, partners, mix, bulkRows, results));
+            System.out.println("Result: " + out.toAbsolutePath());
+        } finally {
+            if (app != null) {
+                app.destroy();
+            }
+        }
+    }
+
+    private static Process startApp(String[] args, int port, Path log) throws IOException {
+        String jar = option(args, "jar", null);
+        if (jar == null) {
+            throw new IllegalArgumentException("--jar or --base-url is required.");
+        }
+        List<String> command = List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", jar,
+                "--server.port=" + port,
+                "--spring.datasource.url=" + option(args, "db-url", "jdbc:postgresql://localhost:5432/product"),
+                "--spring.datasource.username=" + option(args, "db-username", "test"),
+                "--spring.datasource.password=" + option(args, "db-password", "test"),
+                // 시드 CSV 는 기본 업로드 상한(200MB)보다 클 수 있음
+                "--spring.servlet.multipart.max-file-size=-1",
+                "--spring.servlet.multipart.max-request-size=-1"
+        );
+        System.out.println("Starting " + jar + " on port " + port + " (log: " + log + ")");
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    private static void awaitHealthy(HttpClient client, String baseUrl, Process app) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        while (System.nanoTime() < deadline) {
+            if (!app.isAlive()) {
+                throw new IllegalStateException("Application exited with " + app.exitValue() + ". See app.log.");
+            }
+            try {
+                HttpResponse<String> response = client.send(health, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200 && response.body().contains("\"UP\"")) {
+                    return;
+                }
+            } catch (IOException e) {
+                // 아직 기동 중
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Application did not become healthy within 2 minutes.");
+    }
+
+    /**
+     * 비동기 bulk-add 로 적재하고 job 이 끝날 때까지 기다립니다.
+     */
+    private static void seed(HttpClient client, String baseUrl, Path csv) throws Exception {
+        System.out.printf("Seeding %,d bytes via async bulk-add%n", Files.size(csv));
+        long startedAt = System.nanoTime();
+
+        String boundary = "----mixed-load-" + System.nanoTime();
+        HttpRequest submit = HttpRequest.newBuilder(URI.create(baseUrl + PRODUCTS + "/bulk-add?async=true"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(multipart(boundary, HttpRequest.BodyPublishers.ofFile(csv)))
+                .build();
+        HttpResponse<String> accepted = client.send(submit, HttpResponse.BodyHandlers.ofString());
+        if (accepted.statusCode() != 202) {
+            throw new IllegalStateException("Seed upload failed: " + accepted.statusCode() + " " + accepted.body());
+        }
+        String jobId = extract(JOB_ID, accepted.body());
+
+        HttpRequest poll = HttpRequest.newBuilder(URI.create(baseUrl + PRODUCTS + "/bulk-add/" + jobId)).build();
+        while (true) {
+            Thread.sleep(1_000);
+            String body = client.send(poll, HttpResponse.BodyHandlers.ofString()).body();
+            String status = extract(JOB_STATUS, body);
+            switch (status) {
+                case "COMPLETED" -> {
+                    System.out.printf("Seeded in %.1fs%n", (System.nanoTime() - startedAt) / 1_000_000_000.0);
+                    return;
+                }
+                case "FAILED", "CANCELLED" -> throw new IllegalStateException("Seed job " + status + ": " + body);
+                default -> { }
+            }
+        }
+    }
+
+    private static HttpRequest.BodyPublisher multipart(String boundary, HttpRequest.BodyPublisher file) {
+        String head = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"products.csv\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n";
+        String tail = "\r\n--" + boundary + "--\r\n";
+        return HttpRequest.BodyPublishers.concat(
+                HttpRequest.BodyPublishers.ofString(head, StandardCharsets.UTF_8),
+                file,
+                HttpRequest.BodyPublishers.ofString(tail, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * get / list / search 비율을 연산별 가중치로 펼칩니다. (list 는 정렬 종류마다 같은 비중)
+     */
+    private static Map<String, Integer> operationWeights(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] kv = entry.split(":", 2);
+            String name = kv[0].trim();
+            int weight = Integer.parseInt(kv[1].trim());
+            switch (name) {
+                case "get", "search" -> weights.put(name, weight * SORT_TYPES.length);
+                case "list" -> {
+                    for (String sortType : SORT_TYPES) {
+                        weights.put("list." + sortType, weight);
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown operation in --mix: " + name);
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * 연산 이름 → 요청 경로
+     */
+    private static final class Scenario {
+
+        private final String baseUrl;
+        private final String[] names;
+        private final int[] thresholds;
+        private final long maxProductId;
+        private final int maxPartnerId;
+
+        private Scenario(String baseUrl, Map<String, Integer> weights, long maxProductId, int maxPartnerId) {
+            this.baseUrl = baseUrl;
+            this.names = weights.keySet().toArray(String[]::new);
+            this.thresholds = new int[names.length];
+            int sum = 0;
+            for (int i = 0; i < names.length; i++) {
+                sum += weights.get(names[i]);
+                thresholds[i] = sum;
+            }
+            this.maxProductId = maxProductId;
+            this.maxPartnerId = maxPartnerId;
+        }
+
+        private String pick(SplittableRandom rnd) {
+            int r = rnd.nextInt(thresholds[thresholds.length - 1]);
+            int i = 0;
+            while (r >= thresholds[i]) {
+                i++;
+            }
+            return names[i];
+        }
+
+        private URI uri(String operation, SplittableRandom rnd) {
+            String path;
+            if (operation.equals("get")) {
+                path = PRODUCTS + "/" + rnd.nextLong(1, maxProductId + 1);
+            } else if (operation.equals("search")) {
+                String keyword = SEARCH_KEYWORDS[rnd.nextInt(SEARCH_KEYWORDS.length)];
+                path = PRODUCTS + "?searchType=NAME&limit=20&pagingMode=NO_COUNT&searchKeyword="
+                        + URLEncoder.encode(keyword, StandardCharsets.UTF_8);
+            } else {
+                path = PRODUCTS + "?partnerId=" + rnd.nextInt(1, maxPartnerId + 1)
+                        + "&sortType=" + operation.substring("list.".length()) + "&limit=20&pagingMode=NO_COUNT";
+            }
+            return URI.create(baseUrl + path);
+        }
+    }
+
+    private static Map<String, Result> run(HttpClient client, Scenario scenario, int concurrency,
+                                           Duration duration, byte[] bulkCsv) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Recorder> recorders = new ArrayList<>(concurrency + 1);
+        CountDownLatch done = new CountDownLatch(concurrency + (bulkCsv != null ? 1 : 0));
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            Recorder recorder = new Recorder();
+            recorders.add(recorder);
+            SplittableRandom rnd = new SplittableRandom(i);
+            start("load-" + i, done, () -> {
+                while (System.nanoTime() < deadline) {
+                    String operation = scenario.pick(rnd);
+                    HttpRequest request = HttpRequest.newBuilder(scenario.uri(operation, rnd))
+                            .timeout(Duration.ofSeconds(10))
+                            .GET()
+                            .build();
+                    recorder.send(client, operation, request);
+                }
+            });
+        }
+        if (bulkCsv != null) {
+            Recorder recorder = new Recorder();
+            recorders.add(recorder);
+            String boundary = "----mixed-load-bulk";
+            HttpRequest request = HttpRequest.newBuilder(URI.create(scenario.baseUrl + PRODUCTS + "/bulk-add"))
+                    .timeout(Duration.ofMinutes(5))
+                    .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                    .POST(multipart(boundary, HttpRequest.BodyPublishers.ofByteArray(bulkCsv)))
+                    .build();
+            start("bulk-add", done, () -> {
+                while (System.nanoTime() < deadline) {
+                    recorder.send(client, "bulk-add", request);
+                }
+            });
+        }
+        done.await();
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        Map<String, List<Recorder.Latencies>> byOperation = new TreeMap<>();
+        for (Recorder recorder : recorders) {
+            recorder.latencies.forEach((operation, latencies) ->
+                    byOperation.computeIfAbsent(operation, k -> new ArrayList<>()).add(latencies));
+        }
+        Map<String, Result> results = new LinkedHashMap<>();
+        byOperation.forEach((operation, parts) -> results.put(operation, Result.merge(parts, elapsedSeconds)));
+        return results;
+    }
+
+    private static void start(String name, CountDownLatch done, Runnable body) {
+        Thread t = new Thread(() -> {
+            try {
+                body.run();
+            } finally {
+                done.countDown();
+            }
+        }, name);
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * 스레드 하나가 쓰는 연산별 지연 기록 (잠금 없음, 측정 후 합침)
+     */
+    private static final class Recorder {
+
+        private final Map<String, Latencies> latencies = new HashMap<>();
+
+        private void send(HttpClient client, String operation, HttpRequest request) {
+            Latencies l = latencies.computeIfAbsent(operation, k -> new Latencies());
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                // 404 는 id 범위 안의 빈 번호일 뿐이므로 정상 응답으로 봄
+                int status = response.statusCode();
+                if (status >= 500 || status == 429 || (status >= 400 && status != 404)) {
+                    l.errors++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                l.errors++;
+            } catch (Exception e) {
+                l.errors++;
+            }
+            l.record(System.nanoTime() - start);
+        }
+
+        private static final class Latencies {
+
+            private long[] nanos = new long[1024];
+            private int count;
+            private long errors;
+
+            private void record(long value) {
+                if (count == nanos.length) {
+                    nanos = Arrays.copyOf(nanos, count * 2);
+                }
+                nanos[count++] = value;
+            }
+        }
+    }
+
+    private record Result(long[] sortedNanos, long errors, double throughput) {
+
+        private static Result merge(List<Recorder.Latencies> parts, double elapsedSeconds) {
+            int total = 0;
+            long errors = 0;
+            for (Recorder.Latencies part : parts) {
+                total += part.count;
+                errors += part.errors;
+            }
+            long[] all = new long[total];
+            int offset = 0;
+            for (Recorder.Latencies part : parts) {
+                System.arraycopy(part.nanos, 0, all, offset, part.count);
+                offset += part.count;
+            }
+            Arrays.sort(all);
+            return new Result(all, errors, total / elapsedSeconds);
+        }
+
+        private double percentileMillis(double p) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+
+    private static void print(Map<String, Result> results) {
+        System.out.println();
+        System.out.printf("%-16s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        results.forEach((name, r) -> System.out.printf("%-16s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, r.sortedNanos.length, r.errors, r.throughput,
+                r.percentileMillis(0.50), r.percentileMillis(0.95), r.percentileMillis(0.99),
+                r.percentileMillis(0.999), r.percentileMillis(1.0)));
+    }
+
+    private static String toJson(String label, Instant startedAt, Duration duration, int concurrency, long seedRows,
+                                 int partners, String mix, int bulkRows, Map<String, Result> results) {
+        StringBuilder json = new StringBuilder(1024);
+        json.append("{\n")
+                .append("  \"label\": \"").append(escape(label)).append("\",\n")
+                .append("  \"startedAt\": \"").append(startedAt).append("\",\n")
+                .append("  \"durationSeconds\": ").append(duration.toSeconds()).append(",\n")
+                .append("  \"concurrency\": ").append(concurrency).append(",\n")
+                .append("  \"seedRows\": ").append(seedRows).append(",\n")
+                .append("  \"partners\": ").append(partners).append(",\n")
+                .append("  \"mix\": \"").append(escape(mix)).append("\",\n")
+                .append("  \"bulkRows\": ").append(bulkRows).append(",\n")
+                .append("  \"endpoints\": [");
+        boolean first = true;
+        for (Map.Entry<String, Result> entry : results.entrySet()) {
+            Result r = entry.getValue();
+            json.append(first ? "\n" : ",\n");
+            first = false;
+            json.append(String.format(Locale.ROOT,
+                    "    {\"name\": \"%s\", \"requests\": %d, \"errors\": %d, \"throughput\": %.2f, "
+                            + "\"p50Ms\": %.3f, \"p95Ms\": %.3f, \"p99Ms\": %.3f, \"p999Ms\": %.3f, \"maxMs\": %.3f}",
+                    escape(entry.getKey()), r.sortedNanos.length, r.errors, r.throughput,
+                    r.percentileMillis(0.50), r.percentileMillis(0.95), r.percentileMillis(0.99),
+                    r.percentileMillis(0.999), r.percentileMillis(1.0)));
+        }
+        return json.append("\n  ]\n}\n").toString();
+    }
+
+    private static String escape(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String extract(Pattern pattern, String body) {
+        Matcher m = pattern.matcher(body);
+        if (!m.find()) {
+            throw new IllegalStateException("Unexpected response: " + body);
+        }
+        return m.group(1);
+    }
+
+    /**
+     * --name=value 형식의 값. 값 없이 --name 만 있으면 "true"
+     */
+    private static String option(String[] args, String name, String defaultValue) {
+        for (String arg : args) {
+            if (arg.equals("--" + name)) {
+                return "true";
+            }
+            if (arg.startsWith("--" + name + "=")) {
+                return arg.substring(name.length() + 3);
+            }
+        }
+        return defaultValue;
+    }
+
+    private static Duration parseDuration(String raw) {
+        String v = raw.trim().toLowerCase();
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(v));
+    }
+}
@@ -0,0 +1,215 @@
+package com.smalldogg.adproductapi.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+/**
+ * 상품 조회 부하 테스트 (closed-loop).
+ *
+ * 대상 인스턴스마다 아래 시나리오를 순서대로 실행하고 처리량과 p50/p99 를 나란히 출력합니다.
+ * - get  : GET /api/v1/products/{id} (id 는 1..maxProductId 균등 분포)
+ * - list : GET /api/v1/products?partnerId=..&sortType=CREATED_AT&limit=20
+ *
+ * 플랫폼 스레드 모드와 가상 스레드 모드(-PvirtualThreads)를 다른 포트로 띄워 두고 비교합니다.
+ * 호출 측은 동시 사용자 수만큼의 스레드가 요청을 보내고 응답을 받으면 바로 다음 요청을 보냅니다.
+ *
+ * args: targets(name=url,...) concurrency duration(예: 30s) maxProductId maxPartnerId
+ */
+public class ProductReadLoadTest {
+
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> targets = parseTargets(args[0]);
+        int concurrency = Integer.parseInt(args[1]);
+        Duration duration = parseDuration(args[2]);
+        long maxProductId = Long.parseLong(args[3]);
+        long maxPartnerId = Long.parseLong(args[4]);
+
+        Map<String, Function<SplittableRandom, String>> scenarios = new LinkedHashMap<>();
+        scenarios.put("get", rnd -> "/api/v1/products/" + rnd.nextLong(1, maxProductId + 1));
+        scenarios.put("list", rnd -> "/api/v1/products?partnerId=" + rnd.nextLong(1, maxPartnerId + 1)
+                + "&sortType=CREATED_AT&limit=20&pagingMode=NO_COUNT");
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        List<Result> results = new ArrayList<>();
+        for (Map.Entry<String, String> target : targets.entrySet()) {
+            for (Map.Entry<String, Function<SplittableRandom, String>> scenario : scenarios.entrySet()) {
+                System.out.printf("[%s] %s: warmup %ss, measure %ss, concurrency %d%n",
+                        target.getKey(), scenario.getKey(), WARMUP.toSeconds(), duration.toSeconds(), concurrency);
+
+                run(client, target.getValue(), scenario.getValue(), concurrency, WARMUP);
+                Result result = run(client, target.getValue(), scenario.getValue(), concurrency, duration);
+                results.add(result.named(target.getKey(), scenario.getKey()));
+            }
+        }
+
+        System.out.println();
+        System.out.printf("%-12s %-6s %10s %8s %10s %9s %9s %9s%n",
+                "target", "case", "requests", "errors", "req/s", "p50(ms)", "p99(ms)", "max(ms)");
+        for (Result r : results) {
+            System.out.printf("%-12s %-6s %10d %8d %10.1f %9.2f %9.2f %9.2f%n",
+                    r.target, r.scenario, r.requests, r.errors, r.throughput,
+                    r.percentileMillis(0.50), r.percentileMillis(0.99), r.percentileMillis(1.0));
+        }
+    }
+
+    private static Result run(HttpClient client,
+                              String baseUrl,
+                              Function<SplittableRandom, String> pathGenerator,
+                              int concurrency,
+                              Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        Worker[] workers = new Worker[concurrency];
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker(client, baseUrl, pathGenerator, deadline, new SplittableRandom(i), done);
+            workers[i] = worker;
+            Thread t = new Thread(worker, "load-" + i);
+            t.setDaemon(true);
+            t.start();
+        }
+        done.await();
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        int total = 0;
+        long errors = 0;
+        for (Worker w : workers) {
+            total += w.count;
+            errors += w.errors;
+        }
+        long[] latencies = new long[total];
+        int offset = 0;
+        for (Worker w : workers) {
+            System.arraycopy(w.latencies, 0, latencies, offset, w.count);
+            offset += w.count;
+        }
+        Arrays.sort(latencies);
+
+        return new Result(latencies, errors, total * 1_000_000_000.0 / elapsedNanos);
+    }
+
+    private static final class Worker implements Runnable {
+
+        private final HttpClient client;
+        private final String baseUrl;
+        private final Function<SplittableRandom, String> pathGenerator;
+        private final long deadline;
+        private final SplittableRandom rnd;
+        private final CountDownLatch done;
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        private Worker(HttpClient client, String baseUrl, Function<SplittableRandom, String> pathGenerator,
+                       long deadline, SplittableRandom rnd, CountDownLatch done) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+            this.pathGenerator = pathGenerator;
+            this.deadline = deadline;
+            this.rnd = rnd;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + pathGenerator.apply(rnd)))
+                            .timeout(Duration.ofSeconds(10))
+                            .GET()
+                            .build();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        // 404 는 id 범위 안의 빈 번호일 뿐이므로 정상 응답으로 봄
+                        if (response.statusCode() >= 500 || response.statusCode() == 429) {
+                            errors++;
+                        }
+                    } catch (Exception e) {
+                        errors++;
+                    }
+                    record(System.nanoTime() - start);
+                }
+            } finally {
+                done.countDown();
+            }
+        }
+
+        private void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+    }
+
+    private static final class Result {
+
+        private final long[] sortedLatencies;
+        private final int requests;
+        private final long errors;
+        private final double throughput;
+        private String target;
+        private String scenario;
+
+        private Result(long[] sortedLatencies, long errors, double throughput) {
+            this.sortedLatencies = sortedLatencies;
+            this.requests = sortedLatencies.length;
+            this.errors = errors;
+            this.throughput = throughput;
+        }
+
+        private Result named(String target, String scenario) {
+            this.target = target;
+            this.scenario = scenario;
+            return this;
+        }
+
+        private double percentileMillis(double p) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+
+    private static Map<String, String> parseTargets(String raw) {
+        Map<String, String> targets = new LinkedHashMap<>();
+        for (String target : raw.split(",")) {
+            String[] kv = target.split("=", 2);
+            targets.put(kv[0].trim(), kv[1].trim().replaceAll("/+$", ""));
+        }
+        return targets;
+    }
+
+    private static Duration parseDuration(String raw) {
+        String v = raw.trim().toLowerCase();
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(v));
+    }
+}
@@ -0,0 +1,19 @@
+package com.smalldogg.adproductapi.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 요청 값 검증(커서 디코딩, fields 선택, X-Read-Consistency, 필터 조합 등)은 IllegalArgumentException 을 던집니다.
+ * 그대로 두면 500 이 되므로 400 과 그 메시지로 바꿔 내려줍니다.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleIllegalArgument(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+}
@@ -0,0 +1,11 @@
+package com.smalldogg.adproductapi.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class BulkImportJobNotFoundException extends RuntimeException {
+    public BulkImportJobNotFoundException(String jobId) {
+        super("Bulk import job not found. jobId=" + jobId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.smalldogg.adproductapi.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class BulkImportRejectedException extends RuntimeException {
+    public BulkImportRejectedException(int maxQueuedJobs) {
+        super("Too many bulk import jobs in progress. maxQueuedJobs=" + maxQueuedJobs);
+    }
+}
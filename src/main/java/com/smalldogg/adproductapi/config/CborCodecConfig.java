@@ -0,0 +1,50 @@
+package com.smalldogg.adproductapi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Accept: application/cbor 응답 인코딩.
+ *
+ * JSON 과 같은 응답 레코드를 CBOR 로 씁니다. (정수는 최소 바이트, 문자열 길이 접두)
+ * LocalDateTime 은 ISO-8601 문자열 대신 epoch millis(서버 로컬 시간대 기준) 정수로 씁니다.
+ * JSON 응답 형식은 바꾸지 않습니다.
+ */
+@Configuration
+public class CborCodecConfig implements WebMvcConfigurer {
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper()));
+    }
+
+    /**
+     * 벤치마크(ProductResponseEncodingBenchmark)에서도 같은 설정을 쓰도록 static 으로 둡니다.
+     */
+    public static CBORMapper cborMapper() {
+        SimpleModule module = new SimpleModule("product-cbor");
+        module.addSerializer(LocalDateTime.class, new EpochMillisSerializer());
+
+        return CBORMapper.builder()
+                .addModule(module)
+                .build();
+    }
+
+    private static final class EpochMillisSerializer extends ValueSerializer<LocalDateTime> {
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator gen, SerializationContext ctxt) {
+            gen.writeNumber(value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+}
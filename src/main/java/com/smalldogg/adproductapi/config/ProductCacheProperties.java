@@ -0,0 +1,19 @@
+package com.smalldogg.adproductapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * product.cache.* 설정 (단건 조회 read-through 캐시)
+ *
+ * @param maximumSize      최대 보관 상품 수 (초과 시 W-TinyLFU 로 축출)
+ * @param expireAfterWrite 적재 후 만료 시간. 임포트/상태 변경은 즉시 무효화하므로 안전망 용도
+ */
+@ConfigurationProperties("product.cache")
+public record ProductCacheProperties(
+        @DefaultValue("100000") long maximumSize,
+        @DefaultValue("5m") Duration expireAfterWrite
+) {
+}
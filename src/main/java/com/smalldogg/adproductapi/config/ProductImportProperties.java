@@ -0,0 +1,28 @@
+package com.smalldogg.adproductapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * product.import.* 설정
+ *
+ * @param chunkSize         COPY 청크 크기 (청크당 왕복 수가 상수라 saveAll 시절보다 크게 잡음)
+ * @param maxConcurrentJobs 동시에 실행되는 비동기 임포트 job 수 (조회 트래픽용 커넥션/CPU 보호)
+ * @param maxQueuedJobs     실행 대기 job 수 상한, 초과 시 429
+ * @param jobRetention      완료된 job 상태를 조회할 수 있는 기간
+ * @param parallelWriters   비동기 job 의 writer 커넥션 수. 1 이면 단일 스레드 임포트,
+ *                          2 이상이면 병렬 임포트 (job 당 커넥션 최대 parallelWriters 개 사용)
+ * @param parseParallelism  병렬 임포트의 파싱 스레드 수 (0 이면 CPU 코어 수)
+ */
+@ConfigurationProperties("product.import")
+public record ProductImportProperties(
+        @DefaultValue("5000") int chunkSize,
+        @DefaultValue("2") int maxConcurrentJobs,
+        @DefaultValue("8") int maxQueuedJobs,
+        @DefaultValue("1h") Duration jobRetention,
+        @DefaultValue("1") int parallelWriters,
+        @DefaultValue("0") int parseParallelism
+) {
+}
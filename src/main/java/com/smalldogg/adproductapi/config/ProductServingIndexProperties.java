@@ -0,0 +1,19 @@
+package com.smalldogg.adproductapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * product.serving-index.* 설정 (파트너 목록 조회용 in-process 열 단위 스냅샷)
+ *
+ * @param enabled      켜면 기동 직후 스냅샷을 적재하고, 적재 전까지는 DB 로 조회
+ * @param rebuildDelay 임포트 커밋 후 재적재까지 기다리는 시간. 그 사이 커밋된 청크는 한 번의 재적재로 묶임
+ */
+@ConfigurationProperties("product.serving-index")
+public record ProductServingIndexProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("2s") Duration rebuildDelay
+) {
+}
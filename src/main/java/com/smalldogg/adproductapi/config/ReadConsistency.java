@@ -0,0 +1,62 @@
+package com.smalldogg.adproductapi.config;
+
+/**
+ * 요청 단위 read-your-writes 선택.
+ *
+ * 기본적으로 읽기 전용 트랜잭션은 replica 로 가므로 방금 쓴 데이터가 아직 보이지 않을 수 있습니다.
+ * X-Read-Consistency: primary 헤더를 보낸 요청은 ReadConsistencyFilter 가 이 스레드에 표시해 두고,
+ * ReplicaRoutingDataSource 가 그 동안의 읽기 커넥션을 primary 에서 꺼냅니다.
+ *
+ * 스레드 로컬이라 응답 본문을 다른 스레드에서 쓰는 경우(StreamingResponseBody)에는
+ * 요청 스레드에서 isPrimaryRequired() 를 읽어 두었다가 그 스레드에서 다시 require() 해야 합니다.
+ */
+public final class ReadConsistency {
+
+    public static final String HEADER = "X-Read-Consistency";
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadConsistency() {
+    }
+
+    /**
+     * @return 헤더가 없으면 false. primary 외의 값은 오타일 가능성이 커서 조용히 replica 로 보내지 않고 거부합니다.
+     */
+    public static boolean parse(String header) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        if (PRIMARY.equalsIgnoreCase(header.trim())) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unknown " + HEADER + ": " + header + ". available=[" + PRIMARY + "]");
+    }
+
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+    }
+
+    /**
+     * try-with-resources 로 감싸 쓰고, 닫으면 이전 값으로 되돌립니다.
+     */
+    public static Scope require(boolean primary) {
+        Boolean previous = PRIMARY_REQUIRED.get();
+        if (primary) {
+            PRIMARY_REQUIRED.set(Boolean.TRUE);
+        }
+        return () -> {
+            if (previous == null) {
+                PRIMARY_REQUIRED.remove();
+            } else {
+                PRIMARY_REQUIRED.set(previous);
+            }
+        };
+    }
+
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,48 @@
+package com.smalldogg.adproductapi.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+
+/**
+ * X-Read-Consistency: primary 요청의 읽기를 primary 로 고정합니다. (ReplicaDataSourceConfig 가 등록)
+ *
+ * 필터는 DispatcherServlet 밖에서 돌기 때문에 여기서 던진 예외는 ApiExceptionHandler 까지 가지 않습니다.
+ * 잘못된 헤더 값은 MVC 의 HandlerExceptionResolver 에 직접 넘겨 컨트롤러 예외와 같은 400 응답을 만듭니다.
+ */
+public class ReadConsistencyFilter extends OncePerRequestFilter {
+
+    private final HandlerExceptionResolver exceptionResolver;
+
+    public ReadConsistencyFilter(HandlerExceptionResolver exceptionResolver) {
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean primary;
+        try {
+            primary = ReadConsistency.parse(request.getHeader(ReadConsistency.HEADER));
+        } catch (IllegalArgumentException e) {
+            if (exceptionResolver.resolveException(request, response, null, e) == null) {
+                throw e;
+            }
+            return;
+        }
+        try (ReadConsistency.Scope ignored = ReadConsistency.require(primary)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
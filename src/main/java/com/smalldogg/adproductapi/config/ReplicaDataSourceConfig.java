@@ -0,0 +1,96 @@
+package com.smalldogg.adproductapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기/쓰기 DataSource 분리 (product.datasource.replicas[0].url 이 있을 때만 활성화).
+ *
+ * 애플리케이션이 쓰는 DataSource 는 primary 를 감싼 LazyConnectionDataSourceProxy 입니다.
+ * 실제 커넥션은 첫 SQL 직전에 꺼내므로, 그때까지 트랜잭션 매니저가 setReadOnly(true) 를 했으면
+ * (@Transactional(readOnly = true), 읽기 전용 TransactionTemplate) ReplicaRoutingDataSource 로,
+ * 아니면 primary 로 갑니다.
+ * - replica : 목록 조회, export
+ * - primary : 쓰기/임포트 job, 트랜잭션 없는 단건 조회(캐시 적재), 변경 피드(ProductService.getChanges), Flyway
+ *
+ * 단건 조회 캐시는 primary 에서 채웁니다. replica 에서 채우면 임포트 직후 무효화된 상품이
+ * 복제 지연 동안의 옛 값으로 다시 캐시돼 expire-after-write 까지 남기 때문입니다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "product.datasource.replicas[0].url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties primaryProperties,
+                                                             ReplicaDataSourceProperties properties,
+                                                             MeterRegistry registry) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>(properties.replicas().size());
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            ReplicaDataSourceProperties.Replica replica = properties.replicas().get(i);
+            String name = "replica-" + (i + 1);
+
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setJdbcUrl(replica.url());
+            dataSource.setUsername(StringUtils.hasText(replica.username()) ? replica.username() : primaryProperties.getUsername());
+            dataSource.setPassword(StringUtils.hasText(replica.password()) ? replica.password() : primaryProperties.getPassword());
+            dataSource.setDriverClassName(primaryProperties.determineDriverClassName());
+            dataSource.setMaximumPoolSize(properties.replicaPoolSize());
+            // 죽은 replica 로 간 요청이 primary 의 connection-timeout(기본 30s) 만큼 기다리지 않도록 짧게 두고,
+            // 유휴 커넥션 검증도 같은 시간 안에 끝나게 합니다. 한 번 실패하면 상태 확인이 복구할 때까지 라우팅에서 빠집니다.
+            dataSource.setConnectionTimeout(properties.connectionTimeout().toMillis());
+            dataSource.setValidationTimeout(properties.connectionTimeout().toMillis());
+            dataSource.setReadOnly(true);
+            // replica 가 내려가 있어도 애플리케이션 기동은 막지 않음 (상태 확인이 제외 처리)
+            dataSource.setInitializationFailTimeout(-1);
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, dataSource));
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primaryDataSource, replicas, properties.maxReplicationLag(), registry);
+        routing.startHealthCheck(properties.healthCheckInterval());
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadConsistencyFilter readConsistencyFilter(
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver) {
+        return new ReadConsistencyFilter(handlerExceptionResolver);
+    }
+}
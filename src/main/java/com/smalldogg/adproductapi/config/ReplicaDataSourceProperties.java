@@ -0,0 +1,34 @@
+package com.smalldogg.adproductapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * product.datasource.* 설정 (읽기 전용 replica 라우팅, replicas 가 비어 있으면 단일 DataSource 그대로 사용)
+ *
+ * @param replicas            읽기 전용 트랜잭션을 보낼 replica 목록
+ * @param replicaPoolSize     replica 하나당 커넥션 풀 크기
+ * @param healthCheckInterval replica 상태 확인 주기
+ * @param maxReplicationLag   이보다 뒤처진 replica 는 다시 따라잡을 때까지 라우팅에서 제외
+ * @param connectionTimeout   replica 풀에서 커넥션을 기다리는 최대 시간 (Hikari 하한 250ms).
+ *                            넘기면 그 replica 를 제외하고 다음 replica/primary 로 넘어가므로 primary 의 connection-timeout 보다 짧게 둡니다.
+ */
+@ConfigurationProperties("product.datasource")
+public record ReplicaDataSourceProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("20") int replicaPoolSize,
+        @DefaultValue("5s") Duration healthCheckInterval,
+        @DefaultValue("10s") Duration maxReplicationLag,
+        @DefaultValue("1s") Duration connectionTimeout
+) {
+
+    /**
+     * @param username 비어 있으면 spring.datasource.username
+     * @param password 비어 있으면 spring.datasource.password
+     */
+    public record Replica(String url, String username, String password) {
+    }
+}
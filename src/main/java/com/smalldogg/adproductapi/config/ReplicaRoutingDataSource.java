@@ -0,0 +1,226 @@
+package com.smalldogg.adproductapi.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기 전용 트랜잭션용 DataSource. (LazyConnectionDataSourceProxy 의 readOnlyDataSource 로 연결)
+ *
+ * 커넥션을 요청받을 때마다 정상 replica 를 라운드 로빈으로 고르고, 커넥션을 못 받은 replica 는 바로 제외한 뒤 다음 replica 를 시도합니다.
+ * replica 풀의 connectionTimeout 은 짧게 두므로(product.datasource.connection-timeout) 죽은 replica 를 처음 만난 요청만 그만큼 기다리고,
+ * 이후 요청은 상태 확인이 되살릴 때까지 그 replica 를 고르지 않습니다.
+ * 정상 replica 가 하나도 없거나 요청이 read-your-writes(ReadConsistency) 를 원하면 primary 에서 꺼냅니다.
+ *
+ * 상태 확인은 healthCheckInterval 마다 별도 스레드에서 돌고, 접속이 되더라도 복제 지연이 maxReplicationLag 를 넘으면 제외합니다.
+ * 제외된 replica 는 다음 확인에서 다시 정상으로 돌아오면 라운드 로빈에 복귀합니다.
+ *
+ * 메트릭
+ * - product.datasource.reads{target=replica|primary, reason=routed|requested|unavailable}
+ * - product.datasource.replica.healthy{replica=...} : 1 이면 라우팅 대상
+ * - product.datasource.replica.lag{replica=...} : 마지막 확인 시점의 복제 지연 (초)
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    /**
+     * 받은 WAL 을 모두 재생했으면 0, 아니면 마지막 재생 트랜잭션 이후 경과 시간.
+     * (쓰기가 없는 동안 replay timestamp 가 멈춰 있어도 지연으로 보지 않도록 LSN 을 먼저 비교)
+     */
+    static final String REPLICATION_LAG_SQL = """
+            select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                        else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+                   end""";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final LagProbe lagProbe;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter replicaReads;
+    private final Counter primaryRequestedReads;
+    private final Counter primaryFallbackReads;
+
+    private ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    List<Replica> replicas,
+                                    Duration maxReplicationLag,
+                                    MeterRegistry registry) {
+        this(primary, replicas, maxReplicationLag, registry, ReplicaRoutingDataSource::queryReplicationLag);
+    }
+
+    ReplicaRoutingDataSource(DataSource primary,
+                             List<Replica> replicas,
+                             Duration maxReplicationLag,
+                             MeterRegistry registry,
+                             LagProbe lagProbe) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("replicas must not be empty.");
+        }
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.lagProbe = lagProbe;
+        this.maxLagSeconds = maxReplicationLag.toMillis() / 1000.0;
+
+        this.replicaReads = readsCounter(registry, "replica", "routed");
+        this.primaryRequestedReads = readsCounter(registry, "primary", "requested");
+        this.primaryFallbackReads = readsCounter(registry, "primary", "unavailable");
+        for (Replica replica : this.replicas) {
+            Gauge.builder("product.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", replica.name)
+                    .register(registry);
+            Gauge.builder("product.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(ds -> ds.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (ReadConsistency.isPrimaryRequired()) {
+            primaryRequestedReads.increment();
+            return opener.open(primary);
+        }
+
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = opener.open(replica.dataSource);
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+
+        primaryFallbackReads.increment();
+        return opener.open(primary);
+    }
+
+    /**
+     * 모든 replica 의 접속 가능 여부와 복제 지연을 확인해 라우팅 대상을 갱신합니다.
+     */
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            double lag;
+            try {
+                lag = lagProbe.lagSeconds(replica.dataSource);
+            } catch (SQLException | RuntimeException e) {
+                markDown(replica, e.getMessage());
+                continue;
+            }
+            replica.lagSeconds = lag;
+            if (lag > maxLagSeconds) {
+                markDown(replica, "replication lag " + lag + "s");
+            } else if (!replica.healthy) {
+                replica.healthy = true;
+                log.info("Replica is back in rotation. replica={}, lag={}s", replica.name, lag);
+            }
+        }
+    }
+
+    public synchronized void startHealthCheck(Duration interval) {
+        if (healthChecker != null) {
+            return;
+        }
+        healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-health-check");
+            t.setDaemon(true);
+            return t;
+        });
+        long millis = interval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, 0, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() throws Exception {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+            healthChecker = null;
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica removed from rotation. replica={}, reason={}", replica.name, reason);
+        }
+    }
+
+    private static Counter readsCounter(MeterRegistry registry, String target, String reason) {
+        return Counter.builder("product.datasource.reads")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private static double queryReplicationLag(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(2);
+            try (ResultSet rs = statement.executeQuery(REPLICATION_LAG_SQL)) {
+                rs.next();
+                return rs.getDouble(1);
+            }
+        }
+    }
+
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile double lagSeconds;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    @FunctionalInterface
+    interface LagProbe {
+        double lagSeconds(DataSource dataSource) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+}
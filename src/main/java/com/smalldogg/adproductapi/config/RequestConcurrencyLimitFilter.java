@@ -0,0 +1,62 @@
+package com.smalldogg.adproductapi.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가상 스레드 모드의 API 동시 처리 상한.
+ *
+ * 플랫폼 스레드 모드에서는 Tomcat 스레드 풀 크기가 곧 동시성 상한이었지만,
+ * 가상 스레드는 요청마다 생성되므로 상한이 사라지고 대기가 전부 커넥션 풀(Hikari)로 몰립니다.
+ * 세마포어로 처리 중 요청 수를 묶어 두고, 허용량을 기다리다 시간이 지나면 503 으로 빠르게 거절합니다.
+ */
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Component
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    public RequestConcurrencyLimitFilter(RequestConcurrencyProperties properties) {
+        this.permits = new Semaphore(properties.maxConcurrentRequests(), true);
+        this.acquireTimeoutNanos = properties.acquireTimeout().toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many concurrent requests.");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
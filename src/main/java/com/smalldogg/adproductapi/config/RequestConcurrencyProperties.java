@@ -0,0 +1,20 @@
+package com.smalldogg.adproductapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * product.concurrency.* 설정 (가상 스레드 모드에서만 사용)
+ *
+ * @param maxConcurrentRequests 동시에 처리하는 API 요청 수. 스레드 수 대신 이 값이 동시성 상한이 됩니다.
+ *                              캐시 hit 은 커넥션을 쓰지 않으므로 커넥션 풀보다 조금 크게 잡습니다.
+ * @param acquireTimeout        허용량을 기다리는 최대 시간, 초과 시 503
+ */
+@ConfigurationProperties("product.concurrency")
+public record RequestConcurrencyProperties(
+        @DefaultValue("64") int maxConcurrentRequests,
+        @DefaultValue("2s") Duration acquireTimeout
+) {
+}
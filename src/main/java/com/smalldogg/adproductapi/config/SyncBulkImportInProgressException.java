@@ -0,0 +1,11 @@
+package com.smalldogg.adproductapi.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class SyncBulkImportInProgressException extends RuntimeException {
+    public SyncBulkImportInProgressException() {
+        super("Another synchronous bulk import is in progress. Retry later or use async=true.");
+    }
+}
@@ -1,158 +1,526 @@
 package com.smalldogg.adproductapi.mock;
 
-import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.Instant;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.SplittableRandom;
-import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
 
+/**
+ * 부하 테스트용 상품 CSV 생성기 (bulk-add 형식).
+ *
+ * 같은 옵션과 seed 면 스레드 수와 관계없이 바이트 단위로 같은 파일을 만듭니다.
+ * - 행을 BLOCK_ROWS 단위 블록으로 나누고, 블록마다 (seed, 블록 번호) 로 만든 난수열을 씀
+ * - 블록은 여러 스레드가 나눠 만들고, 파일에는 블록 번호 순서대로 FileChannel 로 씀
+ * - created_at 범위의 끝은 실행 시각이 아니라 고정값(UNTIL)
+ * - gzip 이면 블록마다 독립된 gzip member 로 압축해 이어 붙임 (zcat / GZIPInputStream 으로 한 파일처럼 읽힘)
+ *
+ * 파트너별 상품 수는 Zipf(skew) 분포를 따릅니다. (skew=0 이면 균등, 클수록 소수 파트너에 몰림)
+ * 순위 → partner_id 대응은 seed 로 섞어 큰 파트너가 항상 작은 id 가 되지 않게 합니다.
+ * 파트너 선택은 alias table 로 행마다 O(1) 입니다.
+ *
+ * 행은 문자열/LocalDateTime 을 만들지 않고 블록 버퍼에 바이트로 바로 씁니다.
+ *
+ * 실행: ./gradlew generateMockData -PmockArgs="--rows=50000000 --partners=200000 --zipf=1.1 --seed=42 --out=products.csv.gz --gzip"
+ * 옵션: --rows --partners --zipf --status=ACTIVE:70,SUSPENDED:10,REJECTED:10,SOLD_OUT:10 --seed --threads
+ *       --gzip --quoted-names=0.001 (이름에 콤마/따옴표/줄바꿈이 들어간 행 비율) --out
+ */
 public class ProductMockDataGenerator {
 
     enum ProductStatus {
         ACTIVE, REJECTED, SUSPENDED, SOLD_OUT
     }
 
-    public static void main(String[] args) throws Exception {
-        int totalProducts = 100_000;
-        int partnerCount = 1_000;
-        int maxProductsPerPartner = 1_000;
+    static final String HEADER = "id,partner_id,category,name,status,price,image_url,created_at,modified_at\n";
+
+    static final int BLOCK_ROWS = 16_384;
+
+    /** created_at / modified_at 범위의 끝 (재현성을 위해 실행 시각 대신 고정) */
+    static final long UNTIL_EPOCH = LocalDateTime.of(2026, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    private static final long SPAN_SECONDS = 60L * 60 * 24 * 365 * 5; // 단순 5년(윤년 무시)
+
+    private static final long MIN_PRICE = 100L;
+    private static final long MAX_PRICE = 100_000_000L;
+
+    private static final byte[] NAME_PREFIX = utf8("상품-");
+    private static final byte[][] ADJECTIVES = utf8("프리미엄", "스탠다드", "에센셜", "리미티드", "베이직", "프로", "라이트", "맥스");
+    private static final byte[][] NOUNS = utf8("키트", "세트", "패키지", "상품", "번들", "컬렉션", "옵션", "에디션");
+    /** 따옴표로 감싸야 하는 이름 꼬리 (CSV 이스케이프 전) */
+    private static final byte[][] QUOTED_SUFFIXES = utf8(", 1+1 한정", " 27\" 모니터", ", \"특가\"", "\n2줄 이름");
+    private static final byte[] IMAGE_URL_PREFIX = utf8("https://cdn.jerry.world/product/thumbnail/");
+    private static final byte[][] STATUS_NAMES;
+    private static final byte[] HEX = utf8("0123456789abcdef");
+
+    static {
+        ProductStatus[] values = ProductStatus.values();
+        STATUS_NAMES = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            STATUS_NAMES[i] = utf8(values[i].name());
+        }
+    }
 
-        // partnerId는 1..1000
-        long partnerIdStart = 1L;
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        Path out = Path.of(Options.value(args, "out", options.gzip() ? "products.csv.gz" : "products.csv"));
 
-        Path out = Path.of("products.csv");
-        generateCsv(out, totalProducts, partnerCount, maxProductsPerPartner, partnerIdStart);
+        long startedAt = System.nanoTime();
+        generate(out, options);
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
 
-        System.out.println("Generated: " + out.toAbsolutePath());
+        System.out.printf("Generated: %s (%,d rows, %.1fs, %,.0f rows/sec)%n",
+                out.toAbsolutePath(), options.rows(), seconds, options.rows() / seconds);
     }
 
     /**
-     * 파트너당 capacity(최대 상품 수)를 두고,
-     * "아직 capacity가 남아있는 파트너 목록"에서 랜덤으로 하나를 뽑아 배정합니다.
-     * - 어떤 파트너는 0개가 될 수 있음
-     * - 어떤 파트너는 최대 1000개까지 갈 수 있음
-     * - 전체 합은 정확히 totalProducts
+     * 생성 옵션
+     *
+     * @param rows            상품 수 (id 는 1..rows)
+     * @param partners        파트너 수 (partner_id 는 1..partners, 상품이 0개인 파트너도 있을 수 있음)
+     * @param zipfSkew        파트너 크기 분포의 Zipf 지수
+     * @param statusWeights   상태별 가중치
+     * @param seed            난수 seed
+     * @param threads         블록 생성 스레드 수 (출력에는 영향 없음)
+     * @param gzip            gzip 으로 압축
+     * @param quotedNameRatio 이름에 콤마/따옴표/줄바꿈이 들어간 행의 비율
      */
-    static void generateCsv(Path out,
-                            int totalProducts,
-                            int partnerCount,
-                            int maxProductsPerPartner,
-                            long partnerIdStart) throws IOException {
-
-        SplittableRandom rnd = new SplittableRandom();
-
-        // 남은 capacity
-        int[] used = new int[partnerCount];
-
-        // 아직 capacity가 남아있는 파트너 인덱스 풀(0..partnerCount-1)
-        List<Integer> available = new ArrayList<>(partnerCount);
-        for (int i = 0; i < partnerCount; i++) available.add(i);
-
-        Instant now = Instant.now();
-        Instant fiveYearsAgo = now.minusSeconds(60L * 60 * 24 * 365 * 5); // 단순 5년(윤년 무시)
-        long startEpoch = fiveYearsAgo.getEpochSecond();
-        long endEpoch = now.getEpochSecond();
-
-        try (BufferedWriter w = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
-            // header
-            w.write("id,partner_id,category,name,status,price,image_url,created_at,modified_at");
-            w.newLine();
-
-            long id = 1L;
-            for (int i = 0; i < totalProducts; i++, id++) {
-                if (available.isEmpty()) {
-                    throw new IllegalStateException("No available partners left. Check constraints.");
+    public record Options(
+            long rows,
+            int partners,
+            double zipfSkew,
+            Map<ProductStatus, Integer> statusWeights,
+            long seed,
+            int threads,
+            boolean gzip,
+            double quotedNameRatio
+    ) {
+
+        public Options {
+            if (rows < 0 || partners < 1) {
+                throw new IllegalArgumentException("rows must be >= 0 and partners >= 1.");
+            }
+            if (zipfSkew < 0 || quotedNameRatio < 0 || quotedNameRatio > 1) {
+                throw new IllegalArgumentException("zipf must be >= 0 and quoted-names within [0, 1].");
+            }
+            if (statusWeights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+                throw new IllegalArgumentException("status weights must not all be zero.");
+            }
+            statusWeights = Collections.unmodifiableMap(new EnumMap<>(statusWeights));
+            threads = Math.max(threads, 1);
+        }
+
+        /**
+         * 균등 파트너 분포, 상태 균등, 단일 스레드, 압축/특수 이름 없음
+         */
+        public static Options of(long rows, int partners, long seed) {
+            return new Options(rows, partners, 0.0, uniformStatus(), seed, 1, false, 0.0);
+        }
+
+        public Options withThreads(int threads) {
+            return new Options(rows, partners, zipfSkew, statusWeights, seed, threads, gzip, quotedNameRatio);
+        }
+
+        public Options withGzip(boolean gzip) {
+            return new Options(rows, partners, zipfSkew, statusWeights, seed, threads, gzip, quotedNameRatio);
+        }
+
+        public Options withQuotedNameRatio(double quotedNameRatio) {
+            return new Options(rows, partners, zipfSkew, statusWeights, seed, threads, gzip, quotedNameRatio);
+        }
+
+        public static Options parse(String[] args) {
+            return new Options(
+                    Long.parseLong(value(args, "rows", "100000").replace("_", "")),
+                    Integer.parseInt(value(args, "partners", "1000").replace("_", "")),
+                    Double.parseDouble(value(args, "zipf", "1.0")),
+                    parseStatus(value(args, "status", "ACTIVE:70,SUSPENDED:10,REJECTED:10,SOLD_OUT:10")),
+                    Long.parseLong(value(args, "seed", "42")),
+                    Integer.parseInt(value(args, "threads", String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                    Boolean.parseBoolean(value(args, "gzip", "false")),
+                    Double.parseDouble(value(args, "quoted-names", "0"))
+            );
+        }
+
+        /**
+         * --name=value 형식의 값. 값 없이 --name 만 있으면 "true"
+         */
+        static String value(String[] args, String name, String defaultValue) {
+            for (String arg : args) {
+                if (arg.equals("--" + name)) {
+                    return "true";
+                }
+                if (arg.startsWith("--" + name + "=")) {
+                    return arg.substring(name.length() + 3);
                 }
+            }
+            return defaultValue;
+        }
+
+        private static Map<ProductStatus, Integer> parseStatus(String raw) {
+            Map<ProductStatus, Integer> weights = new EnumMap<>(ProductStatus.class);
+            for (String entry : raw.split(",")) {
+                String[] kv = entry.split(":", 2);
+                weights.put(ProductStatus.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+            }
+            return weights;
+        }
+
+        private static Map<ProductStatus, Integer> uniformStatus() {
+            Map<ProductStatus, Integer> weights = new EnumMap<>(ProductStatus.class);
+            for (ProductStatus status : ProductStatus.values()) {
+                weights.put(status, 1);
+            }
+            return weights;
+        }
+    }
+
+    public static void generate(Path out, Options options) throws IOException {
+        PartnerSampler partners = new PartnerSampler(options.partners(), options.zipfSkew(), options.seed());
+        int[] statusThresholds = statusThresholds(options.statusWeights());
+        long blocks = (options.rows() + BLOCK_ROWS - 1) / BLOCK_ROWS;
 
-                // 남은 파트너 풀에서 랜덤 선택
-                int pickPos = rnd.nextInt(available.size());
-                int partnerIdx = available.get(pickPos);
+        ExecutorService pool = Executors.newFixedThreadPool(options.threads(), r -> {
+            Thread t = new Thread(r, "mock-data-generator");
+            t.setDaemon(true);
+            return t;
+        });
+        // 순서대로 쓰기 위해 앞 블록을 기다리는 동안 뒤 블록을 미리 만들어 두는 범위 (메모리 상한)
+        int window = options.threads() * 2;
+        ArrayDeque<Future<ByteBuffer>> inFlight = new ArrayDeque<>(window);
 
-                long partnerId = partnerIdStart + partnerIdx;
+        try (FileChannel channel = FileChannel.open(out,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            byte[] header = HEADER.getBytes(StandardCharsets.US_ASCII);
+            writeFully(channel, options.gzip() ? gzip(header, header.length) : ByteBuffer.wrap(header));
 
-                // capacity 사용량 증가, 꽉 차면 available에서 제거 (O(1) swap-remove)
-                used[partnerIdx]++;
-                if (used[partnerIdx] >= maxProductsPerPartner) {
-                    int last = available.size() - 1;
-                    available.set(pickPos, available.get(last));
-                    available.remove(last);
+            long next = 0;
+            while (next < blocks || !inFlight.isEmpty()) {
+                while (next < blocks && inFlight.size() < window) {
+                    long block = next++;
+                    inFlight.add(pool.submit(() -> renderBlock(block, options, partners, statusThresholds)));
                 }
+                writeFully(channel, await(inFlight.poll()));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static ByteBuffer renderBlock(long block, Options options, PartnerSampler partners, int[] statusThresholds) {
+        SplittableRandom rnd = new SplittableRandom(blockSeed(options.seed(), block));
+        long firstId = block * BLOCK_ROWS + 1;
+        long lastId = Math.min(options.rows(), firstId + BLOCK_ROWS - 1);
+
+        ByteSink sink = new ByteSink((int) (lastId - firstId + 1) * 224);
+        for (long id = firstId; id <= lastId; id++) {
+            writeRow(sink, id, rnd, options, partners, statusThresholds);
+        }
+        return options.gzip() ? gzip(sink.buf, sink.len) : ByteBuffer.wrap(sink.buf, 0, sink.len);
+    }
+
+    private static void writeRow(ByteSink w, long id, SplittableRandom rnd, Options options,
+                                 PartnerSampler partners, int[] statusThresholds) {
+        long partnerId = partners.sample(rnd);
+        int category = rnd.nextInt(1, 4) * 100 + rnd.nextInt(1, 4) * 10 + rnd.nextInt(1, 4);
+        ProductStatus status = pickStatus(rnd, statusThresholds);
+        long price = MIN_PRICE + rnd.nextLong(MAX_PRICE - MIN_PRICE + 1);
+        long createdEpoch = UNTIL_EPOCH - rnd.nextLong(SPAN_SECONDS + 1);
+        long modifiedEpoch = createdEpoch + rnd.nextLong(UNTIL_EPOCH - createdEpoch + 1);
+        byte[] adjective = ADJECTIVES[rnd.nextInt(ADJECTIVES.length)];
+        byte[] noun = NOUNS[rnd.nextInt(NOUNS.length)];
+        byte[] quotedSuffix = options.quotedNameRatio() > 0 && rnd.nextDouble() < options.quotedNameRatio()
+                ? QUOTED_SUFFIXES[rnd.nextInt(QUOTED_SUFFIXES.length)]
+                : null;
+        long imageHi = rnd.nextLong();
+        long imageLo = rnd.nextLong();
+
+        w.number(id).put(',');
+        w.number(partnerId).put(',');
+        w.number(category).put(',');
 
-                ProductStatus status = randomStatus(rnd);
-                long price = randomPrice(rnd, 100L, 100_000_000L);
-                String imageUrl = "https://cdn.jerry.world/product/thumbnail/" + UUID.randomUUID();
-                int category = randomCategory(rnd);
-
-                // createdAt: 5년 내 랜덤
-                long createdEpoch = randomLong(rnd, startEpoch, endEpoch);
-                // modifiedAt: createdAt ~ now
-                long modifiedEpoch = randomLong(rnd, createdEpoch, endEpoch);
-
-                LocalDateTime createdAt = LocalDateTime.ofInstant(Instant.ofEpochSecond(createdEpoch), ZoneId.systemDefault());
-                LocalDateTime modifiedAt = LocalDateTime.ofInstant(Instant.ofEpochSecond(modifiedEpoch), ZoneId.systemDefault());
-
-                String name = randomName(rnd, id);
-
-                // CSV는 콤마/따옴표 안전하게 처리(이 예시는 name에 콤마를 넣지 않음)
-                w.write(id + "," +
-                        partnerId + "," +
-                        category + "," +
-                        name + "," +
-                        status.name() + "," +
-                        price + "," +
-                        imageUrl + "," +
-                        createdAt + "," +
-                        modifiedAt);
-                w.newLine();
-
-                if ((i + 1) % 10_000 == 0) {
-                    System.out.println("Progress: " + (i + 1) + "/" + totalProducts);
+        // 상품-{id}-{형용사}-{명사}[꼬리]
+        if (quotedSuffix != null) {
+            w.put('"');
+        }
+        w.put(NAME_PREFIX).number(id).put('-').put(adjective).put('-').put(noun);
+        if (quotedSuffix != null) {
+            for (byte b : quotedSuffix) {
+                if (b == '"') {
+                    w.put('"');
                 }
+                w.put(b);
             }
+            w.put('"');
         }
+        w.put(',');
+
+        w.put(STATUS_NAMES[status.ordinal()]).put(',');
+        w.number(price).put(',');
+        w.put(IMAGE_URL_PREFIX).uuidHex(imageHi, imageLo).put(',');
+        w.dateTime(createdEpoch).put(',');
+        w.dateTime(modifiedEpoch).put('\n');
     }
 
-    static ProductStatus randomStatus(SplittableRandom rnd) {
-        // 예시: ACTIVE 비중을 높이고 싶으면 가중치를 둘 수도 있음
+    private static int[] statusThresholds(Map<ProductStatus, Integer> weights) {
         ProductStatus[] values = ProductStatus.values();
-        return values[rnd.nextInt(values.length)];
+        int[] thresholds = new int[values.length];
+        int sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            sum += Math.max(weights.getOrDefault(values[i], 0), 0);
+            thresholds[i] = sum;
+        }
+        return thresholds;
+    }
+
+    private static ProductStatus pickStatus(SplittableRandom rnd, int[] thresholds) {
+        int r = rnd.nextInt(thresholds[thresholds.length - 1]);
+        int i = 0;
+        while (r >= thresholds[i]) {
+            i++;
+        }
+        return ProductStatus.values()[i];
+    }
+
+    /**
+     * 블록마다 서로 겹치지 않는 난수열 (seed 와 블록 번호를 섞은 값)
+     */
+    static long blockSeed(long seed, long block) {
+        long z = seed + (block + 1) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
     }
 
-    static long randomPrice(SplittableRandom rnd, long min, long max) {
-        return randomLong(rnd, min, max);
+    private static ByteBuffer gzip(byte[] bytes, int len) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(len / 3 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(compressed, 64 * 1024)) {
+            gz.write(bytes, 0, len);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ByteBuffer.wrap(compressed.toByteArray());
+    }
+
+    private static ByteBuffer await(Future<ByteBuffer> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
     }
 
-    static long randomLong(SplittableRandom rnd, long minInclusive, long maxInclusive) {
-        if (minInclusive > maxInclusive) throw new IllegalArgumentException("min > max");
-        long bound = (maxInclusive - minInclusive) + 1;
-        long r = rnd.nextLong(bound);
-        return minInclusive + r;
+    private static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
     }
 
-    static String randomName(SplittableRandom rnd, long id) {
-        String[] adj = {"프리미엄", "스탠다드", "에센셜", "리미티드", "베이직", "프로", "라이트", "맥스"};
-        String[] noun = {"키트", "세트", "패키지", "상품", "번들", "컬렉션", "옵션", "에디션"};
-        return "상품-" + id + "-" + adj[rnd.nextInt(adj.length)] + "-" + noun[rnd.nextInt(noun.length)];
+    private static byte[][] utf8(String... values) {
+        byte[][] bytes = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = utf8(values[i]);
+        }
+        return bytes;
     }
 
     /**
-     * 카테고리 코드 생성 (111 ~ 333)
-     * - 100의 자리: category1 (1~3)
-     * - 10의 자리: category2 (1~3)
-     * - 1의 자리: category3 (1~3)
+     * Zipf(skew) 분포로 partner_id 를 뽑는 alias table (Vose).
+     * 가중치 계산은 StrictMath 라 JVM/플랫폼이 달라도 같은 표가 만들어집니다.
      */
-    static int randomCategory(SplittableRandom rnd) {
-        int category1 = rnd.nextInt(1, 4); // 1~3
-        int category2 = rnd.nextInt(1, 4); // 1~3
-        int category3 = rnd.nextInt(1, 4); // 1~3
-        return category1 * 100 + category2 * 10 + category3;
+    static final class PartnerSampler {
+
+        private final double[] probability;
+        private final int[] alias;
+        private final long[] partnerIds;
+
+        PartnerSampler(int partners, double skew, long seed) {
+            double[] weights = new double[partners];
+            double sum = 0;
+            for (int rank = 0; rank < partners; rank++) {
+                weights[rank] = 1.0 / StrictMath.pow(rank + 1, skew);
+                sum += weights[rank];
+            }
+
+            probability = new double[partners];
+            alias = new int[partners];
+            int[] small = new int[partners];
+            int[] large = new int[partners];
+            int smallCount = 0;
+            int largeCount = 0;
+            double[] scaled = new double[partners];
+            for (int i = 0; i < partners; i++) {
+                scaled[i] = weights[i] * partners / sum;
+                if (scaled[i] < 1.0) {
+                    small[smallCount++] = i;
+                } else {
+                    large[largeCount++] = i;
+                }
+            }
+            while (smallCount > 0 && largeCount > 0) {
+                int s = small[--smallCount];
+                int l = large[--largeCount];
+                probability[s] = scaled[s];
+                alias[s] = l;
+                scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+                if (scaled[l] < 1.0) {
+                    small[smallCount++] = l;
+                } else {
+                    large[largeCount++] = l;
+                }
+            }
+            while (largeCount > 0) {
+                probability[large[--largeCount]] = 1.0;
+            }
+            while (smallCount > 0) {
+                probability[small[--smallCount]] = 1.0; // 부동소수 오차로 남은 항목
+            }
+
+            // 순위 → partner_id (Fisher-Yates)
+            partnerIds = new long[partners];
+            for (int i = 0; i < partners; i++) {
+                partnerIds[i] = i + 1;
+            }
+            SplittableRandom rnd = new SplittableRandom(seed);
+            for (int i = partners - 1; i > 0; i--) {
+                int j = rnd.nextInt(i + 1);
+                long tmp = partnerIds[i];
+                partnerIds[i] = partnerIds[j];
+                partnerIds[j] = tmp;
+            }
+        }
+
+        long sample(SplittableRandom rnd) {
+            int i = rnd.nextInt(probability.length);
+            return partnerIds[rnd.nextDouble() < probability[i] ? i : alias[i]];
+        }
     }
-}
 
+    /**
+     * 블록 하나의 출력 버퍼. 숫자/시각을 문자열 없이 ASCII 로 씁니다.
+     */
+    static final class ByteSink {
+
+        private byte[] buf;
+        private int len;
+        private final byte[] digits = new byte[20];
+
+        ByteSink(int capacity) {
+            buf = new byte[Math.max(capacity, 256)];
+        }
+
+        ByteSink put(char c) {
+            return put((byte) c);
+        }
+
+        ByteSink put(byte b) {
+            ensure(1);
+            buf[len++] = b;
+            return this;
+        }
+
+        ByteSink put(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, len, bytes.length);
+            len += bytes.length;
+            return this;
+        }
+
+        /**
+         * 0 이상의 정수
+         */
+        ByteSink number(long v) {
+            int n = 0;
+            do {
+                digits[n++] = (byte) ('0' + v % 10);
+                v /= 10;
+            } while (v > 0);
+            ensure(n);
+            while (n > 0) {
+                buf[len++] = digits[--n];
+            }
+            return this;
+        }
+
+        /**
+         * 8-4-4-4-12 형식의 16진수 (UUID 모양, 128 비트 난수)
+         */
+        ByteSink uuidHex(long hi, long lo) {
+            ensure(36);
+            hex(hi >>> 32, 8).put('-').hex((hi >>> 16) & 0xFFFF, 4).put('-').hex(hi & 0xFFFF, 4).put('-')
+                    .hex(lo >>> 48, 4).put('-').hex(lo & 0xFFFF_FFFF_FFFFL, 12);
+            return this;
+        }
+
+        private ByteSink hex(long v, int width) {
+            ensure(width);
+            for (int i = width - 1; i >= 0; i--) {
+                buf[len + i] = HEX[(int) (v & 0xF)];
+                v >>>= 4;
+            }
+            len += width;
+            return this;
+        }
+
+        /**
+         * UTC epoch 초를 yyyy-MM-ddTHH:mm:ss 로 (LocalDateTime 을 만들지 않는 civil-from-days 변환)
+         */
+        ByteSink dateTime(long epochSecond) {
+            long days = Math.floorDiv(epochSecond, 86_400L);
+            int secondOfDay = (int) Math.floorMod(epochSecond, 86_400L);
+
+            long z = days + 719_468;
+            long era = Math.floorDiv(z, 146_097);
+            long doe = z - era * 146_097;
+            long yoe = (doe - doe / 1_460 + doe / 36_524 - doe / 146_096) / 365;
+            long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+            long mp = (5 * doy + 2) / 153;
+            int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+            int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+            long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+
+            ensure(19);
+            number(year);
+            put('-').twoDigits(month).put('-').twoDigits(day).put('T');
+            twoDigits(secondOfDay / 3600).put(':').twoDigits(secondOfDay / 60 % 60).put(':').twoDigits(secondOfDay % 60);
+            return this;
+        }
+
+        private ByteSink twoDigits(int v) {
+            ensure(2);
+            buf[len++] = (byte) ('0' + v / 10);
+            buf[len++] = (byte) ('0' + v % 10);
+            return this;
+        }
+
+        private void ensure(int extra) {
+            if (len + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.smalldogg.adproductapi.product;
+
+import com.smalldogg.adproductapi.product.response.ProductListResponse;
+
+/**
+ * 변경 피드 조회 결과 한 행.
+ *
+ * @param horizon   조회 스냅샷의 xmin (모든 행이 같은 값)
+ * @param changeXid 행을 마지막으로 쓴 트랜잭션 ID, 변경이 없으면 null
+ * @param item      변경이 없으면 null (horizon 만 담긴 행)
+ */
+public record ProductChangeRow(
+        long horizon,
+        Long changeXid,
+        ProductListResponse.ProductItem item
+) {
+}
@@ -1,15 +1,39 @@
 package com.smalldogg.adproductapi.product;
 
+import com.smalldogg.adproductapi.config.ReadConsistency;
+import com.smalldogg.adproductapi.product.bulk.BulkImportJob;
+import com.smalldogg.adproductapi.product.bulk.BulkImportJobService;
+import com.smalldogg.adproductapi.product.entity.ProductStatus;
+import com.smalldogg.adproductapi.product.enums.BulkImportMode;
+import com.smalldogg.adproductapi.product.enums.ProductExportFormat;
+import com.smalldogg.adproductapi.product.enums.ProductPagingMode;
 import com.smalldogg.adproductapi.product.enums.ProductSearchType;
 import com.smalldogg.adproductapi.product.enums.ProductSortType;
-import com.smalldogg.adproductapi.product.response.BulkAddResponse;
+import com.smalldogg.adproductapi.product.export.ProductExporter;
+import com.smalldogg.adproductapi.product.request.ProductBatchGetRequest;
+import com.smalldogg.adproductapi.product.request.ProductStatusChangeRequest;
+import com.smalldogg.adproductapi.product.response.BulkImportJobResponse;
 import com.smalldogg.adproductapi.product.response.ProductApiResponse;
+import com.smalldogg.adproductapi.product.response.ProductBatchGetResponse;
+import com.smalldogg.adproductapi.product.response.ProductCacheStatsResponse;
+import com.smalldogg.adproductapi.product.response.ProductChangesResponse;
+import com.smalldogg.adproductapi.product.response.ProductFieldSelection;
 import com.smalldogg.adproductapi.product.response.ProductListResponse;
+import com.smalldogg.adproductapi.product.response.ProductSelectedFieldsResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/products")
@@ -17,32 +41,182 @@ import org.springframework.web.multipart.MultipartFile;
 public class ProductController {
 
     private final ProductService productService;
+    private final BulkImportJobService bulkImportJobService;
+    private final ProductExporter productExporter;
 
 
+    /**
+     * 광고 서빙은 status=ACTIVE 로 호출합니다. (ACTIVE 전용 부분 인덱스 사용)
+     * 카테고리 조건은 category1 → category2 → category3 순으로 앞 단계부터 지정합니다.
+     * 페이지 내용으로 만든 weak ETag 를 내려주고, If-None-Match 가 같으면 본문 없이 304 를 반환합니다.
+     * Accept: application/cbor 면 CBOR, fields=id,price,status 처럼 주면 그 필드만 내려줍니다.
+     */
     @GetMapping
-    public ProductListResponse getProducts(
+    public ResponseEntity<?> getProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int limit,
             @RequestParam(required = false) Long partnerId,
+            @RequestParam(required = false) ProductStatus status,
+            @RequestParam(required = false) Integer category1,
+            @RequestParam(required = false) Integer category2,
+            @RequestParam(required = false) Integer category3,
             @RequestParam(defaultValue = "ID") ProductSortType sortType,
             @RequestParam(required = false) String searchKeyword,
-            @RequestParam(defaultValue = "NAME") ProductSearchType searchType
+            @RequestParam(defaultValue = "NAME") ProductSearchType searchType,
+            @RequestParam(defaultValue = "OFFSET") ProductPagingMode pagingMode,
+            @RequestParam(required = false) String cursor, // 있으면 CURSOR 모드
+            @RequestParam(required = false) String fields
+    ) {
+        ProductFieldSelection<ProductListResponse.ProductItem> selection =
+                ProductFieldSelection.parse(fields, ProductFieldSelection.LIST_ITEM_FIELDS);
+        ProductListResponse response = productService.getProducts(page, limit, partnerId, status, category1, category2, category3, sortType, searchKeyword, searchType, pagingMode, cursor);
+
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .eTag(ProductETags.weak(response, selection == null ? null : selection.fields()))
+                .varyBy(HttpHeaders.ACCEPT);
+        if (selection == null) {
+            return ok.body(response);
+        }
+        return ok.body(new ProductSelectedFieldsResponse(selection.apply(response.items()), response.page(), null));
+    }
+
+    /**
+     * 변경 피드. 응답의 watermark 를 다음 요청의 since 로 넘기면 그 이후 변경만 받습니다. (since 없으면 처음부터)
+     */
+    @GetMapping("/changes")
+    public ProductChangesResponse getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        return productService.getChanges(since, limit);
+    }
+
+    /**
+     * 전체 카탈로그 스트리밍 export (id 순).
+     * 서버 측 커서로 읽으면서 바로 응답에 쓰므로 행 수와 무관하게 메모리가 일정합니다.
+     * Accept-Encoding 에 gzip 이 있으면 gzip 으로 압축합니다.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) Long partnerId,
+            @RequestParam(required = false) ProductStatus status,
+            @RequestParam(defaultValue = "CSV") ProductExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        // 본문은 비동기 스레드에서 쓰므로 read-your-writes 선택을 넘겨줌
+        boolean primary = ReadConsistency.isPrimaryRequired();
+
+        StreamingResponseBody body = out -> {
+            try (ReadConsistency.Scope ignored = ReadConsistency.require(primary)) {
+                if (gzip) {
+                    try (GZIPOutputStream gz = new GZIPOutputStream(out, 64 * 1024)) {
+                        productExporter.export(format, partnerId, status, gz);
+                    }
+                } else {
+                    productExporter.export(format, partnerId, status, out);
+                }
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format == ProductExportFormat.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"products." + format.name().toLowerCase() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * strong ETag ("{id}-{change_xid}") 과 Last-Modified(modified_at) 를 내려줍니다.
+     * If-None-Match / If-Modified-Since 가 오면 먼저 버전(change_xid, modified_at)만 확인해
+     * 바뀌지 않았으면 행 적재/직렬화 없이 304 를 반환합니다. (둘 다 오면 If-None-Match 우선)
+     * strong ETag 는 표현(바이트)마다 달라야 하므로 JSON 만 제공합니다.
+     */
+    @GetMapping(value = "/{productId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductApiResponse> getProduct(@PathVariable("productId") Long productId, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            ProductVersion version = productService.getProductVersion(productId);
+            if (request.checkNotModified(ProductETags.of(productId, version.changeXid()), ProductETags.lastModified(version.modifiedAt()))) {
+                return null; // 304 (헤더는 checkNotModified 가 채움)
+            }
+        }
+
+        ProductApiResponse product = productService.getProduct(productId);
+        return ResponseEntity.ok()
+                .eTag(ProductETags.of(product))
+                .lastModified(ProductETags.lastModified(product.modifiedAt()))
+                .body(product);
+    }
+
+    /**
+     * 여러 상품을 한 번에 조회 (요청 순서 유지, 없는 id 는 missingIds 로, fields 로 필드 선택)
+     */
+    @PostMapping("/batch-get")
+    public ResponseEntity<?> batchGet(
+            @Valid @RequestBody ProductBatchGetRequest request,
+            @RequestParam(required = false) String fields
+    ) {
+        return batchGet(request.ids(), fields);
+    }
+
+    @GetMapping("/batch-get")
+    public ResponseEntity<?> batchGet(
+            @RequestParam("ids") List<Long> ids,
+            @RequestParam(required = false) String fields
+    ) {
+        ProductFieldSelection<ProductApiResponse> selection =
+                ProductFieldSelection.parse(fields, ProductFieldSelection.API_RESPONSE_FIELDS);
+        ProductBatchGetResponse response = productService.getProductsByIds(ids);
+
+        if (selection == null) {
+            return ResponseEntity.ok(response);
+        }
+        return ResponseEntity.ok(new ProductSelectedFieldsResponse(selection.apply(response.items()), null, response.missingIds()));
+    }
+
+    @PatchMapping("/{productId}/status")
+    public ProductApiResponse changeStatus(
+            @PathVariable("productId") Long productId,
+            @Valid @RequestBody ProductStatusChangeRequest request
     ) {
-        return productService.getProducts(page, limit, partnerId, sortType, searchKeyword, searchType);
+        return productService.changeStatus(productId, request.status());
     }
 
-    @GetMapping("/{productId}")
-    public ProductApiResponse getProduct(@PathVariable("productId") Long productId) {
-        return productService.getProduct(productId);
+    @GetMapping("/cache/stats")
+    public ProductCacheStatsResponse getCacheStats() {
+        return productService.getCacheStats();
     }
 
     @PostMapping(value="bulk-add", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<BulkAddResponse> bulkAdd(@RequestPart("file") MultipartFile file) throws Exception {
-        BulkAddResponse result = productService.importCsv(file, true); // true=UPSERT
-        return ResponseEntity.ok(new BulkAddResponse(
-                result.totalLines(),
-                result.insertedOrUpdatedRows(),
-                result.skippedRows()
-        ));
+    public ResponseEntity<?> bulkAdd(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(defaultValue = "true") boolean upsert, // false=INSERT ONLY (기존 id 는 skip)
+            @RequestParam(defaultValue = "false") boolean delta, // true=modified_at 이 최신이고 내용이 바뀐 행만 UPDATE
+            @RequestParam(defaultValue = "false") boolean async  // true=job ID 즉시 반환, 청크 단위 커밋
+    ) throws Exception {
+        BulkImportMode mode = BulkImportMode.of(upsert, delta);
+        if (async) {
+            BulkImportJob job = bulkImportJobService.submit(file, mode);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/products/bulk-add/" + job.getId()))
+                    .body(job.toResponse());
+        }
+        return ResponseEntity.ok(productService.importCsv(file, mode));
+    }
+
+    @GetMapping("/bulk-add/{jobId}")
+    public BulkImportJobResponse getBulkAddJob(@PathVariable("jobId") String jobId) {
+        return bulkImportJobService.get(jobId).toResponse();
+    }
+
+    @DeleteMapping("/bulk-add/{jobId}")
+    public BulkImportJobResponse cancelBulkAddJob(@PathVariable("jobId") String jobId) {
+        return bulkImportJobService.cancel(jobId).toResponse();
     }
 }
@@ -0,0 +1,66 @@
+package com.smalldogg.adproductapi.product;
+
+import com.smalldogg.adproductapi.product.response.ProductApiResponse;
+import com.smalldogg.adproductapi.product.response.ProductListResponse;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Objects;
+
+/**
+ * 조건부 GET 용 ETag / Last-Modified 값.
+ *
+ * - 단건: strong ETag "{id}-{change_xid}" (행을 쓸 때마다 서버가 기록하는 트랜잭션 ID, V006)
+ *   modified_at 은 파트너가 보낸 값이라 내용이 바뀌어도 같을 수 있으므로 ETag 에는 쓰지 않고 Last-Modified 로만 내려줍니다.
+ * - 목록: 페이지 내 항목의 모든 필드, 페이지 메타, 선택 필드로 만든 weak ETag
+ *   (JSON / CBOR 는 같은 내용이므로 weak ETag 를 공유하고 Vary: Accept 로 구분)
+ *
+ * 시각은 DB 에 마이크로초 단위로 저장되므로 같은 단위로 잘라 DB 값과 캐시 값이 같은 ETag 를 내게 합니다.
+ */
+final class ProductETags {
+
+    private ProductETags() {
+    }
+
+    static String of(Long productId, long changeXid) {
+        return "\"" + productId + "-" + changeXid + "\"";
+    }
+
+    static String of(ProductApiResponse product) {
+        return of(product.id(), product.changeXid());
+    }
+
+    /**
+     * modified_at 은 서버 로컬 시간대 기준 LocalDateTime 입니다.
+     */
+    static long lastModified(LocalDateTime modifiedAt) {
+        return modifiedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * @param fields 필드 선택 시 정규화된 필드 목록 (없으면 null)
+     */
+    static String weak(ProductListResponse response, String fields) {
+        long h = Objects.hashCode(fields);
+        for (ProductListResponse.ProductItem item : response.items()) {
+            h = 31 * h + item.id();
+            h = 31 * h + Objects.hashCode(item.partnerId());
+            h = 31 * h + Objects.hashCode(item.category1());
+            h = 31 * h + Objects.hashCode(item.category2());
+            h = 31 * h + Objects.hashCode(item.category3());
+            h = 31 * h + Objects.hashCode(item.name());
+            h = 31 * h + Objects.hashCode(item.status());
+            h = 31 * h + Objects.hashCode(item.price());
+            h = 31 * h + Objects.hashCode(item.imageUrl());
+            h = 31 * h + epochMicros(item.createdAt());
+            h = 31 * h + epochMicros(item.modifiedAt());
+        }
+        h = 31 * h + Objects.hashCode(response.page());
+        return "W/\"" + Long.toHexString(h) + "\"";
+    }
+
+    private static long epochMicros(LocalDateTime t) {
+        return t.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + t.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,81 @@
+package com.smalldogg.adproductapi.product;
+
+import com.smalldogg.adproductapi.product.entity.ProductStatus;
+import com.smalldogg.adproductapi.product.enums.ProductSearchType;
+
+/**
+ * 목록 조회 필터 (null 인 조건은 적용하지 않음)
+ *
+ * @param partnerId    파트너 필터
+ * @param nameContains 대소문자 무시 부분 일치 (pg_trgm GIN 인덱스)
+ * @param namePrefix   대소문자 무시 접두 일치 (lower(name) text_pattern_ops 인덱스)
+ * @param productId    id 정확 일치 (PK)
+ * @param status       상태 정확 일치 (ACTIVE 는 부분 인덱스 사용, V007)
+ * @param category1    카테고리 정확 일치 (category1 → 2 → 3 순으로 앞 단계가 있어야 함)
+ * @param category2    〃
+ * @param category3    〃
+ */
+public record ProductListFilter(
+        Long partnerId,
+        String nameContains,
+        String namePrefix,
+        Long productId,
+        ProductStatus status,
+        Integer category1,
+        Integer category2,
+        Integer category3
+) {
+
+    public ProductListFilter {
+        if ((category2 != null && category1 == null) || (category3 != null && category2 == null)) {
+            throw new IllegalArgumentException("category2 requires category1, category3 requires category2.");
+        }
+    }
+
+    public static ProductListFilter of(Long partnerId, ProductStatus status, Integer category1, Integer category2, Integer category3,
+                                       ProductSearchType searchType, String searchKeyword) {
+        String nameContains = null;
+        String namePrefix = null;
+        Long productId = null;
+
+        if (searchKeyword != null && !searchKeyword.isBlank()) {
+            String keyword = searchKeyword.trim();
+            switch (searchType) {
+                case NAME -> nameContains = keyword;
+                case NAME_PREFIX -> namePrefix = keyword;
+                case ID -> productId = parseId(keyword);
+                case STATUS -> {
+                    ProductStatus keywordStatus = parseStatus(keyword);
+                    if (status != null && status != keywordStatus) {
+                        throw new IllegalArgumentException("status and searchKeyword(searchType=STATUS) conflict: " + status + ", " + keywordStatus);
+                    }
+                    status = keywordStatus;
+                }
+            }
+        }
+        return new ProductListFilter(partnerId, nameContains, namePrefix, productId, status, category1, category2, category3);
+    }
+
+    /**
+     * product_status_count 카운터로 정확한 전체 건수를 낼 수 있는 조건인지 (파트너/상태 조건만 있는 경우)
+     */
+    public boolean isCounterServable() {
+        return nameContains == null && namePrefix == null && productId == null && category1 == null;
+    }
+
+    private static Long parseId(String keyword) {
+        try {
+            return Long.parseLong(keyword);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("searchKeyword must be a product id for searchType=ID: " + keyword);
+        }
+    }
+
+    private static ProductStatus parseStatus(String keyword) {
+        try {
+            return ProductStatus.valueOf(keyword.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown status for searchType=STATUS: " + keyword);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.smalldogg.adproductapi.product;
+
+import com.smalldogg.adproductapi.product.entity.ProductStatus;
+import com.smalldogg.adproductapi.product.enums.ProductPagingMode;
+import com.smalldogg.adproductapi.product.enums.ProductSearchType;
+import com.smalldogg.adproductapi.product.enums.ProductSortType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * 조회 API 지연 시간 히스토그램.
+ *
+ * - product.list{sortType, searchType, pagingMode, partnerFilter, status, exception}
+ *   searchType 은 검색어가 없으면 none (기본값 NAME 과 구분), status 는 상태 필터가 없으면 none
+ * - product.get{exception}
+ * - product.version{exception} : 조건부 GET 의 버전 확인 (304 판단)
+ *
+ * 태그 값은 모두 enum/boolean 이라 시계열 수가 고정됩니다.
+ */
+@Component
+class ProductQueryMetrics {
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry registry;
+
+    ProductQueryMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    <T> T timeList(ProductSortType sortType, ProductSearchType searchType, boolean hasKeyword,
+                   ProductPagingMode pagingMode, boolean partnerFilter, ProductStatus status, Supplier<T> query) {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = NONE;
+        try {
+            return query.get();
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("product.list")
+                    .tag("sortType", sortType.name())
+                    .tag("searchType", hasKeyword ? searchType.name() : NONE)
+                    .tag("pagingMode", pagingMode.name())
+                    .tag("partnerFilter", String.valueOf(partnerFilter))
+                    .tag("status", status != null ? status.name() : NONE)
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    <T> T timeGet(Supplier<T> query) {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = NONE;
+        try {
+            return query.get();
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("product.get")
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    <T> T timeVersion(Supplier<T> query) {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = NONE;
+        try {
+            return query.get();
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("product.version")
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+}
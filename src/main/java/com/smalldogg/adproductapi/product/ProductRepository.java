@@ -1,14 +1,10 @@
 package com.smalldogg.adproductapi.product;
 
 import com.smalldogg.adproductapi.product.entity.Product;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
-    Page<Product> findByPartnerId(Long partnerId, Pageable pageable);
-
-    Page<Product> findByNameContainingIgnoreCase(String keyword, Pageable pageable);
-
-    Page<Product> findByPartnerIdAndNameContainingIgnoreCase(Long partnerId, String keyword, Pageable pageable);
+/**
+ * 조회 전용 경로(목록/검색/단건/다건)는 ProductRepositoryCustom(ProductRepositoryImpl)에서 응답 레코드로 바로 매핑합니다.
+ */
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
 }
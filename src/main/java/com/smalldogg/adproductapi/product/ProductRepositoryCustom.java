@@ -0,0 +1,70 @@
+package com.smalldogg.adproductapi.product;
+
+import com.smalldogg.adproductapi.product.cursor.ChangeWatermark;
+import com.smalldogg.adproductapi.product.cursor.ProductCursor;
+import com.smalldogg.adproductapi.product.entity.ProductStatus;
+import com.smalldogg.adproductapi.product.enums.ProductSortType;
+import com.smalldogg.adproductapi.product.response.ProductApiResponse;
+import com.smalldogg.adproductapi.product.response.ProductListResponse;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 조회 전용 경로와 단건 상태 변경. 엔티티를 만들지 않고 응답 레코드로 바로 매핑합니다.
+ */
+public interface ProductRepositoryCustom {
+
+    Optional<ProductApiResponse> findApiResponseById(Long id);
+
+    /**
+     * keyset seek 조회.
+     * (sortKey, id) 가 cursor 보다 "뒤"인 행을 정렬 순서대로 최대 limit 개 반환합니다.
+     * OFFSET 을 쓰지 않으므로 몇 번째 페이지든 인덱스 탐색 비용이 같습니다.
+     *
+     * @param after null 이면 첫 페이지
+     */
+    List<ProductListResponse.ProductItem> findBySeek(ProductListFilter filter, ProductSortType sortType, ProductCursor after, int limit);
+
+    /**
+     * OFFSET 조회. count 쿼리 없이 행만 읽습니다. (hasNext 판단은 호출 측에서 limit + 1 로)
+     */
+    List<ProductListResponse.ProductItem> findByOffset(ProductListFilter filter, ProductSortType sortType, long offset, int limit);
+
+    /**
+     * 변경 피드. after 이후 (change_xid, id) 순으로 최대 limit 개를 반환합니다.
+     * 조회 스냅샷에서 아직 끝나지 않았을 수 있는 트랜잭션(xmin 이상)의 변경은 제외합니다.
+     * 변경이 없어도 horizon 을 담은 행 하나(item=null)를 반환합니다.
+     *
+     * @param after null 이면 처음부터
+     */
+    List<ProductChangeRow> findChanges(ChangeWatermark after, int limit);
+
+    /**
+     * 최대 cap 건까지만 세는 count. 이름 검색처럼 유지 카운터로 답할 수 없는 경우에 사용합니다.
+     */
+    long countCapped(ProductListFilter filter, long cap);
+
+    /**
+     * product_status_count 카운터 테이블 기준 상품 수 (null 인 조건은 전체)
+     */
+    long countFromStatusCounter(Long partnerId, ProductStatus status);
+
+    /**
+     * 여러 id 를 한 번의 쿼리(id = any(?))로 조회해 응답 레코드로 바로 매핑합니다. 결과 순서는 보장하지 않습니다.
+     */
+    List<ProductApiResponse> findApiResponsesByIds(Collection<Long> ids);
+
+    /**
+     * 조건부 GET 판단용 버전(change_xid, modified_at)만 조회
+     */
+    Optional<ProductVersion> findVersionById(Long id);
+
+    /**
+     * 상태와 modified_at 을 바꾸고 바뀐 행을 응답 레코드로 돌려줍니다. (없으면 empty)
+     * JPA 의 "where id = ?" 갱신은 파티션마다 PK 를 탐색하므로 등록부로 파티션을 찾아 한 문장으로 갱신합니다.
+     */
+    Optional<ProductApiResponse> updateStatus(Long id, ProductStatus status, LocalDateTime modifiedAt);
+}
@@ -0,0 +1,314 @@
+package com.smalldogg.adproductapi.product;
+
+import com.smalldogg.adproductapi.product.cursor.ChangeWatermark;
+import com.smalldogg.adproductapi.product.cursor.ProductCursor;
+import com.smalldogg.adproductapi.product.entity.ProductStatus;
+import com.smalldogg.adproductapi.product.enums.ProductSortType;
+import com.smalldogg.adproductapi.product.response.ProductApiResponse;
+import com.smalldogg.adproductapi.product.response.ProductListResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ProductRepository 의 커스텀 조회 구현 (Spring Data fragment).
+ *
+ * 조회 전용 경로라 엔티티를 만들지 않고 JDBC 결과를 응답 레코드로 바로 매핑합니다.
+ * (영속성 컨텍스트 등록, dirty checking 스냅샷, 엔티티 → DTO 재매핑이 모두 없음)
+ *
+ * 정렬 키와 tie-breaker(id)의 방향을 항상 같게 두어
+ * "(sortKey, id) > (?, ?)" 형태의 row value 비교 한 번으로 seek 할 수 있게 합니다.
+ *
+ * product 는 partner_id 해시 파티션 테이블입니다. (V008)
+ * 파트너 조건은 항상 "partner_id = :partnerId" 단순 동등 비교로 써야 파티션 하나만 읽습니다.
+ * (바인딩 값이어도 실행 시점 pruning 이 적용됨, 식으로 감싸거나 IN/범위로 쓰면 전 파티션을 읽음)
+ * 파트너 조건이 없는 조회는 파티션마다 인덱스를 읽어 Merge Append 로 정렬 순서를 유지합니다.
+ *
+ * id 로 찾는 조회/상태 변경(단건, batch-get, 버전, id 검색)은 product_id 등록부(V009)에서 partner_id 를 먼저 찾아
+ * "partner_id = 등록부 값" 으로 조인/비교합니다. 값이 실행 시점에 정해지므로 실행 시점 pruning 으로 파티션 하나만 읽습니다.
+ * (id 만으로 찾으면 PK (id, partner_id) 를 16 개 파티션마다 탐색함, QueryPlanRegressionTest 로 검증)
+ */
+@RequiredArgsConstructor
+class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    private static final String ITEM_COLUMNS =
+            "id, partner_id, category1, category2, category3, name, status, price, image_url, created_at, modified_at";
+
+    private static final String API_RESPONSE_COLUMNS =
+            "p.id, p.name, p.price, p.image_url, p.partner_id, p.category1, p.category2, p.category3, p.created_at, p.modified_at, p.change_xid";
+
+    static final String FIND_API_RESPONSE_BY_ID_SQL = """
+            select %s
+            from product_id r
+            join product p on p.id = r.id and p.partner_id = r.partner_id
+            where r.id = ?
+            """.formatted(API_RESPONSE_COLUMNS);
+
+    static final String FIND_VERSION_BY_ID_SQL = """
+            select p.change_xid, p.modified_at
+            from product_id r
+            join product p on p.id = r.id and p.partner_id = r.partner_id
+            where r.id = ?
+            """;
+
+    static final String FIND_API_RESPONSES_BY_IDS_SQL = """
+            select %s
+            from product_id r
+            join product p on p.id = r.id and p.partner_id = r.partner_id
+            where r.id = any(?)
+            """.formatted(API_RESPONSE_COLUMNS);
+
+    /**
+     * 등록부 행을 FOR SHARE 로 잠가 파트너를 옮기는 임포트(ProductBulkWriter 가 등록부를 잠금)가 끝난 뒤의 partner_id 로 갱신합니다.
+     * (잠그지 않으면 이전 파트너의 지워진 행을 찾아 0 건이 될 수 있음)
+     * change_xid 는 트리거가 채운 값이 RETURNING 에 담깁니다.
+     */
+    static final String UPDATE_STATUS_SQL = """
+            update product p
+            set status = ?, modified_at = ?
+            where p.id = ?
+              and p.partner_id = (select partner_id from product_id where id = ? for share)
+            returning %s
+            """.formatted(API_RESPONSE_COLUMNS);
+
+    /**
+     * horizon(스냅샷 xmin)은 변경이 한 건도 없을 때도 돌려줘야 하므로 left join lateral 로 항상 한 행 이상을 만듭니다.
+     */
+    private static final String FIND_CHANGES_SQL = """
+            with h as (select pg_snapshot_xmin(pg_current_snapshot())::text::bigint as horizon)
+            select h.horizon, p.change_xid, p.id, p.partner_id, p.category1, p.category2, p.category3,
+                   p.name, p.status, p.price, p.image_url, p.created_at, p.modified_at
+            from h
+            left join lateral (
+                select change_xid, %s
+                from product
+                where change_xid < h.horizon
+                  and (change_xid, id) > (:sinceXid, :sinceId)
+                order by change_xid, id
+                limit :limit
+            ) p on true
+            """.formatted(ITEM_COLUMNS);
+
+    private static final RowMapper<ProductListResponse.ProductItem> ITEM_ROW_MAPPER = (rs, rowNum) -> new ProductListResponse.ProductItem(
+            rs.getLong("id"),
+            rs.getLong("partner_id"),
+            rs.getInt("category1"),
+            rs.getInt("category2"),
+            rs.getInt("category3"),
+            rs.getString("name"),
+            rs.getString("status"),
+            rs.getLong("price"),
+            rs.getString("image_url"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("modified_at", LocalDateTime.class)
+    );
+
+    private static final RowMapper<ProductApiResponse> API_RESPONSE_ROW_MAPPER = (rs, rowNum) -> new ProductApiResponse(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getLong("price"),
+            rs.getString("image_url"),
+            rs.getLong("partner_id"),
+            rs.getInt("category1"),
+            rs.getInt("category2"),
+            rs.getInt("category3"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("modified_at", LocalDateTime.class),
+            rs.getLong("change_xid")
+    );
+
+    @Override
+    public Optional<ProductApiResponse> findApiResponseById(Long id) {
+        return jdbcTemplate.query(FIND_API_RESPONSE_BY_ID_SQL, API_RESPONSE_ROW_MAPPER, id)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<ProductApiResponse> updateStatus(Long id, ProductStatus status, LocalDateTime modifiedAt) {
+        return jdbcTemplate.query(UPDATE_STATUS_SQL, API_RESPONSE_ROW_MAPPER, status.name(), modifiedAt, id, id)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<ProductVersion> findVersionById(Long id) {
+        return jdbcTemplate.query(FIND_VERSION_BY_ID_SQL,
+                        (rs, rowNum) -> new ProductVersion(rs.getLong("change_xid"), rs.getObject("modified_at", LocalDateTime.class)),
+                        id)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * IN (?, ?, ...) 은 id 개수마다 SQL 텍스트가 달라져 prepared statement 가 재사용되지 않으므로
+     * bigint[] 하나를 바인딩하는 id = any(?) 로 등록부를 찾고, 행마다 그 파트너 파티션만 조인합니다.
+     */
+    @Override
+    public List<ProductApiResponse> findApiResponsesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(FIND_API_RESPONSES_BY_IDS_SQL);
+                    ps.setArray(1, con.createArrayOf("bigint", ids.toArray()));
+                    return ps;
+                },
+                API_RESPONSE_ROW_MAPPER
+        );
+    }
+
+    @Override
+    public List<ProductListResponse.ProductItem> findBySeek(ProductListFilter filter, ProductSortType sortType, ProductCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder("select ").append(ITEM_COLUMNS).append(" from product")
+                .append(where(filter, params));
+
+        if (after != null) {
+            sql.append(switch (sortType) {
+                case ID -> " and id > :cursorId";
+                case ID_DESC -> " and id < :cursorId";
+                case CREATED_AT -> " and (created_at, id) < (:cursorKey, :cursorId)";
+                case PRICE_ASC -> " and (price, id) > (:cursorKey, :cursorId)";
+                case PRICE_DESC -> " and (price, id) < (:cursorKey, :cursorId)";
+            });
+            params.addValue("cursorId", after.id());
+            switch (sortType) {
+                case CREATED_AT -> params.addValue("cursorKey", after.createdAt());
+                case PRICE_ASC, PRICE_DESC -> params.addValue("cursorKey", after.price());
+                default -> { }
+            }
+        }
+        sql.append(orderBy(sortType)).append(" limit :limit");
+        params.addValue("limit", limit);
+
+        return namedJdbcTemplate.query(sql.toString(), params, ITEM_ROW_MAPPER);
+    }
+
+    @Override
+    public List<ProductListResponse.ProductItem> findByOffset(ProductListFilter filter, ProductSortType sortType, long offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+        String sql = "select " + ITEM_COLUMNS + " from product"
+                + where(filter, params)
+                + orderBy(sortType)
+                + " limit :limit offset :offset";
+
+        return namedJdbcTemplate.query(sql, params, ITEM_ROW_MAPPER);
+    }
+
+    @Override
+    public List<ProductChangeRow> findChanges(ChangeWatermark after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("sinceXid", after == null ? Long.MIN_VALUE : after.changeXid())
+                .addValue("sinceId", after == null ? Long.MIN_VALUE : after.id())
+                .addValue("limit", limit);
+
+        return namedJdbcTemplate.query(FIND_CHANGES_SQL, params, (rs, rowNum) -> {
+            long horizon = rs.getLong("horizon");
+            if (rs.getObject("id") == null) {
+                return new ProductChangeRow(horizon, null, null);
+            }
+            return new ProductChangeRow(horizon, rs.getLong("change_xid"), ITEM_ROW_MAPPER.mapRow(rs, rowNum));
+        });
+    }
+
+    @Override
+    public long countCapped(ProductListFilter filter, long cap) {
+        MapSqlParameterSource params = new MapSqlParameterSource().addValue("cap", cap);
+        String sql = "select count(*) from (select 1 from product" + where(filter, params) + " limit :cap) t";
+
+        Long count = namedJdbcTemplate.queryForObject(sql, params, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public long countFromStatusCounter(Long partnerId, ProductStatus status) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder("select coalesce(sum(product_count), 0) from product_status_count where 1 = 1");
+        if (partnerId != null) {
+            sql.append(" and partner_id = :partnerId");
+            params.addValue("partnerId", partnerId);
+        }
+        if (status != null) {
+            sql.append(" and status = :status");
+            params.addValue("status", status.name());
+        }
+
+        Long count = namedJdbcTemplate.queryForObject(sql.toString(), params, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * 필터 조건을 SQL 로 만들고 바인딩 값을 params 에 채웁니다.
+     */
+    private static String where(ProductListFilter filter, MapSqlParameterSource params) {
+        StringBuilder where = new StringBuilder(" where 1 = 1");
+
+        if (filter.partnerId() != null) {
+            where.append(" and partner_id = :partnerId"); // 파티션 pruning
+            params.addValue("partnerId", filter.partnerId());
+        }
+        if (filter.productId() != null) {
+            where.append(" and id = :productId");
+            if (filter.partnerId() == null) {
+                // 등록부의 partner_id 로 파티션 하나만 읽음 (실행 시점 pruning)
+                where.append(" and partner_id = (select partner_id from product_id where id = :productId)");
+            }
+            params.addValue("productId", filter.productId());
+        }
+        if (filter.status() != null) {
+            // enum 이름이라 리터럴로 씀. 바인딩하면 generic plan 에서 status = 'ACTIVE' 부분 인덱스(V007)를 못 고름
+            where.append(" and status = '").append(filter.status().name()).append("'");
+        }
+        if (filter.category1() != null) {
+            where.append(" and category1 = :category1");
+            params.addValue("category1", filter.category1());
+        }
+        if (filter.category2() != null) {
+            where.append(" and category2 = :category2");
+            params.addValue("category2", filter.category2());
+        }
+        if (filter.category3() != null) {
+            where.append(" and category3 = :category3");
+            params.addValue("category3", filter.category3());
+        }
+        if (filter.nameContains() != null) {
+            // ilike 는 gin (name gin_trgm_ops) 인덱스로 처리됨 (lower(name) like 는 인덱스를 못 탐)
+            where.append(" and name ilike :nameContains escape '\\'");
+            params.addValue("nameContains", "%" + escapeLike(filter.nameContains()) + "%");
+        }
+        if (filter.namePrefix() != null) {
+            where.append(" and lower(name) like :namePrefix escape '\\'");
+            params.addValue("namePrefix", escapeLike(filter.namePrefix().toLowerCase()) + "%");
+        }
+        return where.toString();
+    }
+
+    private static String orderBy(ProductSortType sortType) {
+        return switch (sortType) {
+            case ID -> " order by id asc";
+            case ID_DESC -> " order by id desc";
+            case CREATED_AT -> " order by created_at desc, id desc";
+            case PRICE_ASC -> " order by price asc, id asc";
+            case PRICE_DESC -> " order by price desc, id desc";
+        };
+    }
+
+    static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
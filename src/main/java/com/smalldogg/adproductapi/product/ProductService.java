@@ -1,31 +1,39 @@
 package com.smalldogg.adproductapi.product;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.smalldogg.adproductapi.config.ProductNotFoundException;
-import com.smalldogg.adproductapi.product.entity.Product;
+import com.smalldogg.adproductapi.config.SyncBulkImportInProgressException;
+import com.smalldogg.adproductapi.product.bulk.ImportProgress;
+import com.smalldogg.adproductapi.product.bulk.ProductBulkWriter;
+import com.smalldogg.adproductapi.product.bulk.ProductCsvImporter;
+import com.smalldogg.adproductapi.product.cache.ProductCache;
+import com.smalldogg.adproductapi.product.cursor.ChangeWatermark;
+import com.smalldogg.adproductapi.product.cursor.ProductCursor;
 import com.smalldogg.adproductapi.product.entity.ProductStatus;
+import com.smalldogg.adproductapi.product.enums.BulkImportMode;
+import com.smalldogg.adproductapi.product.enums.ProductPagingMode;
 import com.smalldogg.adproductapi.product.enums.ProductSearchType;
 import com.smalldogg.adproductapi.product.enums.ProductSortType;
 import com.smalldogg.adproductapi.product.response.BulkAddResponse;
 import com.smalldogg.adproductapi.product.response.ProductApiResponse;
+import com.smalldogg.adproductapi.product.response.ProductBatchGetResponse;
+import com.smalldogg.adproductapi.product.response.ProductCacheStatsResponse;
+import com.smalldogg.adproductapi.product.response.ProductChangesResponse;
 import com.smalldogg.adproductapi.product.response.ProductListResponse;
-import jakarta.persistence.EntityManager;
+import com.smalldogg.adproductapi.product.serving.ProductServingIndex;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
 import java.time.LocalDateTime;
-import java.util.Collection;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 
 @RequiredArgsConstructor
@@ -33,218 +41,345 @@ import java.util.Map;
 public class ProductService {
 
     private final ProductRepository productRepository;
-    private final EntityManager entityManager;
+    private final ProductBulkWriter productBulkWriter;
+    private final ProductCsvImporter productCsvImporter;
+    private final ProductCache productCache;
+    private final ProductQueryMetrics queryMetrics;
+    private final ProductServingIndex servingIndex;
+
+    /**
+     * 키워드 검색 count 상한. 이 이상은 "10,000건 이상"으로만 표시해도 충분하고,
+     * 상한 없이 세면 목록 조회와 별개로 한 번 더 풀 스캔하게 됩니다.
+     */
+    private static final long KEYWORD_COUNT_CAP = 10_000;
+
+    private static final int BATCH_GET_MAX_IDS = 1_000;
+
+    private static final int CHANGES_MAX_LIMIT = 1_000;
 
 
     /**
-     * Controller의 매개는 그대로(MultipartFile file).
-     * upsert 인자는 시그니처에 남겨두되, JPA saveAll로는 DB 레벨 UPSERT를 직접 제어할 수 없으므로
-     * 동작은 "ID가 있으면 update, 없으면 insert" (JPA merge 성격)로 이해하는 것이 안전합니다.
+     * 청크 단위로 COPY → staging → INSERT ... ON CONFLICT 로 기록합니다.
+     * - UPSERT     : 이미 있는 id 는 UPDATE
+     * - INSERT_ONLY: 이미 있는 id 는 건드리지 않고 skippedRows 로 집계
+     * - DELTA      : 이미 있는 id 는 modified_at 이 최신이고 내용이 다를 때만 UPDATE (나머지는 unchangedRows)
+     * 동기 모드는 파일 전체가 하나의 트랜잭션입니다. (큰 파일은 비동기 job 사용)
+     * 쓴 id 의 등록부 잠금을 파일 끝까지 잡으므로 동기 모드는 한 번에 하나만 실행하고, 실행 중이면 429 로 거절합니다.
+     * (ProductBulkWriter 참고)
+     * serving index 재적재는 커밋 후 한 번만 예약합니다.
      */
     @Transactional
-    public BulkAddResponse importCsv(MultipartFile file, boolean upsert) throws Exception {
+    public BulkAddResponse importCsv(MultipartFile file, BulkImportMode mode) throws Exception {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("CSV file is empty.");
         }
 
-        final int chunkSize = 1_000; // saveAll 청크 크기 (1000~3000 사이 권장)
-        long totalLines = 0;
-        long affected = 0;
-        long skipped = 0;
+        if (!productBulkWriter.tryLockSyncImport()) {
+            throw new SyncBulkImportInProgressException();
+        }
 
-        // 중복 ID가 CSV 내에 섞일 수 있으면, 같은 청크 내 dedup이 도움이 됨
-        // (마지막 값으로 덮어쓰기)
-        Map<Long, Product> buffer = new LinkedHashMap<>(chunkSize * 2);
+        try (InputStream in = file.getInputStream()) {
+            BulkAddResponse response = productCsvImporter.importCsv(in, new ImportProgress(file.getSize()),
+                    chunk -> productBulkWriter.write(chunk, mode));
+            servingIndex.refreshAfterCommit();
+            return response;
+        }
+    }
 
-        try (BufferedReader br = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+    @Transactional(readOnly = true)
+    public ProductListResponse getProducts(int page, int limit, Long partnerId, ProductStatus status, Integer category1, Integer category2, Integer category3,
+                                           ProductSortType sortType, String searchKeyword, ProductSearchType searchType,
+                                           ProductPagingMode pagingMode, String cursor) {
+        ProductPagingMode effectiveMode = cursor != null ? ProductPagingMode.CURSOR : pagingMode;
+        boolean hasKeyword = searchKeyword != null && !searchKeyword.isBlank();
 
-            String header = br.readLine();
-            if (header == null) return new BulkAddResponse(0, 0, 0);
+        return queryMetrics.timeList(sortType, searchType, hasKeyword, effectiveMode, partnerId != null, status,
+                () -> listProducts(page, limit,
+                        ProductListFilter.of(partnerId, status, category1, category2, category3, searchType, searchKeyword),
+                        sortType, effectiveMode, cursor));
+    }
 
-            if (!header.toLowerCase().startsWith("id,partner_id,category")) {
-                throw new IllegalArgumentException("Invalid CSV header. Expected: id,partner_id,category,...");
-            }
+    private ProductListResponse listProducts(int page, int limit, ProductListFilter filter, ProductSortType sortType,
+                                             ProductPagingMode pagingMode, String cursor) {
+        int safePage = Math.max(page, 0);
+        int safeLimit = Math.min(Math.max(limit, 1), 200); // limit 상한 (예: 200)
 
-            String line;
-            while ((line = br.readLine()) != null) {
-                totalLines++;
-
-                if (line.isBlank()) {
-                    skipped++;
-                    continue;
-                }
-
-                // 생성기에서 name에 콤마를 넣지 않는 전제.
-                // (콤마 가능성이 있으면 Commons CSV로 교체 권장)
-                String[] t = line.split(",", 9);
-                if (t.length != 9) {
-                    skipped++;
-                    continue;
-                }
-
-                try {
-                    Long id = Long.parseLong(t[0].trim());
-                    Long partnerId = Long.parseLong(t[1].trim());
-                    int category = Integer.parseInt(t[2].trim());
-                    String name = t[3].trim();
-                    ProductStatus status = ProductStatus.valueOf(t[4].trim());
-                    Long price = Long.parseLong(t[5].trim());
-                    String imageUrl = emptyToNull(t[6].trim());
-
-                    LocalDateTime createdAt = parseDateTime(t[7].trim());
-                    LocalDateTime modifiedAt = parseDateTime(t[8].trim());
-
-                    if (modifiedAt.isBefore(createdAt)) {
-                        skipped++;
-                        continue;
-                    }
-
-                    Product product = Product.of(
-                            id, partnerId, category, name, status, price, imageUrl, createdAt, modifiedAt
-                    );
-
-                    // 같은 청크 내 중복 id는 마지막 행으로 덮어쓰기
-                    buffer.put(id, product);
-
-                } catch (Exception e) {
-                    skipped++;
-                    continue;
-                }
-
-                if (buffer.size() >= chunkSize) {
-                    affected += flushChunk(buffer.values());
-                    buffer.clear();
-                }
-            }
+        if (pagingMode == ProductPagingMode.CURSOR) {
+            return getProductsByCursor(safeLimit, filter, sortType, cursor);
+        }
 
-            if (!buffer.isEmpty()) {
-                affected += flushChunk(buffer.values());
-                buffer.clear();
-            }
+        // limit + 1 건을 읽어 다음 페이지 유무를 판단 (Page 의 별도 count(*) 쿼리 제거)
+        // serving index 경로는 다음 페이지 유무/페이지 크기를 채우기(toItems) 전의 스냅샷 행으로 판단합니다.
+        long offset = (long) safePage * safeLimit;
+        List<ProductListResponse.ProductItem> pageRows;
+        boolean hasNext;
+        int pageSize;
+        if (servingIndex.canServe(filter)) {
+            List<ProductServingIndex.Row> rows = servingIndex.findByOffset(filter, sortType, offset, safeLimit + 1);
+            hasNext = rows.size() > safeLimit;
+            List<ProductServingIndex.Row> page = hasNext ? rows.subList(0, safeLimit) : rows;
+            pageSize = page.size();
+            pageRows = toItems(page);
+        } else {
+            List<ProductListResponse.ProductItem> rows = productRepository.findByOffset(filter, sortType, offset, safeLimit + 1);
+            hasNext = rows.size() > safeLimit;
+            pageRows = hasNext ? rows.subList(0, safeLimit) : rows;
+            pageSize = pageRows.size();
         }
 
-        return new BulkAddResponse(totalLines, affected, skipped);
-    }
+        Long totalElements = null;
+        Integer totalPages = null;
+        Boolean totalExact = null;
+        if (pagingMode != ProductPagingMode.NO_COUNT) {
+            TotalCount total = countTotal(filter, offset, pageSize, hasNext);
+            totalElements = total.count();
+            totalPages = (int) ((total.count() + safeLimit - 1) / safeLimit);
+            totalExact = total.exact();
+        }
 
-    private long flushChunk(Collection<Product> products) {
-        // saveAll은 내부적으로 persist/merge를 섞어 처리할 수 있으며,
-        // "affected rows"를 정확히 알기 어렵습니다. 여기서는 처리 건수로 반환합니다.
-        productRepository.saveAll(products);
+        return new ProductListResponse(
+                pageRows,
+                new ProductListResponse.PageMeta(
+                        safePage,
+                        safeLimit,
+                        totalElements,
+                        totalPages,
+                        hasNext,
+                        totalExact,
+                        null
+                )
+        );
+    }
 
-        // 청크마다 flush/clear로 메모리 사용량과 dirty checking 부담을 낮춤
-        productRepository.flush();
-        entityManager.clear();
+    /**
+     * 전체 건수 계산 순서
+     * 1) 마지막 페이지를 읽었다면 offset + 읽은 건수가 곧 전체 건수
+     * 2) serving index 로 처리한 조건이면 스냅샷에서 셈
+     * 3) 파트너/상태 조건뿐이면 (카테고리 조건 없음) product_status_count 카운터 테이블 (파트너 × 상태 행 합계)
+     * 4) 이름 검색은 KEYWORD_COUNT_CAP 까지만 세고 exact=false 로 표시
+     */
+    private TotalCount countTotal(ProductListFilter filter, long offset, int pageSize, boolean hasNext) {
+        if (!hasNext && (pageSize > 0 || offset == 0)) {
+            return new TotalCount(offset + pageSize, true);
+        }
+        if (servingIndex.canServe(filter)) {
+            return new TotalCount(servingIndex.count(filter), true);
+        }
+        if (filter.isCounterServable()) {
+            return new TotalCount(productRepository.countFromStatusCounter(filter.partnerId(), filter.status()), true);
+        }
+        long capped = productRepository.countCapped(filter, KEYWORD_COUNT_CAP + 1);
+        return capped > KEYWORD_COUNT_CAP
+                ? new TotalCount(KEYWORD_COUNT_CAP, false)
+                : new TotalCount(capped, true);
+    }
 
-        return products.size();
+    private record TotalCount(long count, boolean exact) {
     }
 
-    private static String emptyToNull(String s) {
-        return (s == null || s.isBlank()) ? null : s;
+    /**
+     * keyset 모드: OFFSET 없이 (sortKey, id) 로 seek 하고, limit + 1 건을 읽어 다음 페이지 유무를 판단합니다.
+     * 전체 건수(count)는 계산하지 않습니다.
+     */
+    private ProductListResponse getProductsByCursor(int limit, ProductListFilter filter, ProductSortType sortType, String cursor) {
+        ProductCursor after = (cursor == null || cursor.isBlank()) ? null : ProductCursor.decode(cursor, sortType);
+
+        // serving index 경로는 다음 페이지 유무와 커서를 채우기(toItems) 전의 스냅샷 행으로 정합니다.
+        List<ProductListResponse.ProductItem> pageRows;
+        String nextCursor = null;
+        boolean hasNext;
+        if (servingIndex.canServe(filter)) {
+            List<ProductServingIndex.Row> rows = servingIndex.findBySeek(filter, sortType, after, limit + 1);
+            hasNext = rows.size() > limit;
+            List<ProductServingIndex.Row> page = hasNext ? rows.subList(0, limit) : rows;
+            if (hasNext) {
+                ProductServingIndex.Row last = page.get(page.size() - 1);
+                nextCursor = new ProductCursor(sortType, last.createdAt(), last.price(), last.id()).encode();
+            }
+            pageRows = toItems(page);
+        } else {
+            List<ProductListResponse.ProductItem> rows = productRepository.findBySeek(filter, sortType, after, limit + 1);
+            hasNext = rows.size() > limit;
+            pageRows = hasNext ? rows.subList(0, limit) : rows;
+            if (hasNext) {
+                nextCursor = ProductCursor.after(sortType, pageRows.get(pageRows.size() - 1)).encode();
+            }
+        }
+
+        return new ProductListResponse(
+                pageRows,
+                new ProductListResponse.PageMeta(null, limit, null, null, hasNext, null, nextCursor)
+        );
     }
 
     /**
-     * 허용 포맷:
-     * - 2026-01-06T12:34:56
-     * - 2026-01-06 12:34:56
+     * serving index 가 고른 행에 나머지 컬럼(이름, 이미지, 카테고리, 수정 시각)을 채웁니다.
+     * 단건 조회 캐시에 있으면 그 값을 쓰고, 없는 id 만 한 번에 조회합니다.
+     * 이 경로는 읽기 전용 트랜잭션(replica)이므로 조회한 값은 캐시에 넣지 않습니다. (getProduct 참고)
+     * 정렬/커서에 쓰인 값(status, price, createdAt)은 페이지 경계가 어긋나지 않도록 스냅샷 값을 그대로 씁니다.
+     * 스냅샷 이후 삭제/이동된 상품은 빠지므로 결과가 rows 보다 적을 수 있습니다.
+     * (페이지 경계는 호출 측이 rows 로 정하므로 다음 페이지가 밀리거나 건너뛰지 않고, 그 페이지만 짧아짐)
      */
-    private static LocalDateTime parseDateTime(String raw) {
-        String v = raw.trim();
-        if (v.contains("T")) {
-            return LocalDateTime.parse(v);
+    private List<ProductListResponse.ProductItem> toItems(List<ProductServingIndex.Row> rows) {
+        List<Long> ids = rows.stream().map(ProductServingIndex.Row::id).toList();
+        Map<Long, ProductApiResponse> found = new HashMap<>(productCache.getAllPresent(ids));
+        if (found.size() < ids.size()) {
+            List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+            for (ProductApiResponse r : productRepository.findApiResponsesByIds(missing)) {
+                found.put(r.id(), r);
+            }
         }
-        return LocalDateTime.parse(v.replace(" ", "T"));
+
+        List<ProductListResponse.ProductItem> items = new ArrayList<>(rows.size());
+        for (ProductServingIndex.Row row : rows) {
+            ProductApiResponse r = found.get(row.id());
+            if (r == null) {
+                continue; // 스냅샷 이후 삭제/이동된 상품
+            }
+            items.add(new ProductListResponse.ProductItem(
+                    row.id(),
+                    row.partnerId(),
+                    r.category1(),
+                    r.category2(),
+                    r.category3(),
+                    r.name(),
+                    row.status().name(),
+                    row.price(),
+                    r.imageUrl(),
+                    row.createdAt(),
+                    r.modifiedAt()
+            ));
+        }
+        return items;
     }
 
-    public ProductListResponse getProducts(int page, int limit, Long partnerId, ProductSortType sortType, String searchKeyword, ProductSearchType searchType) {
-        int safePage = Math.max(page, 0);
-        int safeLimit = Math.min(Math.max(limit, 1), 200); // limit 상한 (예: 200)
+    /**
+     * 변경 피드. since 이후 변경된 상품을 (change_xid, id) 순으로 내려주고 다음 워터마크를 함께 반환합니다.
+     * 따라잡은 경우(hasMore=false) 워터마크는 조회 스냅샷의 horizon 까지 전진하므로
+     * 그 뒤에 커밋되는 변경(진행 중이던 긴 임포트 포함)은 다음 요청에서 빠짐없이 내려갑니다.
+     *
+     * 읽기 전용 트랜잭션이 아닌 이유: replica 를 두면 읽기 전용 트랜잭션은 요청마다 다른 replica 로 갈 수 있습니다.
+     * 앞선 replica 의 horizon 까지 전진한 워터마크로 더 뒤처진 replica 를 읽으면, 그 replica 가 아직 재생하지 않은
+     * horizon 아래 트랜잭션은 나중에 재생돼도 워터마크 뒤에 놓여 영영 내려가지 않습니다.
+     * 그래서 horizon 과 행을 항상 같은 서버(primary)에서 읽습니다. (행을 쓰지 않으므로 xid 는 할당되지 않음)
+     */
+    @Transactional
+    public ProductChangesResponse getChanges(String since, int limit) {
+        int safeLimit = Math.min(Math.max(limit, 1), CHANGES_MAX_LIMIT);
+        ChangeWatermark after = (since == null || since.isBlank()) ? null : ChangeWatermark.decode(since);
 
-        Pageable pageable = PageRequest.of(safePage, safeLimit, toSort(sortType));
+        List<ProductChangeRow> rows = productRepository.findChanges(after, safeLimit + 1);
+        long horizon = rows.get(0).horizon();
 
-        boolean hasKeyword = searchKeyword != null && !searchKeyword.isBlank();
-        String keyword = hasKeyword ? searchKeyword.trim() : null;
+        List<ProductChangeRow> changed = rows.stream().filter(r -> r.item() != null).toList();
+        boolean hasMore = changed.size() > safeLimit;
+        List<ProductChangeRow> page = hasMore ? changed.subList(0, safeLimit) : changed;
 
-        Page<Product> result;
-        if (!hasKeyword) {
-            // 검색어 없음: partnerId 필터만 반영
-            if (partnerId == null) {
-                result = productRepository.findAll(pageable);
-            } else {
-                result = productRepository.findByPartnerId(partnerId, pageable);
-            }
+        ChangeWatermark next;
+        if (hasMore) {
+            ProductChangeRow last = page.get(page.size() - 1);
+            next = new ChangeWatermark(last.changeXid(), last.item().id());
         } else {
-            // 검색어 있음: searchType별로 분기 (현재는 NAME만 구현)
-            switch (searchType) {
-                case NAME -> {
-                    if (partnerId == null) {
-                        result = productRepository.findByNameContainingIgnoreCase(keyword, pageable);
-                    } else {
-                        result = productRepository.findByPartnerIdAndNameContainingIgnoreCase(partnerId, keyword, pageable);
-                    }
-                }
-                default -> throw new IllegalArgumentException("Unsupported searchType: " + searchType);
+            next = ChangeWatermark.upTo(horizon);
+            if (after != null && after.changeXid() > next.changeXid()) {
+                next = after; // 워터마크는 뒤로 가지 않음
             }
         }
 
-        List<ProductListResponse.ProductItem> items = result.getContent().stream()
-                .map(this::toItem)
-                .toList();
-
-        return new ProductListResponse(
-                items,
-                new ProductListResponse.PageMeta(
-                        safePage,
-                        safeLimit,
-                        result.getTotalElements(),
-                        result.getTotalPages(),
-                        result.hasNext()
-                )
+        return new ProductChangesResponse(
+                page.stream().map(ProductChangeRow::item).toList(),
+                next.encode(),
+                hasMore
         );
     }
 
-    private Sort toSort(ProductSortType sortType) {
-        return switch (sortType) {
-            case ID -> Sort.by(Sort.Direction.ASC, "id");
-            case ID_DESC -> Sort.by(Sort.Direction.DESC, "id");
-            case CREATED_AT -> Sort.by(Sort.Direction.DESC, "createdAt");
-            case PRICE_ASC -> Sort.by(Sort.Direction.ASC, "price");
-            case PRICE_DESC -> Sort.by(Sort.Direction.DESC, "price");
-        };
+    /**
+     * 캐시 hit 이면 트랜잭션/커넥션 없이 바로 반환합니다.
+     * miss 는 읽기 전용 트랜잭션이 아니므로 replica 를 두어도 primary 에서 채웁니다. (ReplicaDataSourceConfig 참고)
+     */
+    public ProductApiResponse getProduct(Long productId) {
+        return queryMetrics.timeGet(() -> productCache.get(productId, this::loadProduct));
     }
 
-    private ProductListResponse.ProductItem toItem(Product p) {
-        return new ProductListResponse.ProductItem(
-                p.getId(),
-                p.getPartnerId(),
-                p.getCategory1(),
-                p.getCategory2(),
-                p.getCategory3(),
-                p.getName(),
-                p.getStatus().name(),
-                p.getPrice(),
-                p.getImageUrl(),
-                p.getCreatedAt(),
-                p.getModifiedAt()
-        );
+    /**
+     * 조건부 GET 판단용 버전 조회.
+     * 캐시에 있으면 그 값의 (change_xid, modified_at) 을 쓰고, 없으면 두 컬럼만 읽습니다. (행 전체 적재/캐시 적재 없음)
+     */
+    public ProductVersion getProductVersion(Long productId) {
+        return queryMetrics.timeVersion(() -> {
+            ProductApiResponse cached = productCache.getIfPresent(productId);
+            if (cached != null) {
+                return new ProductVersion(cached.changeXid(), cached.modifiedAt());
+            }
+            return productRepository.findVersionById(productId)
+                    .orElseThrow(() -> new ProductNotFoundException(productId));
+        });
     }
 
-    @Transactional(readOnly = true)
-    public ProductApiResponse getProduct(Long productId) {
-        Product product = productRepository.findById(productId)
+    /**
+     * 엔티티를 거치지 않고 응답 레코드로 바로 조회 (캐시 miss 경로)
+     */
+    private ProductApiResponse loadProduct(Long productId) {
+        return productRepository.findApiResponseById(productId)
+                .orElseThrow(() -> new ProductNotFoundException(productId));
+    }
+
+    /**
+     * 여러 상품을 한 번에 조회합니다.
+     * 캐시 hit 은 그대로 쓰고, miss 만 모아 id = any(?) 쿼리 한 번으로 채웁니다. (채운 값은 캐시에 넣지 않음, ProductCache 참고)
+     */
+    public ProductBatchGetResponse getProductsByIds(List<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            throw new IllegalArgumentException("ids must not be empty.");
+        }
+        if (productIds.size() > BATCH_GET_MAX_IDS) {
+            throw new IllegalArgumentException("Too many ids. max=" + BATCH_GET_MAX_IDS);
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(productIds);
+        ids.remove(null);
+
+        Map<Long, ProductApiResponse> found = productCache.getAll(ids, missing -> {
+            Map<Long, ProductApiResponse> loaded = new HashMap<>(missing.size() * 2);
+            for (ProductApiResponse r : productRepository.findApiResponsesByIds(List.copyOf(missing))) {
+                loaded.put(r.id(), r);
+            }
+            return loaded;
+        });
+
+        List<ProductApiResponse> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            ProductApiResponse r = found.get(id);
+            if (r != null) {
+                items.add(r);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new ProductBatchGetResponse(items, missingIds);
+    }
+
+    @Transactional
+    public ProductApiResponse changeStatus(Long productId, ProductStatus status) {
+        ProductApiResponse updated = productRepository.updateStatus(productId, status, LocalDateTime.now())
                 .orElseThrow(() -> new ProductNotFoundException(productId));
 
-        return new ProductApiResponse(
-                product.getId(),
-                product.getName(),
-                product.getPrice(),
-                product.getImageUrl(),
-                product.getPartnerId(),
-                product.getCategory1(),
-                product.getCategory2(),
-                product.getCategory3(),
-                product.getCreatedAt(),
-                product.getModifiedAt()
+        productCache.evictAfterCommit(productId);
+        servingIndex.patchStatusAfterCommit(updated.partnerId(), productId, status);
+        return updated;
+    }
+
+    public ProductCacheStatsResponse getCacheStats() {
+        CacheStats stats = productCache.stats();
+        return new ProductCacheStatsResponse(
+                productCache.size(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                stats.loadFailureCount(),
+                stats.averageLoadPenalty() / 1_000_000.0
         );
     }
 }
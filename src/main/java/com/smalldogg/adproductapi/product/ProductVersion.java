@@ -0,0 +1,15 @@
+package com.smalldogg.adproductapi.product;
+
+import java.time.LocalDateTime;
+
+/**
+ * 조건부 GET 판단용 버전.
+ *
+ * @param changeXid  행을 마지막으로 쓴 트랜잭션 ID (strong ETag)
+ * @param modifiedAt 파트너가 보낸 수정 시각 (Last-Modified)
+ */
+public record ProductVersion(
+        long changeXid,
+        LocalDateTime modifiedAt
+) {
+}
@@ -0,0 +1,118 @@
+package com.smalldogg.adproductapi.product.bulk;
+
+import com.smalldogg.adproductapi.product.enums.BulkImportJobStatus;
+import com.smalldogg.adproductapi.product.enums.BulkImportMode;
+import com.smalldogg.adproductapi.product.response.BulkAddResponse;
+import com.smalldogg.adproductapi.product.response.BulkImportJobResponse;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 비동기 bulk-add job 한 건.
+ * 상태 전이: QUEUED → RUNNING → COMPLETED | FAILED | CANCELLED
+ */
+@Getter
+public class BulkImportJob {
+
+    private final String id;
+    private final BulkImportMode mode;
+    private final ImportProgress progress;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private volatile BulkImportJobStatus status = BulkImportJobStatus.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private volatile String error;
+
+    BulkImportJob(String id, BulkImportMode mode, long fileSize) {
+        this.id = id;
+        this.mode = mode;
+        this.progress = new ImportProgress(fileSize);
+    }
+
+    synchronized boolean start() {
+        if (status != BulkImportJobStatus.QUEUED) {
+            return false; // 대기 중 취소됨
+        }
+        this.status = BulkImportJobStatus.RUNNING;
+        this.startedAt = LocalDateTime.now();
+        this.startedNanos = System.nanoTime();
+        return true;
+    }
+
+    synchronized void finish() {
+        finishWith(progress.isCancelled() ? BulkImportJobStatus.CANCELLED : BulkImportJobStatus.COMPLETED);
+    }
+
+    synchronized void fail(Throwable t) {
+        this.error = t.getClass().getSimpleName() + ": " + t.getMessage();
+        finishWith(BulkImportJobStatus.FAILED);
+    }
+
+    synchronized void cancel() {
+        if (isFinished()) {
+            return;
+        }
+        progress.cancel();
+        if (status == BulkImportJobStatus.QUEUED) {
+            // 아직 워커가 잡지 않았다면 바로 종료 처리 (워커는 start() 에서 건너뛰고 임시 파일만 정리)
+            finishWith(BulkImportJobStatus.CANCELLED);
+        }
+        // RUNNING 이면 워커가 다음 행에서 취소를 감지하고 finish() 로 CANCELLED 처리
+    }
+
+    public boolean isFinished() {
+        return status == BulkImportJobStatus.COMPLETED
+                || status == BulkImportJobStatus.FAILED
+                || status == BulkImportJobStatus.CANCELLED;
+    }
+
+    private void finishWith(BulkImportJobStatus status) {
+        this.status = status;
+        this.finishedAt = LocalDateTime.now();
+        this.finishedNanos = System.nanoTime();
+    }
+
+    public BulkImportJobResponse toResponse() {
+        // 실행 중에도 최상위 skippedRows 와 result 가 같은 시점 값이 되도록 한 번만 만듦
+        BulkAddResponse result = progress.toResponse();
+        long elapsedNanos = startedNanos == 0 ? 0
+                : (isFinished() ? finishedNanos : System.nanoTime()) - startedNanos;
+        double elapsedSec = elapsedNanos / 1_000_000_000.0;
+
+        long parsed = progress.parsedRows();
+        double rowsPerSecond = elapsedSec > 0 ? parsed / elapsedSec : 0;
+
+        // 남은 바이트 / 현재 처리 속도(bytes/sec)
+        Long etaSeconds = null;
+        long bytesRead = progress.bytesRead();
+        if (status == BulkImportJobStatus.RUNNING && bytesRead > 0 && elapsedSec > 0) {
+            double bytesPerSecond = bytesRead / elapsedSec;
+            etaSeconds = (long) Math.ceil(Math.max(progress.totalBytes() - bytesRead, 0) / bytesPerSecond);
+        } else if (isFinished()) {
+            etaSeconds = 0L;
+        }
+
+        return new BulkImportJobResponse(
+                id,
+                status.name(),
+                mode != BulkImportMode.INSERT_ONLY,
+                mode.name(),
+                parsed,
+                progress.writtenRows(),
+                result.skippedRows(),
+                progress.bytesRead(),
+                progress.totalBytes(),
+                Math.round(rowsPerSecond),
+                etaSeconds,
+                submittedAt,
+                startedAt,
+                finishedAt,
+                error,
+                result
+        );
+    }
+}
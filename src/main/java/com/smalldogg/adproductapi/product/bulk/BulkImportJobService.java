@@ -0,0 +1,173 @@
+package com.smalldogg.adproductapi.product.bulk;
+
+import com.smalldogg.adproductapi.config.BulkImportJobNotFoundException;
+import com.smalldogg.adproductapi.config.BulkImportRejectedException;
+import com.smalldogg.adproductapi.config.ProductImportProperties;
+import com.smalldogg.adproductapi.product.entity.Product;
+import com.smalldogg.adproductapi.product.enums.BulkImportMode;
+import com.smalldogg.adproductapi.product.serving.ProductServingIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 비동기 bulk-add job 실행/조회/취소.
+ *
+ * - 업로드 파일은 요청이 끝나면 사라지므로 임시 파일로 옮긴 뒤 job ID 를 바로 반환합니다.
+ * - 워커 풀(maxConcurrentJobs) + 대기열(maxQueuedJobs)로 동시 임포트 수를 제한하고,
+ *   넘치면 429 로 거절합니다.
+ * - 청크마다 별도 트랜잭션으로 커밋하므로 중간 실패/취소 시 이전 청크는 반영된 상태로 남습니다.
+ * - serving index 는 job 이 끝날 때(성공/실패/취소) 한 번만 재적재를 예약합니다. (청크 커밋은 파트너 표시만)
+ * - parallelWriters > 1 이면 ParallelProductCsvImporter 로 여러 커넥션에 나눠 기록합니다.
+ * - spring.threads.virtual.enabled=true 이면 job 을 가상 스레드에서 실행합니다. (동시 실행 수 제한은 동일)
+ */
+@Slf4j
+@Service
+public class BulkImportJobService {
+
+    private final ProductCsvImporter productCsvImporter;
+    private final ParallelProductCsvImporter parallelProductCsvImporter;
+    private final ProductBulkWriter productBulkWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductImportProperties importProperties;
+    private final ProductServingIndex servingIndex;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, BulkImportJob> jobs = new ConcurrentHashMap<>();
+
+    public BulkImportJobService(ProductCsvImporter productCsvImporter,
+                                ParallelProductCsvImporter parallelProductCsvImporter,
+                                ProductBulkWriter productBulkWriter,
+                                TransactionTemplate transactionTemplate,
+                                ProductImportProperties importProperties,
+                                ProductImportMetrics importMetrics,
+                                ProductServingIndex servingIndex,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.productCsvImporter = productCsvImporter;
+        this.parallelProductCsvImporter = parallelProductCsvImporter;
+        this.productBulkWriter = productBulkWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.importProperties = importProperties;
+        this.servingIndex = servingIndex;
+
+        this.executor = new ThreadPoolExecutor(
+                importProperties.maxConcurrentJobs(),
+                importProperties.maxConcurrentJobs(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(importProperties.maxQueuedJobs()),
+                virtualThreads ? new VirtualThreadTaskExecutor("bulk-import-").getVirtualThreadFactory() : platformThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        importMetrics.bindExecutor(executor);
+    }
+
+    private static ThreadFactory platformThreadFactory() {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "bulk-import-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    public BulkImportJob submit(MultipartFile file, BulkImportMode mode) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("CSV file is empty.");
+        }
+        purgeExpiredJobs();
+
+        Path tempFile = Files.createTempFile("product-import-", ".csv");
+        try {
+            file.transferTo(tempFile);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        BulkImportJob job = new BulkImportJob(UUID.randomUUID().toString(), mode, Files.size(tempFile));
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, tempFile));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(tempFile);
+            throw new BulkImportRejectedException(importProperties.maxQueuedJobs());
+        }
+        return job;
+    }
+
+    public BulkImportJob get(String jobId) {
+        BulkImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new BulkImportJobNotFoundException(jobId);
+        }
+        return job;
+    }
+
+    public BulkImportJob cancel(String jobId) {
+        BulkImportJob job = get(jobId);
+        job.cancel();
+        return job;
+    }
+
+    private void run(BulkImportJob job, Path tempFile) {
+        try {
+            if (!job.start()) {
+                return;
+            }
+            BulkImportMode mode = job.getMode();
+            Function<Collection<Product>, BulkWriteResult> chunkWriter =
+                    chunk -> transactionTemplate.execute(status -> productBulkWriter.write(chunk, mode));
+            try (InputStream in = Files.newInputStream(tempFile)) {
+                if (importProperties.parallelWriters() > 1) {
+                    parallelProductCsvImporter.importCsv(in, job.getProgress(), chunkWriter);
+                } else {
+                    productCsvImporter.importCsv(in, job.getProgress(), chunkWriter);
+                }
+            }
+            job.finish();
+        } catch (Exception e) {
+            log.warn("Bulk import job failed. jobId={}", job.getId(), e);
+            job.fail(e);
+        } finally {
+            servingIndex.refreshAfterCommit();
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                log.warn("Failed to delete temp file. path={}", tempFile, e);
+            }
+        }
+    }
+
+    private void purgeExpiredJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minus(importProperties.jobRetention());
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(threshold));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobs.values().forEach(BulkImportJob::cancel);
+        executor.shutdown();
+    }
+}
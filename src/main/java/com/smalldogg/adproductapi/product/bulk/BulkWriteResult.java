@@ -0,0 +1,11 @@
+package com.smalldogg.adproductapi.product.bulk;
+
+/**
+ * 청크 한 번을 기록한 결과.
+ * skippedRows 는 INSERT_ONLY 일 때 이미 존재해서 건너뛴 행 수,
+ * unchangedRows 는 DELTA 일 때 저장된 행보다 최신이 아니거나 내용이 같아 쓰지 않은 행 수입니다.
+ */
+public record BulkWriteResult(long insertedRows, long updatedRows, long skippedRows, long unchangedRows) {
+
+    public static final BulkWriteResult EMPTY = new BulkWriteResult(0, 0, 0, 0);
+}
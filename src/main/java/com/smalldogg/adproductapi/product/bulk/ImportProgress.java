@@ -0,0 +1,106 @@
+package com.smalldogg.adproductapi.product.bulk;
+
+import com.smalldogg.adproductapi.product.response.BulkAddResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 임포트 한 건의 진행 상황.
+ * 워커 스레드가 갱신하고 상태 조회 API 가 동시에 읽으므로 카운터는 모두 원자적으로 다룹니다.
+ */
+public class ImportProgress {
+
+    /** 응답에 담는 행 오류 수 상한 (나머지는 skippedRows 로만 집계) */
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final long totalBytes;
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong totalLines = new AtomicLong();
+    private final AtomicLong parsedRows = new AtomicLong();
+    private final AtomicLong insertedRows = new AtomicLong();
+    private final AtomicLong updatedRows = new AtomicLong();
+    private final AtomicLong unchangedRows = new AtomicLong();
+    private final AtomicLong skippedRows = new AtomicLong();
+
+    private final List<BulkAddResponse.RowError> errors = new ArrayList<>();
+
+    private volatile boolean cancelled;
+
+    public ImportProgress(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    void addBytesRead(long n) {
+        bytesRead.addAndGet(n);
+    }
+
+    void addLine() {
+        totalLines.incrementAndGet();
+    }
+
+    void addParsed() {
+        parsedRows.incrementAndGet();
+    }
+
+    void addSkipped(long n) {
+        skippedRows.addAndGet(n);
+    }
+
+    void addRejected(long lineNumber, String reason) {
+        skippedRows.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BulkAddResponse.RowError(lineNumber, reason));
+            }
+        }
+    }
+
+    void addWritten(BulkWriteResult result) {
+        insertedRows.addAndGet(result.insertedRows());
+        updatedRows.addAndGet(result.updatedRows());
+        skippedRows.addAndGet(result.skippedRows());
+        unchangedRows.addAndGet(result.unchangedRows());
+    }
+
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long totalBytes() {
+        return totalBytes;
+    }
+
+    public long bytesRead() {
+        return bytesRead.get();
+    }
+
+    public long parsedRows() {
+        return parsedRows.get();
+    }
+
+    public long writtenRows() {
+        return insertedRows.get() + updatedRows.get();
+    }
+
+    public BulkAddResponse toResponse() {
+        List<BulkAddResponse.RowError> errorsSnapshot;
+        synchronized (errors) {
+            errorsSnapshot = List.copyOf(errors);
+        }
+        return new BulkAddResponse(
+                totalLines.get(),
+                insertedRows.get(),
+                updatedRows.get(),
+                unchangedRows.get(),
+                skippedRows.get(),
+                errorsSnapshot
+        );
+    }
+}
@@ -0,0 +1,422 @@
+package com.smalldogg.adproductapi.product.bulk;
+
+import com.smalldogg.adproductapi.config.ProductImportProperties;
+import com.smalldogg.adproductapi.product.bulk.ProductImportMetrics.Stage;
+import com.smalldogg.adproductapi.product.entity.Product;
+import com.smalldogg.adproductapi.product.response.BulkAddResponse;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 병렬 CSV 임포트 (비동기 job 전용, 청크마다 커밋).
+ *
+ * 1) 읽기: 업로드를 레코드 경계(따옴표 밖 줄바꿈)에 맞춘 블록(약 1MB)으로 자릅니다.
+ *    따옴표 안 줄바꿈이 있어 임의 위치에서 시작할 수 없으므로 경계 탐색만 순차로 하고 (바이트 스캔이라 저렴)
+ * 2) 파싱: 블록마다 fork-join 풀에서 병렬로 파싱하고, 행을 floorMod(id, writer 수) 로 나눠 둡니다.
+ * 3) 분배: 파싱 결과를 "파일 순서대로" 꺼내 writer 별 버퍼(LinkedHashMap)에 넣습니다.
+ * 4) 기록: writer 는 각자 스레드/커넥션/트랜잭션으로 청크를 기록합니다.
+ *
+ * 같은 id 는 항상 같은 writer 로 가고 writer 는 파일 순서대로 청크를 기록하므로
+ * 같은 id 의 upsert 가 서로 다른 커넥션에서 경합하지 않고, 마지막 행 우선 규칙도 단일 스레드 임포트와 같습니다.
+ */
+@Component
+public class ParallelProductCsvImporter {
+
+    private static final int BLOCK_SIZE = 1024 * 1024;
+
+    /** writer 마다 대기시킬 수 있는 청크 수 (넘치면 읽기/분배가 기다림) */
+    private static final int WRITER_QUEUE_CAPACITY = 2;
+
+    /** writer 종료 신호 */
+    private static final List<Product> END = List.of();
+
+    private final ProductCsvImporter rowParser;
+    private final ProductImportProperties importProperties;
+    private final ProductImportMetrics importMetrics;
+    private final ForkJoinPool parsePool;
+
+    public ParallelProductCsvImporter(ProductCsvImporter rowParser,
+                                      ProductImportProperties importProperties,
+                                      ProductImportMetrics importMetrics) {
+        this.rowParser = rowParser;
+        this.importProperties = importProperties;
+        this.importMetrics = importMetrics;
+
+        int parallelism = importProperties.parseParallelism() > 0
+                ? importProperties.parseParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.parsePool = new ForkJoinPool(parallelism);
+    }
+
+    public BulkAddResponse importCsv(InputStream in,
+                                     ImportProgress progress,
+                                     Function<Collection<Product>, BulkWriteResult> chunkWriter) throws IOException {
+        final long startedAt = System.nanoTime();
+        final int writerCount = importProperties.parallelWriters();
+        final int maxBlocksInFlight = parsePool.getParallelism() * 2;
+
+        Writer[] writers = new Writer[writerCount];
+        for (int i = 0; i < writerCount; i++) {
+            writers[i] = new Writer(i, progress, chunkWriter);
+            writers[i].start();
+        }
+        Dispatcher dispatcher = new Dispatcher(writers);
+
+        try {
+            BlockReader reader = new BlockReader(in, progress);
+            Deque<CompletableFuture<ParsedBlock>> inFlight = new ArrayDeque<>();
+
+            Block block;
+            boolean first = true;
+            while ((block = reader.next()) != null) {
+                if (progress.isCancelled() || dispatcher.failed()) {
+                    break;
+                }
+                Block b = block;
+                boolean header = first;
+                first = false;
+                inFlight.add(CompletableFuture.supplyAsync(() -> parse(b, header, writerCount, progress), parsePool));
+
+                while (inFlight.size() >= maxBlocksInFlight) {
+                    dispatcher.dispatch(join(inFlight.poll()));
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                dispatcher.dispatch(join(inFlight.poll()));
+            }
+
+            if (!progress.isCancelled()) {
+                dispatcher.flush();
+            }
+        } finally {
+            for (Writer w : writers) {
+                w.finish();
+            }
+            for (Writer w : writers) {
+                w.awaitTermination();
+            }
+        }
+        dispatcher.rethrowWriterFailure();
+
+        importMetrics.recordFile(progress.writtenRows(), System.nanoTime() - startedAt);
+        return progress.toResponse();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        parsePool.shutdown();
+    }
+
+    private ParsedBlock parse(Block block, boolean header, int writerCount, ImportProgress progress) {
+        long parseStartedAt = System.nanoTime();
+
+        @SuppressWarnings("unchecked")
+        List<Product>[] partitions = new List[writerCount];
+        for (int i = 0; i < writerCount; i++) {
+            partitions[i] = new ArrayList<>();
+        }
+
+        try {
+            ProductCsvParser parser = new ProductCsvParser(
+                    new ByteArrayInputStream(block.data(), 0, block.length()), 64 * 1024, block.firstLineNumber());
+
+            if (header) {
+                if (!parser.next()) {
+                    return new ParsedBlock(partitions);
+                }
+                ProductCsvImporter.checkHeader(parser);
+            }
+            while (parser.next()) {
+                if (progress.isCancelled()) {
+                    break;
+                }
+                Product product = rowParser.toProduct(parser, progress);
+                if (product != null) {
+                    partitions[Math.floorMod(product.getId(), writerCount)].add(product);
+                }
+            }
+        } catch (IOException e) {
+            // ByteArrayInputStream 은 IOException 을 던지지 않음
+            throw new IllegalStateException(e);
+        }
+
+        importMetrics.recordStage(Stage.PARSE, System.nanoTime() - parseStartedAt);
+        return new ParsedBlock(partitions);
+    }
+
+    private static ParsedBlock join(CompletableFuture<ParsedBlock> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /* ======================== 읽기 ======================== */
+
+    /**
+     * @param firstLineNumber 블록 첫 레코드의 원본 파일 기준 줄 번호
+     */
+    private record Block(byte[] data, int length, long firstLineNumber) {
+    }
+
+    /**
+     * 스트림을 레코드 경계에 맞춘 블록으로 자릅니다.
+     * 따옴표 상태를 추적해 따옴표 밖 줄바꿈에서만 자릅니다.
+     */
+    private static final class BlockReader {
+
+        private final InputStream in;
+        private final ImportProgress progress;
+
+        private byte[] buf = new byte[BLOCK_SIZE * 2];
+        private int len;        // buf 에 채워진 바이트 수
+        private int scanned;    // 경계 탐색을 마친 위치
+        private int boundary;   // 마지막 레코드 경계 (다음 블록 시작 위치), 없으면 0
+        private boolean inQuotes;
+        private boolean afterQuote;
+        private boolean fieldStart = true;
+        private boolean eof;
+        private long nextLineNumber = 1;
+
+        private BlockReader(InputStream in, ImportProgress progress) {
+            this.in = in;
+            this.progress = progress;
+        }
+
+        /**
+         * @return 더 읽을 바이트가 없으면 null
+         */
+        Block next() throws IOException {
+            while (!eof && (boundary == 0 || len < BLOCK_SIZE)) {
+                if (len == buf.length) {
+                    if (boundary > 0) {
+                        break;
+                    }
+                    // 레코드 하나가 버퍼보다 큼
+                    buf = Arrays.copyOf(buf, buf.length * 2);
+                }
+                int n = in.read(buf, len, buf.length - len);
+                if (n < 0) {
+                    eof = true;
+                    break;
+                }
+                progress.addBytesRead(n);
+                len += n;
+                scan();
+            }
+
+            // EOF 면 마지막 줄바꿈 없는 레코드까지 포함
+            int end = eof ? len : boundary;
+            if (end == 0) {
+                return null;
+            }
+
+            Block block = new Block(Arrays.copyOf(buf, end), end, nextLineNumber);
+            for (int i = 0; i < end; i++) {
+                if (buf[i] == '\n') nextLineNumber++;
+            }
+
+            // 경계 뒤 바이트를 앞으로 당김. 이미 스캔한 구간이므로 따옴표 상태는 그대로 이어짐
+            System.arraycopy(buf, end, buf, 0, len - end);
+            len -= end;
+            scanned -= end;
+            boundary = 0;
+            return block;
+        }
+
+        /**
+         * ProductCsvParser.next() 와 같은 규칙으로 따옴표 상태만 추적합니다.
+         * (필드 시작의 " 만 따옴표 필드로 보고, 따옴표 필드 안의 "" 는 이스케이프)
+         */
+        private void scan() {
+            for (int i = scanned; i < len; i++) {
+                byte b = buf[i];
+                if (inQuotes) {
+                    if (!afterQuote) {
+                        afterQuote = b == '"';
+                        continue;
+                    }
+                    afterQuote = false;
+                    if (b == '"') {
+                        continue;
+                    }
+                    inQuotes = false;
+                }
+
+                if (b == ',') {
+                    fieldStart = true;
+                } else if (b == '\n') {
+                    fieldStart = true;
+                    boundary = i + 1;
+                } else if (b == '"' && fieldStart) {
+                    inQuotes = true;
+                    fieldStart = false;
+                } else if (b != '\r') {
+                    fieldStart = false;
+                }
+            }
+            scanned = len;
+        }
+    }
+
+    /* ======================== 분배 / 기록 ======================== */
+
+    private record ParsedBlock(List<Product>[] partitions) {
+    }
+
+    /**
+     * 파싱 결과를 writer 별 버퍼에 모아 chunkSize 마다 넘깁니다. (읽기 스레드에서만 사용)
+     */
+    private final class Dispatcher {
+
+        private final Writer[] writers;
+        private final List<Map<Long, Product>> buffers = new ArrayList<>();
+        private final int chunkSize = importProperties.chunkSize();
+
+        private Dispatcher(Writer[] writers) {
+            this.writers = writers;
+            for (int i = 0; i < writers.length; i++) {
+                buffers.add(new LinkedHashMap<>(chunkSize * 2));
+            }
+        }
+
+        void dispatch(ParsedBlock parsed) {
+            for (int i = 0; i < writers.length; i++) {
+                Map<Long, Product> buffer = buffers.get(i);
+                for (Product product : parsed.partitions()[i]) {
+                    // 같은 청크 내 중복 id는 마지막 행으로 덮어쓰기
+                    buffer.put(product.getId(), product);
+                    if (buffer.size() >= chunkSize) {
+                        handOff(i);
+                    }
+                }
+            }
+        }
+
+        void flush() {
+            for (int i = 0; i < writers.length; i++) {
+                if (!buffers.get(i).isEmpty()) {
+                    handOff(i);
+                }
+            }
+        }
+
+        private void handOff(int writer) {
+            Map<Long, Product> buffer = buffers.get(writer);
+            writers[writer].submit(new ArrayList<>(buffer.values()));
+            buffer.clear();
+        }
+
+        boolean failed() {
+            for (Writer w : writers) {
+                if (w.failure != null) return true;
+            }
+            return false;
+        }
+
+        void rethrowWriterFailure() {
+            for (Writer w : writers) {
+                if (w.failure instanceof RuntimeException e) throw e;
+                if (w.failure instanceof Error e) throw e;
+                if (w.failure != null) throw new IllegalStateException(w.failure);
+            }
+        }
+    }
+
+    /**
+     * writer 하나 = 스레드 하나 = (청크마다) 트랜잭션 하나.
+     * chunkWriter 가 TransactionTemplate 으로 감싸져 있으므로 writer 스레드마다 별도 커넥션을 사용합니다.
+     */
+    private final class Writer implements Runnable {
+
+        private final int index;
+        private final ImportProgress progress;
+        private final Function<Collection<Product>, BulkWriteResult> chunkWriter;
+        private final BlockingQueue<List<Product>> queue = new ArrayBlockingQueue<>(WRITER_QUEUE_CAPACITY);
+        private final Thread thread;
+
+        private volatile Throwable failure;
+
+        private Writer(int index, ImportProgress progress, Function<Collection<Product>, BulkWriteResult> chunkWriter) {
+            this.index = index;
+            this.progress = progress;
+            this.chunkWriter = chunkWriter;
+            this.thread = new Thread(this, "bulk-import-writer-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        /**
+         * writer 가 실패했으면 청크를 버리고 바로 반환합니다. (읽기 스레드가 failed() 로 중단)
+         */
+        void submit(List<Product> chunk) {
+            try {
+                while (failure == null && !queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                    // writer 가 밀려 있으면 기다림 (읽기/파싱 속도를 기록 속도에 맞춤)
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while handing off chunk to writer " + index, e);
+            }
+        }
+
+        void finish() {
+            submit(END);
+        }
+
+        void awaitTermination() {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for writer " + index, e);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    List<Product> chunk = queue.take();
+                    if (chunk == END) {
+                        return;
+                    }
+                    if (progress.isCancelled()) {
+                        continue;
+                    }
+                    BulkWriteResult result = chunkWriter.apply(chunk);
+                    progress.addWritten(result);
+                    importMetrics.recordWritten(result);
+                }
+            } catch (Throwable e) {
+                failure = e;
+            }
+        }
+    }
+}
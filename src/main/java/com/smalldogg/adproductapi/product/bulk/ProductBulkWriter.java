@@ -0,0 +1,475 @@
+package com.smalldogg.adproductapi.product.bulk;
+
+import com.smalldogg.adproductapi.product.bulk.ProductImportMetrics.Stage;
+import com.smalldogg.adproductapi.product.cache.ProductCache;
+import com.smalldogg.adproductapi.product.entity.Product;
+import com.smalldogg.adproductapi.product.enums.BulkImportMode;
+import com.smalldogg.adproductapi.product.serving.ProductServingIndex;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * CSV 임포트 청크를 PostgreSQL COPY + set-based UPSERT 로 기록합니다. (반영 방식은 BulkImportMode)
+ *
+ * 1) 세션 단위 임시 테이블(product_import_stage)을 비우고
+ * 2) 청크 전체를 COPY 로 한 번에 밀어 넣은 뒤
+ * 3) (DELTA) 쓸 필요가 없는 행을 임시 테이블에서 지우고
+ * 4) 남은 id 를 product_id 등록부에 등록하거나 잠그고 (V009)
+ * 5) 파트너가 바뀐 id 의 이전 행을 지우고 (PK 가 (id, partner_id) 인 파티션 테이블, V008)
+ * 6) INSERT ... SELECT ... ON CONFLICT (id, partner_id) 한 문장으로 반영합니다.
+ *
+ * 파티션 테이블은 id 만으로 유일성을 걸 수 없으므로 4) 의 등록부 PK 가 id 단위 잠금입니다.
+ * 같은 id 를 쓰는 다른 트랜잭션은 4) 에서 앞 트랜잭션이 끝날 때까지 기다리고,
+ * READ COMMITTED 라 5), 6) 은 문장마다 새 스냅샷으로 앞 트랜잭션이 커밋한 행을 보고 판단합니다.
+ * (청크 안에서는 id 순으로 잠그지만, 겹치는 id 를 다른 순서의 청크로 쓰는 두 트랜잭션은 교착으로 한쪽이 실패할 수 있음)
+ *
+ * 등록부 잠금은 트랜잭션이 끝날 때 풀립니다.
+ * - 비동기 job 은 청크마다 커밋하므로 잠금을 청크 하나 동안만 잡습니다.
+ * - 동기 bulk-add 는 파일 전체가 한 트랜잭션이라 앞 청크의 id 잠금을 파일 끝까지 잡습니다.
+ *   그 id 를 쓰는 비동기 job 청크는 동기 임포트가 끝날 때까지 기다리고, 서로 다른 순서로 잠그게 되면 교착으로 한쪽이 실패합니다.
+ *   동기 임포트끼리는 청크 경계를 넘는 교착이 생기지 않도록 tryLockSyncImport 로 한 번에 하나만 실행합니다.
+ *   (큰 파일이나 다른 임포트와 겹치는 파일은 비동기 job 으로 보내야 함)
+ *
+ * JPA saveAll 은 id 를 직접 채우는 엔티티마다 merge(SELECT + INSERT/UPDATE)를 수행하므로
+ * 행 단위 왕복이 생기지만, 이 경로는 청크당 왕복이 상수 개입니다.
+ * 호출 측 트랜잭션의 커넥션을 그대로 사용하므로 반드시 트랜잭션 안에서 호출해야 합니다.
+ */
+@RequiredArgsConstructor
+@Component
+public class ProductBulkWriter {
+
+    static final String STAGE_TABLE = "product_import_stage";
+
+    static final String COLUMNS =
+            "id, partner_id, category1, category2, category3, name, status, price, image_url, created_at, modified_at";
+
+    /**
+     * product 테이블 구조가 바뀌어도 커넥션 풀에 남아있는 임시 테이블과 어긋나지 않도록
+     * LIKE product 대신 컬럼을 명시합니다. (커밋 후에도 세션 동안 유지, 청크마다 TRUNCATE)
+     */
+    private static final String CREATE_STAGE_SQL = """
+            create temp table if not exists product_import_stage (
+                id          bigint,
+                partner_id  bigint,
+                category1   integer,
+                category2   integer,
+                category3   integer,
+                name        varchar(200),
+                status      varchar(30),
+                price       bigint,
+                image_url   varchar(500),
+                created_at  timestamp,
+                modified_at timestamp
+            )
+            """;
+
+    private static final String TRUNCATE_STAGE_SQL = "truncate " + STAGE_TABLE;
+
+    private static final String ANALYZE_STAGE_SQL = "analyze " + STAGE_TABLE;
+
+    private static final String COPY_SQL =
+            "copy " + STAGE_TABLE + " (" + COLUMNS + ") from stdin with (format csv)";
+
+    /**
+     * DELTA: 저장된 행보다 modified_at 이 최신이 아니거나, 같은 파트너에 내용까지 같은 행은 임시 테이블에서 지웁니다.
+     *
+     * 이 행들은 unchangedRows 라 product 와 등록부 어디에도 쓰지 않아야 합니다.
+     * 등록부 잠금(CLAIM_IDS_SQL)도 행마다 xmax 를 기록하고 WAL 을 남기므로, 잠그기 전에 걸러 실제로 쓸 행만 잠급니다.
+     * 잠그기 전의 판단이라 남은 행은 DELTA_UPSERT_SQL / DELETE_MOVED_IF_NEWER_SQL 이 잠금 뒤의 새 스냅샷으로 다시 확인합니다.
+     * (임시 테이블은 WAL 을 남기지 않음)
+     */
+    private static final String PRUNE_UNCHANGED_SQL = """
+            delete from product_import_stage s
+            using product cur
+            where cur.id = s.id
+              and (s.modified_at <= cur.modified_at
+                   or (cur.partner_id = s.partner_id
+                       and (s.category1, s.category2, s.category3, s.name, s.status, s.price, s.image_url)
+                           is not distinct from
+                           (cur.category1, cur.category2, cur.category3, cur.name, cur.status, cur.price, cur.image_url)))
+            """;
+
+    /**
+     * 처음 보는 id 는 청크의 partner_id 로 등록하고, 이미 있는 id 는 등록부 행만 잠급니다. (UPSERT / DELTA)
+     * DO UPDATE 는 WHERE 가 거짓이어도 충돌 행을 잠그므로 값은 바꾸지 않고 잠금만 겁니다.
+     * 파트너 이동 여부는 모드마다 조건이 달라 실제로 옮긴 뒤(DELETE_MOVED_*)에 등록부를 갱신합니다.
+     */
+    private static final String CLAIM_IDS_SQL = """
+            insert into product_id as r (id, partner_id)
+            select id, partner_id from product_import_stage
+            order by id
+            on conflict (id) do update set partner_id = r.partner_id
+            where false
+            """;
+
+    /**
+     * 파트너가 바뀐 id 는 이전 파트너 파티션에 남은 행을 먼저 지웁니다. (V008)
+     * PK 가 (id, partner_id) 라 ON CONFLICT 로는 다른 파티션의 같은 id 를 찾지 못하고,
+     * ON CONFLICT DO UPDATE 로 파티션 키를 바꿔 행을 옮길 수도 없기 때문입니다.
+     * 옮긴 id 는 등록부의 partner_id 도 새 파트너로 바꾸고, 옮긴 행마다 이전 파트너를 반환합니다.
+     */
+    private static final String DELETE_MOVED_SQL = """
+            with moved as (
+                delete from product p
+                using product_import_stage s
+                where p.id = s.id
+                  and p.partner_id <> s.partner_id
+                returning p.id, p.partner_id
+            ), reowned as (
+                update product_id r
+                set partner_id = s.partner_id
+                from moved m
+                join product_import_stage s on s.id = m.id
+                where r.id = m.id
+            )
+            select partner_id from moved
+            """;
+
+    /**
+     * DELTA 는 이전 파트너 행보다 최신일 때만 옮깁니다.
+     */
+    private static final String DELETE_MOVED_IF_NEWER_SQL = """
+            with moved as (
+                delete from product p
+                using product_import_stage s
+                where p.id = s.id
+                  and p.partner_id <> s.partner_id
+                  and s.modified_at > p.modified_at
+                returning p.id, p.partner_id
+            ), reowned as (
+                update product_id r
+                set partner_id = s.partner_id
+                from moved m
+                join product_import_stage s on s.id = m.id
+                where r.id = m.id
+            )
+            select partner_id from moved
+            """;
+
+    /**
+     * xmax = 0 이면 이번 문장에서 새로 INSERT 된 행, 아니면 기존 행을 UPDATE 한 것입니다.
+     * created_at 은 엔티티와 동일하게 갱신하지 않습니다(updatable = false).
+     * partner_id 는 충돌 키(파티션 키)이므로 갱신 대상이 아닙니다.
+     */
+    private static final String UPSERT_SQL = """
+            with upserted as (
+                insert into product as p (%s)
+                select %s from product_import_stage
+                order by id
+                on conflict (id, partner_id) do update set
+                    category1   = excluded.category1,
+                    category2   = excluded.category2,
+                    category3   = excluded.category3,
+                    name        = excluded.name,
+                    status      = excluded.status,
+                    price       = excluded.price,
+                    image_url   = excluded.image_url,
+                    modified_at = excluded.modified_at
+                returning (xmax = 0) as inserted
+            )
+            select count(*) filter (where inserted)     as inserted_rows,
+                   count(*) filter (where not inserted) as updated_rows
+            from upserted
+            """.formatted(COLUMNS, COLUMNS);
+
+    /**
+     * upsert=false 인 경우 이미 존재하는 id 는 건드리지 않고 skip 으로 집계합니다.
+     * 다른 파트너 파티션에 같은 id 가 있어도 skip 입니다.
+     * 등록부에 새로 등록된 id 만 INSERT 하므로, 다른 트랜잭션이 등록 중인 id 는 그 트랜잭션이 끝날 때까지 기다린 뒤 skip 됩니다.
+     */
+    private static final String INSERT_ONLY_SQL = """
+            with claimed as (
+                insert into product_id (id, partner_id)
+                select id, partner_id from product_import_stage
+                order by id
+                on conflict (id) do nothing
+                returning id
+            ), inserted as (
+                insert into product (%s)
+                select %s from product_import_stage s
+                join claimed c on c.id = s.id
+                order by s.id
+                on conflict (id, partner_id) do nothing
+                returning id
+            )
+            select count(*) as inserted_rows, 0 as updated_rows
+            from inserted
+            """.formatted(COLUMNS, prefixed("s", COLUMNS));
+
+    /**
+     * DELTA: 저장된 행보다 modified_at 이 최신이고 내용이 다른 행만 INSERT ... ON CONFLICT 에 넘깁니다.
+     *
+     * ON CONFLICT DO UPDATE ... WHERE 로만 거르면 조건이 거짓인 행도 잠금(xmax 기록)이 걸려
+     * 힙 페이지와 WAL 이 더럽혀지므로, 바뀌지 않은 행은 product 를 PK 로 읽기만 하고 쓰기 문장에서 빠지게 합니다.
+     * (대부분은 PRUNE_UNCHANGED_SQL 에서 이미 빠지고, 여기서는 등록부 잠금을 기다리는 동안 다른 트랜잭션이 쓴 행을 다시 거름)
+     * DO UPDATE 의 WHERE 는 조회 이후 다른 트랜잭션이 더 최신 값을 쓴 경우를 위한 재확인입니다.
+     * 다른 파트너 파티션에 같은 id 가 남아 있으면(더 최신이 아니라 옮기지 않은 행) unchanged 입니다.
+     * 캐시 무효화 / serving index 표시 대상만 추리도록 반영된 id 와 partner_id 를 그대로 반환합니다.
+     */
+    private static final String DELTA_UPSERT_SQL = """
+            insert into product as p (%s)
+            select %s
+            from product_import_stage s
+            left join product cur on cur.id = s.id
+            where cur.id is null
+               or (cur.partner_id = s.partner_id
+                   and s.modified_at > cur.modified_at
+                   and (s.category1, s.category2, s.category3, s.name, s.status, s.price, s.image_url)
+                       is distinct from
+                       (cur.category1, cur.category2, cur.category3, cur.name, cur.status, cur.price, cur.image_url))
+            order by s.id
+            on conflict (id, partner_id) do update set
+                category1   = excluded.category1,
+                category2   = excluded.category2,
+                category3   = excluded.category3,
+                name        = excluded.name,
+                status      = excluded.status,
+                price       = excluded.price,
+                image_url   = excluded.image_url,
+                modified_at = excluded.modified_at
+            where excluded.modified_at > p.modified_at
+            returning p.id, (xmax = 0) as inserted, p.partner_id
+            """.formatted(COLUMNS, prefixed("s", COLUMNS));
+
+    /**
+     * 동기 bulk-add 를 서버 전체(인스턴스 간 포함)에서 한 번에 하나만 실행하기 위한 트랜잭션 단위 advisory lock.
+     * 기다리지 않고 바로 실패하므로 요청 스레드가 다른 파일이 끝날 때까지 묶이지 않습니다.
+     */
+    private static final String TRY_LOCK_SYNC_IMPORT_SQL = "select pg_try_advisory_xact_lock(hashtext('product_bulk_add_sync'))";
+
+    /** 트랜잭션당 커밋 타이머를 한 번만 등록하기 위한 리소스 키 */
+    private static final Object COMMIT_TIMER_KEY = new Object();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductCache productCache;
+    private final ProductImportMetrics importMetrics;
+    private final ProductServingIndex servingIndex;
+
+    /**
+     * 현재 트랜잭션이 끝날 때까지 동기 bulk-add 잠금을 잡습니다. 다른 동기 bulk-add 가 잡고 있으면 false.
+     */
+    public boolean tryLockSyncImport() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SYNC_IMPORT_SQL, Boolean.class));
+    }
+
+    /**
+     * @param products 같은 청크 안에서 id 가 중복되지 않아야 합니다.
+     *                 (ON CONFLICT DO UPDATE 는 한 문장에서 같은 행을 두 번 갱신할 수 없음)
+     */
+    public BulkWriteResult write(Collection<Product> products, BulkImportMode mode) {
+        if (products.isEmpty()) {
+            return BulkWriteResult.EMPTY;
+        }
+
+        timeCommit();
+
+        return jdbcTemplate.execute((Connection con) -> {
+            long copyStartedAt = System.nanoTime();
+            try (Statement st = con.createStatement()) {
+                st.execute(CREATE_STAGE_SQL);
+                st.execute(TRUNCATE_STAGE_SQL);
+            }
+
+            copyToStage(con, products);
+            try (Statement st = con.createStatement()) {
+                // 통계가 없는 임시 테이블이면 planner 가 product 전체를 hash join 할 수 있으므로
+                // 청크 크기를 알려 id 탐색(nested loop)으로 조인하게 합니다. (이동 행 삭제, 존재 확인, DELTA 비교)
+                st.execute(ANALYZE_STAGE_SQL);
+            }
+            importMetrics.recordStage(Stage.COPY, System.nanoTime() - copyStartedAt);
+
+            long mergeStartedAt = System.nanoTime();
+            try {
+                if (mode == BulkImportMode.DELTA) {
+                    return writeDelta(con, products.size());
+                }
+                if (mode == BulkImportMode.UPSERT) {
+                    claimIds(con); // INSERT_ONLY 는 INSERT_ONLY_SQL 안에서 등록
+                }
+                List<Long> movedFrom = mode == BulkImportMode.UPSERT ? deleteMoved(con, DELETE_MOVED_SQL) : List.of();
+                long moved = movedFrom.size();
+                // 단건 조회 캐시에 이전 가격/상태가 남지 않도록 청크의 id 를 커밋 직후 무효화
+                productCache.evictAfterCommit(products.stream().map(Product::getId).toList());
+                // serving index 는 청크가 닿은 파트너(옮기기 전 파트너 포함)만 낡음으로 표시하고, 재적재는 임포트가 끝날 때 한 번
+                Set<Long> partners = new HashSet<>(movedFrom);
+                products.forEach(p -> partners.add(p.getPartnerId()));
+                servingIndex.markStaleAfterCommit(partners);
+                try (Statement st = con.createStatement();
+                     ResultSet rs = st.executeQuery(mode == BulkImportMode.UPSERT ? UPSERT_SQL : INSERT_ONLY_SQL)) {
+                    rs.next();
+                    // 파트너를 옮긴 행은 새 파티션에 INSERT 되지만 결과로는 UPDATE 로 집계
+                    long inserted = rs.getLong("inserted_rows") - moved;
+                    long updated = rs.getLong("updated_rows") + moved;
+                    long skipped = products.size() - inserted - updated;
+                    return new BulkWriteResult(inserted, updated, skipped, 0);
+                }
+            } finally {
+                importMetrics.recordStage(Stage.MERGE, System.nanoTime() - mergeStartedAt);
+            }
+        });
+    }
+
+    /**
+     * 쓸 행만 남겨 그 id 만 등록부에서 잠그고, 반영된 행만 돌려받아 집계하고 그 id 만 캐시에서 무효화합니다. (나머지는 unchanged)
+     */
+    private BulkWriteResult writeDelta(Connection con, int chunkSize) throws SQLException {
+        int pruned;
+        try (Statement st = con.createStatement()) {
+            pruned = st.executeUpdate(PRUNE_UNCHANGED_SQL);
+        }
+        if (pruned == chunkSize) {
+            return new BulkWriteResult(0, 0, 0, chunkSize);
+        }
+        claimIds(con);
+
+        List<Long> writtenIds = new ArrayList<>();
+        long inserted = 0;
+        List<Long> movedFrom = deleteMoved(con, DELETE_MOVED_IF_NEWER_SQL);
+        Set<Long> partners = new HashSet<>(movedFrom);
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(DELTA_UPSERT_SQL)) {
+            while (rs.next()) {
+                writtenIds.add(rs.getLong(1));
+                if (rs.getBoolean(2)) {
+                    inserted++;
+                }
+                partners.add(rs.getLong(3));
+            }
+        }
+        if (!writtenIds.isEmpty()) {
+            productCache.evictAfterCommit(writtenIds);
+            servingIndex.markStaleAfterCommit(partners);
+        }
+        inserted -= movedFrom.size();
+        long updated = writtenIds.size() - inserted;
+        return new BulkWriteResult(inserted, updated, 0, chunkSize - writtenIds.size());
+    }
+
+    private static void claimIds(Connection con) throws SQLException {
+        try (Statement st = con.createStatement()) {
+            st.executeUpdate(CLAIM_IDS_SQL);
+        }
+    }
+
+    /**
+     * @return 옮긴 행의 이전 partner_id (행마다 하나씩이므로 크기가 옮긴 행 수)
+     */
+    private static List<Long> deleteMoved(Connection con, String sql) throws SQLException {
+        List<Long> movedFrom = new ArrayList<>();
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) {
+                movedFrom.add(rs.getLong(1));
+            }
+        }
+        return movedFrom;
+    }
+
+    /**
+     * beforeCommit ~ 커밋 완료까지를 commit 단계로 기록합니다. (JPA flush 포함)
+     * 동기 모드는 파일 전체가 한 트랜잭션이므로 청크마다가 아니라 트랜잭션당 한 번만 등록합니다.
+     */
+    private void timeCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(COMMIT_TIMER_KEY)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(COMMIT_TIMER_KEY, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commitStartedAt;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStartedAt = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(COMMIT_TIMER_KEY);
+                if (status == STATUS_COMMITTED && commitStartedAt != 0) {
+                    importMetrics.recordStage(Stage.COMMIT, System.nanoTime() - commitStartedAt);
+                }
+            }
+        });
+    }
+
+    private static String prefixed(String alias, String columns) {
+        return Arrays.stream(columns.split(","))
+                .map(c -> alias + "." + c.trim())
+                .collect(Collectors.joining(", "));
+    }
+
+    private void copyToStage(Connection con, Collection<Product> products) throws SQLException {
+        CopyManager copyManager = con.unwrap(PGConnection.class).getCopyAPI();
+
+        StringBuilder sb = new StringBuilder(products.size() * 160);
+        for (Product p : products) {
+            appendRow(sb, p);
+        }
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        CopyIn copyIn = copyManager.copyIn(COPY_SQL);
+        try {
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void appendRow(StringBuilder sb, Product p) {
+        sb.append(p.getId()).append(',')
+                .append(p.getPartnerId()).append(',')
+                .append(p.getCategory1()).append(',')
+                .append(p.getCategory2()).append(',')
+                .append(p.getCategory3()).append(',');
+        appendQuoted(sb, p.getName());
+        sb.append(',')
+                .append(p.getStatus().name()).append(',')
+                .append(p.getPrice()).append(',');
+        if (p.getImageUrl() != null) {
+            appendQuoted(sb, p.getImageUrl());
+        }
+        sb.append(',')
+                .append(p.getCreatedAt()).append(',')
+                .append(p.getModifiedAt())
+                .append('\n');
+    }
+
+    /**
+     * COPY CSV 포맷: 따옴표로 감싸고 내부 따옴표는 두 번 씁니다.
+     * (따옴표 없는 빈 값은 NULL 로 해석되므로 image_url 이 null 일 때만 비워둡니다)
+     */
+    private static void appendQuoted(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                sb.append('"');
+            }
+            sb.append(c);
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,206 @@
+package com.smalldogg.adproductapi.product.bulk;
+
+import com.smalldogg.adproductapi.config.ProductImportProperties;
+import com.smalldogg.adproductapi.product.bulk.ProductImportMetrics.SkipReason;
+import com.smalldogg.adproductapi.product.bulk.ProductImportMetrics.Stage;
+import com.smalldogg.adproductapi.product.entity.Product;
+import com.smalldogg.adproductapi.product.entity.ProductStatus;
+import com.smalldogg.adproductapi.product.response.BulkAddResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * CSV 파싱(ProductCsvParser) + 청크 분할 단계.
+ * 잘못된 행은 건너뛰고 줄 번호와 사유를 ImportProgress 에 남깁니다.
+ * 청크마다 파싱 시간(청크 기록 시간 제외)을 ProductImportMetrics 에 기록합니다.
+ * 청크를 어떤 트랜잭션 경계로 기록할지는 호출 측이 chunkWriter 로 결정합니다.
+ * - 동기 bulk-add : 파일 전체를 하나의 트랜잭션으로
+ * - 비동기 job    : 청크마다 커밋
+ */
+@RequiredArgsConstructor
+@Component
+public class ProductCsvImporter {
+
+    private static final int FIELD_COUNT = 9;
+
+    /**
+     * 임시 테이블(ProductBulkWriter)과 product 의 컬럼 길이 (varchar(n) 은 문자 수 기준)
+     * 한 행이라도 넘으면 COPY 가 청크 전체(동기 모드는 파일 전체)를 줄 번호 없이 실패시키므로 파싱 단계에서 거릅니다.
+     */
+    static final int NAME_MAX_LENGTH = 200;
+    static final int IMAGE_URL_MAX_LENGTH = 500;
+
+    private final ProductImportProperties importProperties;
+    private final ProductImportMetrics importMetrics;
+
+    public BulkAddResponse importCsv(InputStream in,
+                                     ImportProgress progress,
+                                     Function<Collection<Product>, BulkWriteResult> chunkWriter) throws IOException {
+        final int chunkSize = importProperties.chunkSize();
+        final long startedAt = System.nanoTime();
+
+        // 중복 ID가 CSV 내에 섞일 수 있으면, 같은 청크 내 dedup이 도움이 됨
+        // (마지막 값으로 덮어쓰기)
+        Map<Long, Product> buffer = new LinkedHashMap<>(chunkSize * 2);
+
+        ProductCsvParser parser = new ProductCsvParser(new CountingInputStream(in, progress));
+
+        if (!parser.next()) return progress.toResponse();
+        checkHeader(parser);
+
+        long parseStartedAt = System.nanoTime();
+        while (parser.next()) {
+            if (progress.isCancelled()) {
+                // 이미 기록된 청크는 그대로 두고 중단
+                return progress.toResponse();
+            }
+
+            Product product = toProduct(parser, progress);
+            if (product == null) {
+                continue;
+            }
+            // 같은 청크 내 중복 id는 마지막 행으로 덮어쓰기
+            buffer.put(product.getId(), product);
+
+            if (buffer.size() >= chunkSize) {
+                importMetrics.recordStage(Stage.PARSE, System.nanoTime() - parseStartedAt);
+                writeChunk(buffer, progress, chunkWriter);
+                parseStartedAt = System.nanoTime();
+            }
+        }
+
+        if (!buffer.isEmpty() && !progress.isCancelled()) {
+            importMetrics.recordStage(Stage.PARSE, System.nanoTime() - parseStartedAt);
+            writeChunk(buffer, progress, chunkWriter);
+        }
+
+        importMetrics.recordFile(progress.writtenRows(), System.nanoTime() - startedAt);
+        return progress.toResponse();
+    }
+
+    static void checkHeader(ProductCsvParser parser) {
+        if (!isHeader(parser)) {
+            throw new IllegalArgumentException("Invalid CSV header. Expected: id,partner_id,category,...");
+        }
+    }
+
+    /**
+     * 현재 레코드를 Product 로 변환합니다. 빈 줄이나 잘못된 행이면 사유를 기록하고 null 을 반환합니다.
+     * (progress, importMetrics 모두 스레드 안전하므로 병렬 임포트의 파싱 태스크에서도 사용)
+     */
+    Product toProduct(ProductCsvParser parser, ImportProgress progress) {
+        progress.addLine();
+
+        if (parser.isBlankRecord()) {
+            progress.addSkipped(1);
+            importMetrics.recordSkipped(SkipReason.BLANK);
+            return null;
+        }
+        if (parser.error() != null) {
+            reject(progress, parser, SkipReason.MALFORMED, parser.error());
+            return null;
+        }
+        if (parser.fieldCount() != FIELD_COUNT) {
+            reject(progress, parser, SkipReason.FIELD_COUNT,
+                    "expected " + FIELD_COUNT + " fields but was " + parser.fieldCount());
+            return null;
+        }
+
+        try {
+            long id = parser.getLong(0);
+            long partnerId = parser.getLong(1);
+            int category = parser.getInt(2);
+            String name = parser.getString(3);
+            ProductStatus status = parser.getStatus(4);
+            long price = parser.getLong(5);
+            String imageUrl = parser.isEmpty(6) ? null : parser.getString(6);
+
+            LocalDateTime createdAt = parser.getDateTime(7);
+            LocalDateTime modifiedAt = parser.getDateTime(8);
+
+            if (name.isBlank()) {
+                reject(progress, parser, SkipReason.INVALID_VALUE, "name is empty");
+                return null;
+            }
+            if (name.codePointCount(0, name.length()) > NAME_MAX_LENGTH) {
+                reject(progress, parser, SkipReason.INVALID_VALUE, "name is longer than " + NAME_MAX_LENGTH);
+                return null;
+            }
+            if (imageUrl != null && imageUrl.codePointCount(0, imageUrl.length()) > IMAGE_URL_MAX_LENGTH) {
+                reject(progress, parser, SkipReason.INVALID_VALUE, "image_url is longer than " + IMAGE_URL_MAX_LENGTH);
+                return null;
+            }
+            if (modifiedAt.isBefore(createdAt)) {
+                reject(progress, parser, SkipReason.INVALID_DATES, "modified_at is before created_at");
+                return null;
+            }
+
+            Product product = Product.of(
+                    id, partnerId, category, name, status, price, imageUrl, createdAt, modifiedAt
+            );
+            progress.addParsed();
+            return product;
+
+        } catch (RuntimeException e) {
+            reject(progress, parser, SkipReason.INVALID_VALUE, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeChunk(Map<Long, Product> buffer,
+                            ImportProgress progress,
+                            Function<Collection<Product>, BulkWriteResult> chunkWriter) {
+        BulkWriteResult result = chunkWriter.apply(buffer.values());
+        progress.addWritten(result);
+        importMetrics.recordWritten(result);
+        buffer.clear();
+    }
+
+    private void reject(ImportProgress progress, ProductCsvParser parser, SkipReason reason, String message) {
+        progress.addRejected(parser.lineNumber(), message);
+        importMetrics.recordSkipped(reason);
+    }
+
+    private static boolean isHeader(ProductCsvParser parser) {
+        return parser.fieldCount() >= 3
+                && parser.getString(0).equalsIgnoreCase("id")
+                && parser.getString(1).equalsIgnoreCase("partner_id")
+                && parser.getString(2).toLowerCase().startsWith("category");
+    }
+
+    /**
+     * 진행률(ETA) 계산용으로 읽은 바이트 수를 누적합니다.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final ImportProgress progress;
+
+        private CountingInputStream(InputStream in, ImportProgress progress) {
+            super(in);
+            this.progress = progress;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) progress.addBytesRead(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) progress.addBytesRead(n);
+            return n;
+        }
+    }
+}
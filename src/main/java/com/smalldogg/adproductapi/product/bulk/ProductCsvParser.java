@@ -0,0 +1,376 @@
+package com.smalldogg.adproductapi.product.bulk;
+
+import com.smalldogg.adproductapi.product.entity.ProductStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * 업로드 바이트 스트림 위에서 동작하는 스트리밍 CSV 파서 (RFC 4180).
+ *
+ * - 레코드 단위로 필드 바이트를 내부 버퍼에 한 번 복사하고, 필드는 (start, end) 오프셋으로만 관리합니다.
+ * - 숫자/상태/시간 값은 버퍼에서 바로 파싱하므로 중간 String 을 만들지 않습니다.
+ *   (String 이 필요한 name, image_url 만 getString 에서 디코딩)
+ * - 따옴표로 감싼 필드 안의 콤마, 줄바꿈, 이스케이프된 따옴표("")를 지원합니다.
+ * - 레코드 단위 오류(닫히지 않은 따옴표 등)는 예외 대신 error() 로 알려 다음 레코드를 계속 읽을 수 있습니다.
+ *
+ * 스레드 안전하지 않습니다. (임포트 한 건당 하나)
+ */
+public final class ProductCsvParser {
+
+    private static final int MAX_FIELDS = 16;
+
+    private static final byte[][] STATUS_NAMES;
+    private static final ProductStatus[] STATUS_VALUES = ProductStatus.values();
+
+    static {
+        STATUS_NAMES = new byte[STATUS_VALUES.length][];
+        for (int i = 0; i < STATUS_VALUES.length; i++) {
+            STATUS_NAMES[i] = STATUS_VALUES[i].name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final InputStream in;
+    private final byte[] buf;
+    private int pos;
+    private int limit;
+
+    private byte[] rec = new byte[512];
+    private int recLen;
+
+    private final int[] starts = new int[MAX_FIELDS];
+    private final int[] ends = new int[MAX_FIELDS];
+    private final boolean[] quoted = new boolean[MAX_FIELDS];
+    private int fieldCount;
+
+    private String error;
+
+    /** 다음에 읽을 바이트가 속한 물리적 줄 번호 (1부터) */
+    private long lineNumber = 1;
+    /** 현재 레코드가 시작된 물리적 줄 번호 */
+    private long recordLineNumber;
+
+    public ProductCsvParser(InputStream in) {
+        this(in, 64 * 1024);
+    }
+
+    ProductCsvParser(InputStream in, int bufferSize) {
+        this(in, bufferSize, 1);
+    }
+
+    /**
+     * @param firstLineNumber 스트림 첫 바이트의 줄 번호 (파일 일부 구간을 파싱할 때 원본 기준 줄 번호를 유지)
+     */
+    ProductCsvParser(InputStream in, int bufferSize, long firstLineNumber) {
+        this.in = in;
+        this.buf = new byte[bufferSize];
+        this.lineNumber = firstLineNumber;
+    }
+
+    /**
+     * 다음 레코드로 이동합니다.
+     *
+     * @return 더 읽을 레코드가 없으면 false
+     */
+    public boolean next() throws IOException {
+        recLen = 0;
+        fieldCount = 0;
+        error = null;
+
+        if (pos == limit && !fill()) {
+            return false;
+        }
+        recordLineNumber = lineNumber;
+
+        boolean inQuotes = false;
+        boolean afterQuote = false; // 따옴표 필드 안에서 " 를 만난 직후 (닫는 따옴표 or "" 이스케이프)
+        boolean fieldStart = true;
+        beginField();
+
+        while (true) {
+            if (pos == limit && !fill()) {
+                if (inQuotes && !afterQuote) {
+                    setError("unterminated quoted field");
+                }
+                endField();
+                return true;
+            }
+            byte b = buf[pos++];
+
+            if (inQuotes) {
+                if (afterQuote) {
+                    afterQuote = false;
+                    if (b == '"') {
+                        append(b); // "" → "
+                        continue;
+                    }
+                    inQuotes = false; // 닫는 따옴표였음, 아래에서 구분자 처리
+                } else {
+                    if (b == '"') {
+                        afterQuote = true;
+                    } else {
+                        if (b == '\n') lineNumber++;
+                        append(b);
+                    }
+                    continue;
+                }
+            }
+
+            if (b == ',') {
+                endField();
+                beginField();
+                fieldStart = true;
+            } else if (b == '\n') {
+                lineNumber++;
+                endField();
+                return true;
+            } else if (b == '\r') {
+                // CRLF 의 CR 은 무시
+            } else if (b == '"' && fieldStart) {
+                inQuotes = true;
+                markQuoted();
+                fieldStart = false;
+            } else {
+                if (!fieldStart && isQuoted()) {
+                    setError("unexpected character after closing quote");
+                }
+                append(b);
+                fieldStart = false;
+            }
+        }
+    }
+
+    /** 현재 레코드가 시작된 줄 번호 (1부터, 헤더가 1) */
+    public long lineNumber() {
+        return recordLineNumber;
+    }
+
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /** 레코드 구조 오류 (없으면 null) */
+    public String error() {
+        return error;
+    }
+
+    /** 공백만 있는 줄 */
+    public boolean isBlankRecord() {
+        if (fieldCount != 1 || quoted[0]) {
+            return false;
+        }
+        for (int i = starts[0]; i < ends[0]; i++) {
+            if (!isSpace(rec[i])) return false;
+        }
+        return true;
+    }
+
+    public boolean isEmpty(int field) {
+        return trimmedStart(field) == trimmedEnd(field);
+    }
+
+    public String getString(int field) {
+        int s = trimmedStart(field);
+        int e = trimmedEnd(field);
+        return new String(rec, s, e - s, StandardCharsets.UTF_8);
+    }
+
+    public long getLong(int field) {
+        int s = trimmedStart(field);
+        int e = trimmedEnd(field);
+        if (s == e) {
+            throw new IllegalArgumentException(fieldName(field) + " is empty");
+        }
+
+        boolean negative = false;
+        if (rec[s] == '-' || rec[s] == '+') {
+            negative = rec[s] == '-';
+            s++;
+            if (s == e) throw invalidNumber(field);
+        }
+
+        long value = 0;
+        for (int i = s; i < e; i++) {
+            int d = rec[i] - '0';
+            if (d < 0 || d > 9) throw invalidNumber(field);
+            if (value > (Long.MAX_VALUE - d) / 10) {
+                throw new IllegalArgumentException(fieldName(field) + " is out of range");
+            }
+            value = value * 10 + d;
+        }
+        return negative ? -value : value;
+    }
+
+    public int getInt(int field) {
+        long v = getLong(field);
+        if (v < Integer.MIN_VALUE || v > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(fieldName(field) + " is out of range");
+        }
+        return (int) v;
+    }
+
+    public ProductStatus getStatus(int field) {
+        int s = trimmedStart(field);
+        int len = trimmedEnd(field) - s;
+
+        outer:
+        for (int i = 0; i < STATUS_NAMES.length; i++) {
+            byte[] name = STATUS_NAMES[i];
+            if (name.length != len) continue;
+            for (int j = 0; j < len; j++) {
+                if (rec[s + j] != name[j]) continue outer;
+            }
+            return STATUS_VALUES[i];
+        }
+        throw new IllegalArgumentException(fieldName(field) + " has unknown status: " + getString(field));
+    }
+
+    /**
+     * 허용 포맷 (LocalDateTime.toString 출력 포함):
+     * - 2026-01-06T12:34:56[.fraction]
+     * - 2026-01-06 12:34:56[.fraction]
+     * - 2026-01-06T12:34 (초가 0이면 LocalDateTime.toString 이 생략)
+     */
+    public LocalDateTime getDateTime(int field) {
+        int s = trimmedStart(field);
+        int e = trimmedEnd(field);
+        int len = e - s;
+
+        if (len < 16
+                || rec[s + 4] != '-' || rec[s + 7] != '-'
+                || (rec[s + 10] != 'T' && rec[s + 10] != ' ')
+                || rec[s + 13] != ':') {
+            throw invalidDateTime(field);
+        }
+
+        int year = digits(field, s, 4);
+        int month = digits(field, s + 5, 2);
+        int day = digits(field, s + 8, 2);
+        int hour = digits(field, s + 11, 2);
+        int minute = digits(field, s + 14, 2);
+        int second = 0;
+        int nano = 0;
+
+        int p = s + 16;
+        if (p < e) {
+            if (rec[p] != ':' || p + 3 > e) throw invalidDateTime(field);
+            second = digits(field, p + 1, 2);
+            p += 3;
+            if (p < e) {
+                if (rec[p] != '.' || p + 1 == e || e - (p + 1) > 9) throw invalidDateTime(field);
+                int fractionDigits = e - (p + 1);
+                nano = digits(field, p + 1, fractionDigits);
+                for (int i = fractionDigits; i < 9; i++) nano *= 10;
+            }
+        }
+
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+        } catch (RuntimeException ex) {
+            throw invalidDateTime(field);
+        }
+    }
+
+    /* ======================== 내부 ======================== */
+
+    private boolean fill() throws IOException {
+        int n;
+        do {
+            n = in.read(buf, 0, buf.length);
+        } while (n == 0);
+        if (n < 0) {
+            pos = limit = 0;
+            return false;
+        }
+        pos = 0;
+        limit = n;
+        return true;
+    }
+
+    private void beginField() {
+        if (fieldCount < MAX_FIELDS) {
+            starts[fieldCount] = recLen;
+            quoted[fieldCount] = false;
+        }
+    }
+
+    private void endField() {
+        if (fieldCount < MAX_FIELDS) {
+            ends[fieldCount] = recLen;
+        }
+        fieldCount++;
+    }
+
+    private void markQuoted() {
+        if (fieldCount < MAX_FIELDS) quoted[fieldCount] = true;
+    }
+
+    private boolean isQuoted() {
+        return fieldCount < MAX_FIELDS && quoted[fieldCount];
+    }
+
+    private void append(byte b) {
+        if (recLen == rec.length) {
+            byte[] grown = new byte[rec.length * 2];
+            System.arraycopy(rec, 0, grown, 0, recLen);
+            rec = grown;
+        }
+        rec[recLen++] = b;
+    }
+
+    private void setError(String message) {
+        if (error == null) error = message;
+    }
+
+    private int trimmedStart(int field) {
+        checkField(field);
+        int s = starts[field];
+        if (quoted[field]) return s;
+        int e = ends[field];
+        while (s < e && isSpace(rec[s])) s++;
+        return s;
+    }
+
+    private int trimmedEnd(int field) {
+        checkField(field);
+        int e = ends[field];
+        if (quoted[field]) return e;
+        int s = starts[field];
+        while (e > s && isSpace(rec[e - 1])) e--;
+        return e;
+    }
+
+    private void checkField(int field) {
+        if (field >= fieldCount || field >= MAX_FIELDS) {
+            throw new IllegalArgumentException("missing field #" + (field + 1));
+        }
+    }
+
+    private int digits(int field, int from, int count) {
+        int v = 0;
+        for (int i = from; i < from + count; i++) {
+            int d = rec[i] - '0';
+            if (d < 0 || d > 9) throw invalidDateTime(field);
+            v = v * 10 + d;
+        }
+        return v;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    private IllegalArgumentException invalidNumber(int field) {
+        return new IllegalArgumentException(fieldName(field) + " is not a number: " + getString(field));
+    }
+
+    private IllegalArgumentException invalidDateTime(int field) {
+        return new IllegalArgumentException(fieldName(field) + " is not a valid datetime: " + getString(field));
+    }
+
+    private static String fieldName(int field) {
+        return "field #" + (field + 1);
+    }
+}
@@ -0,0 +1,112 @@
+package com.smalldogg.adproductapi.product.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.smalldogg.adproductapi.config.ProductCacheProperties;
+import com.smalldogg.adproductapi.product.response.ProductApiResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 단건 조회(getProduct) 앞단의 in-process read-through 캐시.
+ * 엔티티가 아니라 응답 레코드(ProductApiResponse)를 그대로 보관하므로 hit 시 DB/엔티티 변환이 없습니다.
+ *
+ * 무효화는 "즉시 + 커밋 직후" 두 번 수행합니다.
+ * 커밋 전에 다른 요청이 이전 값을 다시 적재할 수 있기 때문이며,
+ * Caffeine 은 같은 키의 적재(get) 중 invalidate 가 들어오면 적재가 끝난 뒤 제거하므로
+ * 커밋 이전 스냅샷이 커밋 이후까지 남지 않습니다.
+ * 이 보장은 키마다 compute 잠금을 잡는 get 에만 있습니다. Caffeine 의 getAll(keys, loader) 는 잠금 없이 읽은 뒤 넣으므로
+ * 무효화 이후에 이전 값을 다시 넣을 수 있어, 여러 건 조회(getAll)는 적재한 값을 캐시에 넣지 않습니다.
+ *
+ * hit/miss/eviction 통계는 cache.* 메트릭(cache=product)으로도 노출됩니다.
+ */
+@Component
+public class ProductCache {
+
+    private final Cache<Long, ProductApiResponse> cache;
+
+    public ProductCache(ProductCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "product");
+    }
+
+    /**
+     * loader 가 예외를 던지면(예: ProductNotFoundException) 캐시하지 않고 그대로 전파합니다.
+     */
+    public ProductApiResponse get(Long productId, Function<Long, ProductApiResponse> loader) {
+        return cache.get(productId, loader);
+    }
+
+    /**
+     * 적재하지 않고 캐시에 있는 값만 봅니다. (없으면 null, 통계에는 hit/miss 로 집계)
+     */
+    public ProductApiResponse getIfPresent(Long productId) {
+        return cache.getIfPresent(productId);
+    }
+
+    /**
+     * 적재하지 않고 캐시에 있는 값만 봅니다. (없는 id 는 반환 Map 에서 빠짐)
+     */
+    public Map<Long, ProductApiResponse> getAllPresent(Collection<Long> productIds) {
+        return cache.getAllPresent(productIds);
+    }
+
+    /**
+     * 캐시에 없는 id 들만 모아 loader 를 한 번 호출합니다.
+     * loader 결과는 캐시에 넣지 않습니다. (클래스 설명 참고, 이후 단건 조회가 get 으로 적재)
+     * loader 결과에 없는 id(존재하지 않는 상품)는 반환 Map 에서 빠집니다.
+     */
+    public Map<Long, ProductApiResponse> getAll(Collection<Long> productIds,
+                                                Function<Set<Long>, Map<Long, ProductApiResponse>> loader) {
+        Map<Long, ProductApiResponse> found = new HashMap<>(cache.getAllPresent(productIds));
+        if (found.size() < productIds.size()) {
+            Set<Long> missing = new LinkedHashSet<>(productIds);
+            missing.removeAll(found.keySet());
+            if (!missing.isEmpty()) {
+                found.putAll(loader.apply(missing));
+            }
+        }
+        return found;
+    }
+
+    public void evictAfterCommit(Long productId) {
+        evictAfterCommit(List.of(productId));
+    }
+
+    public void evictAfterCommit(Collection<Long> productIds) {
+        cache.invalidateAll(productIds);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(productIds);
+                }
+            });
+        }
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,38 @@
+package com.smalldogg.adproductapi.product.cursor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 변경 피드 워터마크. 마지막으로 내려준 변경 위치 (change_xid, id) 를 담습니다. (exclusive)
+ *
+ * 인코딩: base64url("changeXid|id")
+ */
+public record ChangeWatermark(long changeXid, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * horizon 미만의 변경을 모두 내려줬을 때의 워터마크
+     *
+     * @param horizon 조회 스냅샷의 xmin (이 값 이상의 트랜잭션은 아직 끝나지 않았을 수 있음)
+     */
+    public static ChangeWatermark upTo(long horizon) {
+        return new ChangeWatermark(horizon - 1, Long.MAX_VALUE);
+    }
+
+    public String encode() {
+        String raw = changeXid + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeWatermark decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(SEPARATOR);
+            return new ChangeWatermark(Long.parseLong(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid watermark.");
+        }
+    }
+}
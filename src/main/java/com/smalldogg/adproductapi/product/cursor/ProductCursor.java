@@ -0,0 +1,71 @@
+package com.smalldogg.adproductapi.product.cursor;
+
+import com.smalldogg.adproductapi.product.enums.ProductSortType;
+import com.smalldogg.adproductapi.product.response.ProductListResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * keyset 페이지네이션 커서.
+ * 마지막으로 내려준 행의 (정렬 키, id) 를 담고, 클라이언트에는 불투명한 문자열로만 노출합니다.
+ *
+ * 인코딩: base64url("sortType|sortKey|id")
+ * - ID, ID_DESC  : sortKey 없음 (id 자체가 정렬 키)
+ * - CREATED_AT   : createdAt (ISO-8601)
+ * - PRICE_ASC/DESC: price
+ */
+public record ProductCursor(
+        ProductSortType sortType,
+        LocalDateTime createdAt,
+        Long price,
+        long id
+) {
+
+    private static final char SEPARATOR = '|';
+
+    public static ProductCursor after(ProductSortType sortType, ProductListResponse.ProductItem last) {
+        return new ProductCursor(sortType, last.createdAt(), last.price(), last.id());
+    }
+
+    public String encode() {
+        String sortKey = switch (sortType) {
+            case ID, ID_DESC -> "";
+            case CREATED_AT -> createdAt.toString();
+            case PRICE_ASC, PRICE_DESC -> String.valueOf(price);
+        };
+        String raw = sortType.name() + SEPARATOR + sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param expectedSortType 요청의 sortType. 다른 정렬로 발급된 커서는 seek 조건이 맞지 않으므로 거부합니다.
+     */
+    public static ProductCursor decode(String encoded, ProductSortType expectedSortType) {
+        ProductCursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int last = raw.lastIndexOf(SEPARATOR);
+
+            ProductSortType sortType = ProductSortType.valueOf(raw.substring(0, first));
+            String sortKey = raw.substring(first + 1, last);
+            long id = Long.parseLong(raw.substring(last + 1));
+
+            cursor = switch (sortType) {
+                case ID, ID_DESC -> new ProductCursor(sortType, null, null, id);
+                case CREATED_AT -> new ProductCursor(sortType, LocalDateTime.parse(sortKey), null, id);
+                case PRICE_ASC, PRICE_DESC -> new ProductCursor(sortType, null, Long.parseLong(sortKey), id);
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+
+        if (cursor.sortType() != expectedSortType) {
+            throw new IllegalArgumentException(
+                    "Cursor was issued for sortType=" + cursor.sortType() + ", but requested " + expectedSortType);
+        }
+        return cursor;
+    }
+}
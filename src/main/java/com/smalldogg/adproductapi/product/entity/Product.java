@@ -7,15 +7,28 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+/**
+ * 이름 검색용 인덱스(pg_trgm GIN, lower(name) text_pattern_ops)는 @Index 로 표현할 수 없어
+ * Flyway 마이그레이션(V003)에만 정의되어 있습니다.
+ * 정렬별 목록 조회 인덱스는 V004 참고 (정렬 키 + id, QueryPlanRegressionTest 로 검증)
+ * status = 'ACTIVE' 부분 인덱스(서빙 경로)도 @Index 로 표현할 수 없어 V007 에만 있습니다.
+ *
+ * 테이블은 partner_id 해시 파티션이고 DB 의 PK 는 (id, partner_id) 입니다. (V008)
+ * id 의 유일성은 파티션하지 않은 product_id 등록부(PK id, V009)에 id 를 먼저 등록/잠그는 쓰기 경로(ProductBulkWriter)가 보장하므로
+ * 엔티티는 그대로 id 를 식별자로 씁니다.
+ */
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
 @Table(
         name = "product",
         indexes = {
-                @Index(name = "idx_product_partner_id", columnList = "partner_id"),
                 @Index(name = "idx_product_partner_status", columnList = "partner_id,status"),
-                @Index(name = "idx_product_created_at", columnList = "created_at")
+                @Index(name = "idx_product_partner_id_id", columnList = "partner_id,id"),
+                @Index(name = "idx_product_partner_created_at_id", columnList = "partner_id,created_at desc,id desc"),
+                @Index(name = "idx_product_created_at_id", columnList = "created_at desc,id desc"),
+                @Index(name = "idx_product_partner_price_id", columnList = "partner_id,price,id"),
+                @Index(name = "idx_product_price_id", columnList = "price,id")
         }
 )
 public class Product {
@@ -0,0 +1,9 @@
+package com.smalldogg.adproductapi.product.enums;
+
+public enum BulkImportJobStatus {
+    QUEUED,      // 대기
+    RUNNING,     // 실행 중
+    COMPLETED,   // 완료
+    FAILED,      // 실패 (실패 이전 청크는 커밋된 상태)
+    CANCELLED    // 취소 (취소 이전 청크는 커밋된 상태)
+}
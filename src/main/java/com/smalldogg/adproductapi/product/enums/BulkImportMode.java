@@ -0,0 +1,24 @@
+package com.smalldogg.adproductapi.product.enums;
+
+/**
+ * bulk-add 반영 방식
+ */
+public enum BulkImportMode {
+    UPSERT,      // 이미 있는 id 는 UPDATE
+    INSERT_ONLY, // 이미 있는 id 는 건드리지 않고 skippedRows 로 집계
+    DELTA;       // 이미 있는 id 는 modified_at 이 더 최신이고 내용이 다를 때만 UPDATE, 나머지는 unchangedRows 로 집계
+
+    /**
+     * @param upsert false 면 INSERT_ONLY
+     * @param delta  true 면 DELTA (upsert=true 일 때만)
+     */
+    public static BulkImportMode of(boolean upsert, boolean delta) {
+        if (!upsert) {
+            if (delta) {
+                throw new IllegalArgumentException("delta=true requires upsert=true.");
+            }
+            return INSERT_ONLY;
+        }
+        return delta ? DELTA : UPSERT;
+    }
+}
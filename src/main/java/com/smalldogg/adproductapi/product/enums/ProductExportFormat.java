@@ -0,0 +1,6 @@
+package com.smalldogg.adproductapi.product.enums;
+
+public enum ProductExportFormat {
+    CSV,   // bulk-add 가 그대로 받는 형식 (id,partner_id,category,...)
+    NDJSON // 한 줄에 상품 하나 (목록 응답 item 과 같은 필드명)
+}
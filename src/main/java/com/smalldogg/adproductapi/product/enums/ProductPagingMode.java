@@ -0,0 +1,7 @@
+package com.smalldogg.adproductapi.product.enums;
+
+public enum ProductPagingMode {
+    OFFSET,   // page 번호 기반 (OFFSET n), 전체 건수는 카운터 테이블/상한 count
+    NO_COUNT, // page 번호 기반, 전체 건수 없이 hasNext 만
+    CURSOR    // nextCursor 기반 keyset (sortKey, id) seek
+}
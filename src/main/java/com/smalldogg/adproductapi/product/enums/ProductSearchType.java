@@ -1,6 +1,8 @@
 package com.smalldogg.adproductapi.product.enums;
 
 public enum ProductSearchType {
-    NAME
-    // 필요하면 확장: STATUS, ID 등
+    NAME,         // 이름 부분 일치 (pg_trgm GIN)
+    NAME_PREFIX,  // 이름 접두 일치 (lower(name) text_pattern_ops btree)
+    ID,           // id 정확 일치 (PK)
+    STATUS        // 상태 정확 일치 (ACTIVE, REJECTED, SUSPENDED, SOLD_OUT)
 }
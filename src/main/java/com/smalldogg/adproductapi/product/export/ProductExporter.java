@@ -0,0 +1,197 @@
+package com.smalldogg.adproductapi.product.export;
+
+import com.smalldogg.adproductapi.product.entity.ProductStatus;
+import com.smalldogg.adproductapi.product.enums.ProductExportFormat;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 전체 카탈로그 export.
+ *
+ * PostgreSQL JDBC 는 autocommit 이 꺼져 있고 fetchSize 가 지정된 경우에만 서버 측 커서로 나눠 가져오므로
+ * 읽기 전용 트랜잭션 안에서 FETCH_SIZE 행씩 받아 바로 출력 스트림에 씁니다.
+ * 결과를 모으지 않으므로 행 수와 무관하게 메모리 사용량이 일정합니다.
+ *
+ * CSV 의 category 는 엔티티가 나눠 저장한 category1..3 을 다시 합친 값이라 export 파일을 그대로 bulk-add 할 수 있습니다.
+ */
+@Component
+public class ProductExporter {
+
+    private static final int FETCH_SIZE = 5_000;
+
+    static final String CSV_HEADER = "id,partner_id,category,name,status,price,image_url,created_at,modified_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ProductExporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @param partnerId null 이면 전체 파트너
+     * @param status    null 이면 전체 상태
+     */
+    public void export(ProductExportFormat format, Long partnerId, ProductStatus status, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == ProductExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        RowCallbackHandler rowWriter = format == ProductExportFormat.CSV
+                ? rs -> writeCsvRow(writer, rs)
+                : rs -> writeJsonRow(writer, rs);
+
+        StringBuilder sql = new StringBuilder("""
+                select id, partner_id, category1, category2, category3, name, status, price, image_url, created_at, modified_at
+                from product
+                where 1 = 1""");
+        List<Object> args = new ArrayList<>(2);
+        if (partnerId != null) {
+            sql.append(" and partner_id = ?");
+            args.add(partnerId);
+        }
+        if (status != null) {
+            sql.append(" and status = ?");
+            args.add(status.name());
+        }
+        sql.append(" order by id");
+
+        try {
+            readOnlyTransaction.executeWithoutResult(tx -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql.toString());
+                ps.setFetchSize(FETCH_SIZE);
+                for (int i = 0; i < args.size(); i++) {
+                    ps.setObject(i + 1, args.get(i));
+                }
+                return ps;
+            }, rowWriter));
+        } catch (UncheckedIOException e) {
+            // 클라이언트 연결 끊김 등
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private static void writeCsvRow(Writer w, ResultSet rs) throws SQLException {
+        try {
+            w.write(Long.toString(rs.getLong(1)));
+            w.write(',');
+            w.write(Long.toString(rs.getLong(2)));
+            w.write(',');
+            w.write(Integer.toString(rs.getInt(3) + rs.getInt(4) + rs.getInt(5)));
+            w.write(',');
+            writeCsvQuoted(w, rs.getString(6));
+            w.write(',');
+            w.write(rs.getString(7));
+            w.write(',');
+            w.write(Long.toString(rs.getLong(8)));
+            w.write(',');
+            String imageUrl = rs.getString(9);
+            if (imageUrl != null) {
+                writeCsvQuoted(w, imageUrl);
+            }
+            w.write(',');
+            w.write(rs.getObject(10, LocalDateTime.class).toString());
+            w.write(',');
+            w.write(rs.getObject(11, LocalDateTime.class).toString());
+            w.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeJsonRow(Writer w, ResultSet rs) throws SQLException {
+        try {
+            w.write("{\"id\":");
+            w.write(Long.toString(rs.getLong(1)));
+            w.write(",\"partnerId\":");
+            w.write(Long.toString(rs.getLong(2)));
+            w.write(",\"category1\":");
+            w.write(Integer.toString(rs.getInt(3)));
+            w.write(",\"category2\":");
+            w.write(Integer.toString(rs.getInt(4)));
+            w.write(",\"category3\":");
+            w.write(Integer.toString(rs.getInt(5)));
+            w.write(",\"name\":");
+            writeJsonString(w, rs.getString(6));
+            w.write(",\"status\":");
+            writeJsonString(w, rs.getString(7));
+            w.write(",\"price\":");
+            w.write(Long.toString(rs.getLong(8)));
+            w.write(",\"imageUrl\":");
+            writeJsonString(w, rs.getString(9));
+            w.write(",\"createdAt\":\"");
+            w.write(rs.getObject(10, LocalDateTime.class).toString());
+            w.write("\",\"modifiedAt\":\"");
+            w.write(rs.getObject(11, LocalDateTime.class).toString());
+            w.write("\"}\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 항상 따옴표로 감싸고 내부 따옴표는 두 번 씁니다. (ProductCsvParser 가 그대로 읽는 형식)
+     */
+    static void writeCsvQuoted(Writer w, String value) throws IOException {
+        w.write('"');
+        int from = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                w.write(value, from, i - from + 1);
+                w.write('"');
+                from = i + 1;
+            }
+        }
+        w.write(value, from, value.length() - from);
+        w.write('"');
+    }
+
+    static void writeJsonString(Writer w, String value) throws IOException {
+        if (value == null) {
+            w.write("null");
+            return;
+        }
+        w.write('"');
+        int from = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            w.write(value, from, i - from);
+            switch (c) {
+                case '"' -> w.write("\\\"");
+                case '\\' -> w.write("\\\\");
+                case '\n' -> w.write("\\n");
+                case '\r' -> w.write("\\r");
+                case '\t' -> w.write("\\t");
+                default -> w.write(String.format("\\u%04x", (int) c));
+            }
+            from = i + 1;
+        }
+        w.write(value, from, value.length() - from);
+        w.write('"');
+    }
+}
@@ -0,0 +1,12 @@
+package com.smalldogg.adproductapi.product.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ProductBatchGetRequest(
+        @NotEmpty @Size(max = 1000) List<@NotNull Long> ids
+) {
+}
@@ -0,0 +1,9 @@
+package com.smalldogg.adproductapi.product.request;
+
+import com.smalldogg.adproductapi.product.entity.ProductStatus;
+import jakarta.validation.constraints.NotNull;
+
+public record ProductStatusChangeRequest(
+        @NotNull ProductStatus status
+) {
+}
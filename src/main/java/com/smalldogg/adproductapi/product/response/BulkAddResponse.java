@@ -1,4 +1,35 @@
 package com.smalldogg.adproductapi.product.response;
 
-public record BulkAddResponse(long totalLines, long insertedOrUpdatedRows, long skippedRows) {
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * @param totalLines    헤더를 제외한 CSV 레코드 수 (따옴표 안 줄바꿈은 한 레코드로 셈)
+ * @param unchangedRows delta 모드에서 저장된 행보다 최신이 아니거나 내용이 같아 쓰지 않은 행 수
+ * @param errors        건너뛴 행의 줄 번호와 사유 (최대 100건)
+ */
+public record BulkAddResponse(
+        long totalLines,
+        long insertedRows,
+        long updatedRows,
+        long unchangedRows,
+        long skippedRows,
+        List<RowError> errors
+) {
+
+    /**
+     * 기존 응답 필드 호환용 (insertedRows + updatedRows)
+     */
+    @JsonProperty("insertedOrUpdatedRows")
+    public long insertedOrUpdatedRows() {
+        return insertedRows + updatedRows;
+    }
+
+    /**
+     * @param line   CSV 파일 기준 줄 번호 (헤더가 1)
+     * @param reason 건너뛴 사유
+     */
+    public record RowError(long line, String reason) {
+    }
 }
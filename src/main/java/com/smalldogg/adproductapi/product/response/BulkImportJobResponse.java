@@ -0,0 +1,23 @@
+package com.smalldogg.adproductapi.product.response;
+
+import java.time.LocalDateTime;
+
+public record BulkImportJobResponse(
+        String jobId,
+        String status,
+        boolean upsert,
+        String mode,
+        long parsedRows,
+        long writtenRows,
+        long skippedRows,
+        long bytesRead,
+        long totalBytes,
+        long rowsPerSecond,
+        Long etaSeconds,
+        LocalDateTime submittedAt,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String error,
+        BulkAddResponse result
+) {
+}
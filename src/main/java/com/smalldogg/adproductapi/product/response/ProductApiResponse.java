@@ -1,9 +1,13 @@
 package com.smalldogg.adproductapi.product.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.LocalDateTime;
 
 /**
  * Product data from external Product API.
+ *
+ * @param changeXid 행을 마지막으로 쓴 트랜잭션 ID (ETag 용, 응답 본문에는 나가지 않음)
  */
 public record ProductApiResponse(
         Long id,
@@ -15,6 +19,7 @@ public record ProductApiResponse(
         Integer category2,
         Integer category3,
         LocalDateTime createdAt,
-        LocalDateTime modifiedAt
+        LocalDateTime modifiedAt,
+        @JsonIgnore Long changeXid
 ) {
 }
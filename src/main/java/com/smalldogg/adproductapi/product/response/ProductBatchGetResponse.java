@@ -0,0 +1,13 @@
+package com.smalldogg.adproductapi.product.response;
+
+import java.util.List;
+
+/**
+ * @param items      요청 ids 순서대로 (중복 id 는 한 번만)
+ * @param missingIds 존재하지 않는 id
+ */
+public record ProductBatchGetResponse(
+        List<ProductApiResponse> items,
+        List<Long> missingIds
+) {
+}
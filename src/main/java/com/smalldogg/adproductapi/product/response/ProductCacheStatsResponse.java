@@ -0,0 +1,12 @@
+package com.smalldogg.adproductapi.product.response;
+
+public record ProductCacheStatsResponse(
+        long size,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount,
+        long loadFailureCount,
+        double averageLoadPenaltyMillis
+) {
+}
@@ -0,0 +1,15 @@
+package com.smalldogg.adproductapi.product.response;
+
+import java.util.List;
+
+/**
+ * @param items     변경된 상품의 현재 상태 (change_xid, id 순)
+ * @param watermark 다음 요청의 since 로 그대로 넘길 값
+ * @param hasMore   true 면 바로 이어서 요청, false 면 따라잡은 상태 (잠시 후 같은 watermark 로 다시 요청)
+ */
+public record ProductChangesResponse(
+        List<ProductListResponse.ProductItem> items,
+        String watermark,
+        boolean hasMore
+) {
+}
@@ -0,0 +1,110 @@
+package com.smalldogg.adproductapi.product.response;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * fields 파라미터(쉼표 구분, 예: id,price,status)로 고른 필드만 응답에 담습니다.
+ * 필드 이름은 JSON 응답의 속성 이름과 같고, 결과 항목은 요청한 순서대로 필드를 가집니다.
+ *
+ * @param <T> 원본 항목 타입 (ProductItem / ProductApiResponse)
+ */
+public final class ProductFieldSelection<T> {
+
+    public static final Map<String, Function<ProductListResponse.ProductItem, Object>> LIST_ITEM_FIELDS = listItemFields();
+    public static final Map<String, Function<ProductApiResponse, Object>> API_RESPONSE_FIELDS = apiResponseFields();
+
+    private final List<String> names;
+    private final List<Function<T, Object>> accessors;
+
+    private ProductFieldSelection(List<String> names, List<Function<T, Object>> accessors) {
+        this.names = names;
+        this.accessors = accessors;
+    }
+
+    /**
+     * @return fields 가 비어 있으면 null (전체 필드)
+     */
+    public static <T> ProductFieldSelection<T> parse(String fields, Map<String, Function<T, Object>> available) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!available.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name + ". available=" + available.keySet());
+            }
+            requested.add(name);
+        }
+        if (requested.isEmpty()) {
+            return null;
+        }
+
+        List<String> names = List.copyOf(requested);
+        List<Function<T, Object>> accessors = new ArrayList<>(names.size());
+        for (String name : names) {
+            accessors.add(available.get(name));
+        }
+        return new ProductFieldSelection<>(names, accessors);
+    }
+
+    public List<Map<String, Object>> apply(List<T> items) {
+        List<Map<String, Object>> selected = new ArrayList<>(items.size());
+        for (T item : items) {
+            Map<String, Object> values = new LinkedHashMap<>(names.size() * 2);
+            for (int i = 0; i < names.size(); i++) {
+                values.put(names.get(i), accessors.get(i).apply(item));
+            }
+            selected.add(values);
+        }
+        return selected;
+    }
+
+    /**
+     * 정규화된 필드 목록 (ETag 구분용)
+     */
+    public String fields() {
+        return String.join(",", names);
+    }
+
+    private static Map<String, Function<ProductListResponse.ProductItem, Object>> listItemFields() {
+        Map<String, Function<ProductListResponse.ProductItem, Object>> fields = new LinkedHashMap<>();
+        fields.put("id", ProductListResponse.ProductItem::id);
+        fields.put("partnerId", ProductListResponse.ProductItem::partnerId);
+        fields.put("category1", ProductListResponse.ProductItem::category1);
+        fields.put("category2", ProductListResponse.ProductItem::category2);
+        fields.put("category3", ProductListResponse.ProductItem::category3);
+        fields.put("name", ProductListResponse.ProductItem::name);
+        fields.put("status", ProductListResponse.ProductItem::status);
+        fields.put("price", ProductListResponse.ProductItem::price);
+        fields.put("imageUrl", ProductListResponse.ProductItem::imageUrl);
+        fields.put("createdAt", ProductListResponse.ProductItem::createdAt);
+        fields.put("modifiedAt", ProductListResponse.ProductItem::modifiedAt);
+        return Collections.unmodifiableMap(fields);
+    }
+
+    private static Map<String, Function<ProductApiResponse, Object>> apiResponseFields() {
+        Map<String, Function<ProductApiResponse, Object>> fields = new LinkedHashMap<>();
+        fields.put("id", ProductApiResponse::id);
+        fields.put("name", ProductApiResponse::name);
+        fields.put("price", ProductApiResponse::price);
+        fields.put("imageUrl", ProductApiResponse::imageUrl);
+        fields.put("partnerId", ProductApiResponse::partnerId);
+        fields.put("category1", ProductApiResponse::category1);
+        fields.put("category2", ProductApiResponse::category2);
+        fields.put("category3", ProductApiResponse::category3);
+        fields.put("createdAt", ProductApiResponse::createdAt);
+        fields.put("modifiedAt", ProductApiResponse::modifiedAt);
+        return Collections.unmodifiableMap(fields);
+    }
+}
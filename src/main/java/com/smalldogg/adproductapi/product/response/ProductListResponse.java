@@ -1,5 +1,7 @@
 package com.smalldogg.adproductapi.product.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -21,11 +23,19 @@ public record ProductListResponse(
             LocalDateTime modifiedAt
     ) {}
 
+    /**
+     * - NO_COUNT, CURSOR 모드에서는 전체 건수를 세지 않으므로 totalElements/totalPages 가 null
+     * - totalExact=false 면 totalElements 는 상한까지만 센 값 (키워드 검색)
+     * - CURSOR 모드의 다음 페이지는 page 대신 nextCursor 로 요청
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public record PageMeta(
-            int page,
+            Integer page,
             int limit,
-            long totalElements,
-            int totalPages,
-            boolean hasNext
+            Long totalElements,
+            Integer totalPages,
+            boolean hasNext,
+            Boolean totalExact,
+            String nextCursor
     ) {}
 }
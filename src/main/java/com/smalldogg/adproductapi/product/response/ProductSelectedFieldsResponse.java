@@ -0,0 +1,20 @@
+package com.smalldogg.adproductapi.product.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * fields 파라미터로 필드를 고른 목록 / batch-get 응답. (항목에는 고른 필드만 있음)
+ *
+ * @param page       목록 조회일 때만
+ * @param missingIds batch-get 일 때만
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductSelectedFieldsResponse(
+        List<Map<String, Object>> items,
+        ProductListResponse.PageMeta page,
+        List<Long> missingIds
+) {
+}
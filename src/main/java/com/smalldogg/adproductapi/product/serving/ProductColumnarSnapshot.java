@@ -0,0 +1,439 @@
+package com.smalldogg.adproductapi.product.serving;
+
+import com.smalldogg.adproductapi.product.cursor.ProductCursor;
+import com.smalldogg.adproductapi.product.entity.ProductStatus;
+import com.smalldogg.adproductapi.product.enums.ProductSortType;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * 목록 조회용 상품 스냅샷 (열 단위 primitive 배열).
+ *
+ * 행은 (partner_id, id) 순으로 저장하므로 파트너 하나의 행은 partnerOffsets 로 찾는 연속 구간이고,
+ * 그 구간 안에서는 행 번호 순서가 곧 id 순서입니다. (ID / ID_DESC 는 별도 정렬 배열 없이 정방향/역방향 순회)
+ * CREATED_AT 과 PRICE 는 파트너 구간마다 미리 정렬해 둔 행 번호 배열을 씁니다.
+ * PRICE_DESC(price desc, id desc) 는 PRICE_ASC(price asc, id asc) 의 역순이라 배열 하나를 공유합니다.
+ *
+ * 행당 메모리: id 8 + price 8 + created_at 8 + status 1 + category1 4 + 정렬 배열 2 × 4 = 37 바이트
+ * (파트너 id 는 행마다 두지 않고 파트너당 12 바이트)
+ *
+ * 만든 뒤에는 status 외에는 바뀌지 않습니다. status 는 patchStatus 로 제자리에서 고치며,
+ * byte 한 칸 쓰기라 읽는 쪽은 이전 값이나 새 값 중 하나를 봅니다.
+ * 일부 파트너만 바뀌면 replacePartners 로 그 파트너 구간만 바꾼 새 스냅샷을 만듭니다.
+ * (바뀌지 않은 파트너는 열과 정렬 배열 구간을 그대로 복사하므로 다시 정렬하는 것은 바뀐 파트너뿐)
+ */
+final class ProductColumnarSnapshot {
+
+    static final int BYTES_PER_ROW = 37;
+
+    private static final ProductStatus[] STATUSES = ProductStatus.values();
+
+    private final long[] partnerIds;
+    private final int[] partnerOffsets;
+
+    private final long[] ids;
+    private final long[] prices;
+    private final long[] createdAtMicros;
+    private final byte[] statuses;
+    private final int[] category1s;
+
+    /** 파트너 구간별 (created_at desc, id desc) */
+    private final int[] byCreatedAt;
+    /** 파트너 구간별 (price asc, id asc) */
+    private final int[] byPrice;
+
+    private ProductColumnarSnapshot(long[] partnerIds, int[] partnerOffsets, long[] ids, long[] prices,
+                                    long[] createdAtMicros, byte[] statuses, int[] category1s,
+                                    int[] byCreatedAt, int[] byPrice) {
+        this.partnerIds = partnerIds;
+        this.partnerOffsets = partnerOffsets;
+        this.ids = ids;
+        this.prices = prices;
+        this.createdAtMicros = createdAtMicros;
+        this.statuses = statuses;
+        this.category1s = category1s;
+        this.byCreatedAt = byCreatedAt;
+        this.byPrice = byPrice;
+    }
+
+    /**
+     * 파트너 구간마다 정렬 배열을 만들어 스냅샷을 만듭니다.
+     */
+    private static ProductColumnarSnapshot sorted(long[] partnerIds, int[] partnerOffsets, long[] ids, long[] prices,
+                                                  long[] createdAtMicros, byte[] statuses, int[] category1s) {
+        int[] byCreatedAt = new int[ids.length];
+        int[] byPrice = new int[ids.length];
+
+        int[] buffer = new int[ids.length];
+        for (int p = 0; p < partnerIds.length; p++) {
+            int lo = partnerOffsets[p];
+            int hi = partnerOffsets[p + 1];
+            for (int row = lo; row < hi; row++) {
+                byCreatedAt[row] = row;
+                byPrice[row] = row;
+            }
+            // 같은 파트너 안에서는 행 번호 순서 = id 순서이므로 동점은 행 번호로 비교
+            mergeSort(byCreatedAt, buffer, lo, hi, (a, b) -> {
+                int c = Long.compare(createdAtMicros[b], createdAtMicros[a]);
+                return c != 0 ? c : Integer.compare(b, a);
+            });
+            mergeSort(byPrice, buffer, lo, hi, (a, b) -> {
+                int c = Long.compare(prices[a], prices[b]);
+                return c != 0 ? c : Integer.compare(a, b);
+            });
+        }
+        return new ProductColumnarSnapshot(partnerIds, partnerOffsets, ids, prices, createdAtMicros, statuses, category1s,
+                byCreatedAt, byPrice);
+    }
+
+    static Builder builder(int expectedRows) {
+        return new Builder(expectedRows);
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    long memoryBytes() {
+        return (long) ids.length * BYTES_PER_ROW + partnerIds.length * 12L;
+    }
+
+    long id(int row) {
+        return ids[row];
+    }
+
+    long price(int row) {
+        return prices[row];
+    }
+
+    LocalDateTime createdAt(int row) {
+        return fromMicros(createdAtMicros[row]);
+    }
+
+    ProductStatus status(int row) {
+        return STATUSES[statuses[row]];
+    }
+
+    /**
+     * 파트너 한 명의 행을 sortType 순서로 훑어 조건에 맞는 행 번호를 최대 limit 개 돌려줍니다.
+     *
+     * @param status    null 이면 전체 상태
+     * @param category1 null 이면 전체 카테고리
+     * @param after     keyset 커서 (null 이면 처음부터), offset 과 함께 쓰지 않음
+     * @param offset    조건에 맞는 행을 이만큼 건너뜀
+     */
+    int[] select(long partnerId, ProductStatus status, Integer category1, ProductSortType sortType,
+                 ProductCursor after, long offset, int limit) {
+        int p = Arrays.binarySearch(partnerIds, partnerId);
+        if (p < 0 || limit <= 0) {
+            return new int[0];
+        }
+        int lo = partnerOffsets[p];
+        int hi = partnerOffsets[p + 1];
+        int n = hi - lo;
+
+        int k = after == null ? 0 : firstAfter(sortType, lo, hi, after);
+        int[] rows = new int[Math.min(limit, n - k)];
+        int found = 0;
+        long skipped = 0;
+        for (; k < n && found < rows.length; k++) {
+            int row = rowAt(sortType, lo, hi, k);
+            if (!matches(row, status, category1)) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            rows[found++] = row;
+        }
+        return found == rows.length ? rows : Arrays.copyOf(rows, found);
+    }
+
+    long count(long partnerId, ProductStatus status, Integer category1) {
+        int p = Arrays.binarySearch(partnerIds, partnerId);
+        if (p < 0) {
+            return 0;
+        }
+        int hi = partnerOffsets[p + 1];
+        if (status == null && category1 == null) {
+            return hi - partnerOffsets[p];
+        }
+        long count = 0;
+        for (int row = partnerOffsets[p]; row < hi; row++) {
+            if (matches(row, status, category1)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * replaced 파트너의 행을 fresh 의 행으로 바꾼 새 스냅샷을 만듭니다. (이 스냅샷은 그대로)
+     * replaced 에 있지만 fresh 에 없는 파트너는 빠지고, fresh 에만 있는 파트너는 추가됩니다.
+     *
+     * 두 스냅샷 모두 (partner_id, id) 순이므로 파트너 구간을 partner_id 순으로 병합하며 열을 통째로 복사하고,
+     * 정렬 배열은 구간의 행 번호만 옮겨진 위치로 밀어 그대로 씁니다. (다시 정렬하지 않음)
+     *
+     * @param replaced 다시 읽은 파트너 id (오름차순)
+     * @param fresh    replaced 파트너만 읽어 만든 스냅샷
+     */
+    ProductColumnarSnapshot replacePartners(long[] replaced, ProductColumnarSnapshot fresh) {
+        // 결과에 들어갈 파트너 구간 (source 스냅샷의 sourcePartner 번째 구간)
+        ProductColumnarSnapshot[] sources = new ProductColumnarSnapshot[partnerIds.length + fresh.partnerIds.length];
+        int[] sourcePartners = new int[sources.length];
+        int partners = 0;
+        int rows = 0;
+        int p = 0;
+        int q = 0;
+        while (p < partnerIds.length || q < fresh.partnerIds.length) {
+            long mine = p < partnerIds.length ? partnerIds[p] : Long.MAX_VALUE;
+            long theirs = q < fresh.partnerIds.length ? fresh.partnerIds[q] : Long.MAX_VALUE;
+            if (theirs <= mine) {
+                sources[partners] = fresh;
+                sourcePartners[partners++] = q;
+                rows += fresh.partnerOffsets[q + 1] - fresh.partnerOffsets[q];
+                q++;
+                if (theirs == mine) {
+                    p++;
+                }
+            } else {
+                if (Arrays.binarySearch(replaced, mine) < 0) {
+                    sources[partners] = this;
+                    sourcePartners[partners++] = p;
+                    rows += partnerOffsets[p + 1] - partnerOffsets[p];
+                }
+                p++;
+            }
+        }
+
+        long[] mergedPartnerIds = new long[partners];
+        int[] mergedOffsets = new int[partners + 1];
+        long[] mergedIds = new long[rows];
+        long[] mergedPrices = new long[rows];
+        long[] mergedCreatedAtMicros = new long[rows];
+        byte[] mergedStatuses = new byte[rows];
+        int[] mergedCategory1s = new int[rows];
+        int[] mergedByCreatedAt = new int[rows];
+        int[] mergedByPrice = new int[rows];
+
+        int at = 0;
+        for (int i = 0; i < partners; i++) {
+            ProductColumnarSnapshot source = sources[i];
+            int sp = sourcePartners[i];
+            int lo = source.partnerOffsets[sp];
+            int n = source.partnerOffsets[sp + 1] - lo;
+            mergedPartnerIds[i] = source.partnerIds[sp];
+            mergedOffsets[i] = at;
+            System.arraycopy(source.ids, lo, mergedIds, at, n);
+            System.arraycopy(source.prices, lo, mergedPrices, at, n);
+            System.arraycopy(source.createdAtMicros, lo, mergedCreatedAtMicros, at, n);
+            System.arraycopy(source.statuses, lo, mergedStatuses, at, n);
+            System.arraycopy(source.category1s, lo, mergedCategory1s, at, n);
+            int shift = at - lo;
+            for (int k = 0; k < n; k++) {
+                mergedByCreatedAt[at + k] = source.byCreatedAt[lo + k] + shift;
+                mergedByPrice[at + k] = source.byPrice[lo + k] + shift;
+            }
+            at += n;
+        }
+        mergedOffsets[partners] = rows;
+
+        return new ProductColumnarSnapshot(mergedPartnerIds, mergedOffsets, mergedIds, mergedPrices,
+                mergedCreatedAtMicros, mergedStatuses, mergedCategory1s, mergedByCreatedAt, mergedByPrice);
+    }
+
+    /**
+     * @return 스냅샷에 있는 상품이면 true
+     */
+    boolean patchStatus(long partnerId, long id, ProductStatus status) {
+        int p = Arrays.binarySearch(partnerIds, partnerId);
+        if (p < 0) {
+            return false;
+        }
+        int row = Arrays.binarySearch(ids, partnerOffsets[p], partnerOffsets[p + 1], id);
+        if (row < 0) {
+            return false;
+        }
+        statuses[row] = (byte) status.ordinal();
+        return true;
+    }
+
+    private boolean matches(int row, ProductStatus status, Integer category1) {
+        return (status == null || statuses[row] == status.ordinal())
+                && (category1 == null || category1s[row] == category1);
+    }
+
+    private int rowAt(ProductSortType sortType, int lo, int hi, int k) {
+        return switch (sortType) {
+            case ID -> lo + k;
+            case ID_DESC -> hi - 1 - k;
+            case CREATED_AT -> byCreatedAt[lo + k];
+            case PRICE_ASC -> byPrice[lo + k];
+            case PRICE_DESC -> byPrice[hi - 1 - k];
+        };
+    }
+
+    /**
+     * 정렬 순서상 커서 바로 다음 위치 (정렬 순서대로 놓인 행에 대한 이분 탐색)
+     */
+    private int firstAfter(ProductSortType sortType, int lo, int hi, ProductCursor after) {
+        long cursorMicros = after.createdAt() == null ? 0 : toMicros(after.createdAt());
+        int left = 0;
+        int right = hi - lo;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (compareToCursor(sortType, rowAt(sortType, lo, hi, mid), after, cursorMicros) > 0) {
+                right = mid;
+            } else {
+                left = mid + 1;
+            }
+        }
+        return left;
+    }
+
+    /**
+     * 정렬 순서상 row 가 커서보다 뒤면 양수
+     */
+    private int compareToCursor(ProductSortType sortType, int row, ProductCursor after, long cursorMicros) {
+        return switch (sortType) {
+            case ID -> Long.compare(ids[row], after.id());
+            case ID_DESC -> Long.compare(after.id(), ids[row]);
+            case CREATED_AT -> {
+                int c = Long.compare(cursorMicros, createdAtMicros[row]);
+                yield c != 0 ? c : Long.compare(after.id(), ids[row]);
+            }
+            case PRICE_ASC -> {
+                int c = Long.compare(prices[row], after.price());
+                yield c != 0 ? c : Long.compare(ids[row], after.id());
+            }
+            case PRICE_DESC -> {
+                int c = Long.compare(after.price(), prices[row]);
+                yield c != 0 ? c : Long.compare(after.id(), ids[row]);
+            }
+        };
+    }
+
+    static long toMicros(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    @FunctionalInterface
+    private interface RowComparator {
+        int compare(int a, int b);
+    }
+
+    /**
+     * 행 번호 배열의 [lo, hi) 구간을 안정 정렬합니다. (boxing 없는 병합 정렬, 이미 정렬된 구간은 병합 생략)
+     */
+    private static void mergeSort(int[] rows, int[] buffer, int lo, int hi, RowComparator cmp) {
+        if (hi - lo <= 16) {
+            for (int i = lo + 1; i < hi; i++) {
+                int v = rows[i];
+                int j = i - 1;
+                while (j >= lo && cmp.compare(rows[j], v) > 0) {
+                    rows[j + 1] = rows[j];
+                    j--;
+                }
+                rows[j + 1] = v;
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        mergeSort(rows, buffer, lo, mid, cmp);
+        mergeSort(rows, buffer, mid, hi, cmp);
+        if (cmp.compare(rows[mid - 1], rows[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(rows, lo, buffer, lo, hi - lo);
+        int i = lo;
+        int j = mid;
+        for (int k = lo; k < hi; k++) {
+            if (j >= hi || (i < mid && cmp.compare(buffer[i], buffer[j]) <= 0)) {
+                rows[k] = buffer[i++];
+            } else {
+                rows[k] = buffer[j++];
+            }
+        }
+    }
+
+    /**
+     * 행을 (partner_id, id) 오름차순으로 받아 스냅샷을 만듭니다.
+     */
+    static final class Builder {
+
+        private long[] partnerIds = new long[256];
+        private int[] partnerOffsets = new int[257];
+        private int partners;
+
+        private long[] ids;
+        private long[] prices;
+        private long[] createdAtMicros;
+        private byte[] statuses;
+        private int[] category1s;
+        private int rows;
+
+        private Builder(int expectedRows) {
+            int capacity = Math.max(expectedRows, 16);
+            ids = new long[capacity];
+            prices = new long[capacity];
+            createdAtMicros = new long[capacity];
+            statuses = new byte[capacity];
+            category1s = new int[capacity];
+        }
+
+        Builder add(long id, long partnerId, long price, LocalDateTime createdAt, ProductStatus status, int category1) {
+            if (partners == 0 || partnerIds[partners - 1] != partnerId) {
+                if (partners > 0 && partnerIds[partners - 1] > partnerId) {
+                    throw new IllegalStateException("rows must be ordered by (partner_id, id): partnerId=" + partnerId);
+                }
+                if (partners == partnerIds.length) {
+                    partnerIds = Arrays.copyOf(partnerIds, partners * 2);
+                    partnerOffsets = Arrays.copyOf(partnerOffsets, partners * 2 + 1);
+                }
+                partnerIds[partners] = partnerId;
+                partnerOffsets[partners] = rows;
+                partners++;
+            } else if (ids[rows - 1] >= id) {
+                throw new IllegalStateException("rows must be ordered by (partner_id, id): id=" + id);
+            }
+
+            if (rows == ids.length) {
+                int capacity = rows * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                createdAtMicros = Arrays.copyOf(createdAtMicros, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+                category1s = Arrays.copyOf(category1s, capacity);
+            }
+            ids[rows] = id;
+            prices[rows] = price;
+            createdAtMicros[rows] = toMicros(createdAt);
+            statuses[rows] = (byte) status.ordinal();
+            category1s[rows] = category1;
+            rows++;
+            return this;
+        }
+
+        ProductColumnarSnapshot build() {
+            int[] offsets = Arrays.copyOf(partnerOffsets, partners + 1);
+            offsets[partners] = rows;
+            return sorted(
+                    Arrays.copyOf(partnerIds, partners),
+                    offsets,
+                    Arrays.copyOf(ids, rows),
+                    Arrays.copyOf(prices, rows),
+                    Arrays.copyOf(createdAtMicros, rows),
+                    Arrays.copyOf(statuses, rows),
+                    Arrays.copyOf(category1s, rows)
+            );
+        }
+    }
+}
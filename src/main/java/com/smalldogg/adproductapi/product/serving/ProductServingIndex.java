@@ -0,0 +1,297 @@
+package com.smalldogg.adproductapi.product.serving;
+
+import com.smalldogg.adproductapi.config.ProductServingIndexProperties;
+import com.smalldogg.adproductapi.product.ProductListFilter;
+import com.smalldogg.adproductapi.product.cursor.ProductCursor;
+import com.smalldogg.adproductapi.product.entity.ProductStatus;
+import com.smalldogg.adproductapi.product.enums.ProductSortType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 파트너 목록 조회(partnerId 필터 + ProductSortType 정렬)를 DB 없이 처리하는 in-process 인덱스.
+ * (product.serving-index.enabled=true 일 때만 적재)
+ *
+ * 상품 테이블의 정렬/필터 컬럼만 ProductColumnarSnapshot 에 담아 두고, 페이지에 들어갈 행 선택과 전체 건수를 메모리에서 계산합니다.
+ * 이름/이미지 등 나머지 컬럼은 호출 측(ProductService)이 단건 조회 캐시에서 채웁니다.
+ *
+ * 갱신
+ * - 기동 시 전체를 한 번 읽습니다.
+ * - 임포트 청크가 커밋되면 그 청크의 파트너(이동 전 파트너 포함)를 "낡음"으로 표시만 합니다.
+ *   낡은 파트너는 스냅샷의 목록/건수가 커밋된 데이터와 다를 수 있으므로 재적재 전까지 DB 로 조회합니다.
+ * - 임포트가 끝나면(동기 bulk-add 커밋, 비동기 job 종료) rebuildDelay 뒤에 낡은 파트너의 행만 다시 읽어
+ *   나머지 파트너와 합친 새 스냅샷으로 참조를 한 번에 바꿉니다. (조회 중인 요청은 이전 스냅샷을 끝까지 사용)
+ * - 상태 변경은 커밋 직후 스냅샷의 status 한 칸만 고칩니다. 재적재가 그 커밋 이전에 시작됐다면 그 파트너를 다시 읽습니다.
+ *
+ * 메트릭: product.serving_index.rows / .bytes, product.serving_index.rebuild (재적재 소요 시간)
+ */
+@Slf4j
+@Component
+public class ProductServingIndex {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    /**
+     * (partner_id, id) 순으로 읽어 builder 에 그대로 넣습니다.
+     */
+    private static final String LOAD_SQL = """
+            select id, partner_id, price, created_at, status, category1
+            from product
+            order by partner_id, id
+            """;
+
+    private static final String LOAD_PARTNERS_SQL = """
+            select id, partner_id, price, created_at, status, category1
+            from product
+            where partner_id = any(?)
+            order by partner_id, id
+            """;
+
+    private final boolean enabled;
+    private final long rebuildDelayMillis;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate loadTransaction;
+    private final Timer rebuildTimer;
+
+    private final ScheduledExecutorService rebuilder;
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private volatile boolean rebuilding;
+    private volatile ProductColumnarSnapshot snapshot;
+
+    /**
+     * 커밋됐지만 스냅샷에 아직 반영하지 않은 파트너 → 표시 순번.
+     * 재적재는 시작 시점의 순번과 같을 때만 지우므로, 재적재 중 다시 표시된 파트너는 낡은 상태로 남습니다.
+     */
+    private final ConcurrentHashMap<Long, Long> stalePartners = new ConcurrentHashMap<>();
+    private final AtomicLong staleSequence = new AtomicLong();
+
+    public ProductServingIndex(ProductServingIndexProperties properties,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry registry) {
+        this.enabled = properties.enabled();
+        this.rebuildDelayMillis = properties.rebuildDelay().toMillis();
+        this.jdbcTemplate = jdbcTemplate;
+        // 서버 측 커서(fetchSize)를 쓰려면 트랜잭션이 필요. 읽기 전용으로 두면 replica 로 가서
+        // 방금 커밋된 임포트가 안 보일 수 있으므로 일반 트랜잭션(primary)으로 읽음
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTimer = Timer.builder("product.serving_index.rebuild").register(registry);
+        this.rebuilder = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "serving-index-rebuild");
+            t.setDaemon(true);
+            return t;
+        });
+
+        Gauge.builder("product.serving_index.rows", this, i -> i.snapshot == null ? 0 : i.snapshot.size())
+                .register(registry);
+        Gauge.builder("product.serving_index.bytes", this, i -> i.snapshot == null ? 0 : i.snapshot.memoryBytes())
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            requestRebuild(0);
+        }
+    }
+
+    /**
+     * 적재가 끝났고, 스냅샷에 있는 컬럼만으로 처리할 수 있는 필터인지
+     * (partnerId 필수, 낡은 파트너 제외, status / category1 까지만, 이름/id 검색 제외)
+     */
+    public boolean canServe(ProductListFilter filter) {
+        return snapshot != null
+                && filter.partnerId() != null
+                && !stalePartners.containsKey(filter.partnerId())
+                && filter.nameContains() == null
+                && filter.namePrefix() == null
+                && filter.productId() == null
+                && filter.category2() == null;
+    }
+
+    public List<Row> findByOffset(ProductListFilter filter, ProductSortType sortType, long offset, int limit) {
+        return select(filter, sortType, null, offset, limit);
+    }
+
+    public List<Row> findBySeek(ProductListFilter filter, ProductSortType sortType, ProductCursor after, int limit) {
+        return select(filter, sortType, after, 0, limit);
+    }
+
+    public long count(ProductListFilter filter) {
+        return snapshot.count(filter.partnerId(), filter.status(), filter.category1());
+    }
+
+    private List<Row> select(ProductListFilter filter, ProductSortType sortType, ProductCursor after, long offset, int limit) {
+        ProductColumnarSnapshot s = snapshot;
+        int[] rows = s.select(filter.partnerId(), filter.status(), filter.category1(), sortType, after, offset, limit);
+        List<Row> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            result.add(new Row(s.id(row), filter.partnerId(), s.status(row), s.price(row), s.createdAt(row)));
+        }
+        return result;
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 partnerIds 를 낡음으로 표시합니다. 재적재는 예약하지 않습니다. (refreshAfterCommit)
+     */
+    public void markStaleAfterCommit(Collection<Long> partnerIds) {
+        if (!enabled || partnerIds.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> markStale(partnerIds));
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 낡은 파트너의 재적재를 예약합니다. (트랜잭션 밖이면 바로 예약)
+     * 임포트 하나가 끝날 때 한 번 호출합니다. 그 사이 끝난 다른 임포트와는 한 번의 재적재로 묶입니다.
+     */
+    public void refreshAfterCommit() {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> requestRebuild(rebuildDelayMillis));
+    }
+
+    public void patchStatusAfterCommit(long partnerId, long productId, ProductStatus status) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            boolean racing = rebuilding;
+            ProductColumnarSnapshot s = snapshot;
+            if (s != null) {
+                s.patchStatus(partnerId, productId, status);
+            }
+            // 커밋 전에 시작된 재적재는 이전 상태를 읽었을 수 있음
+            if (racing || snapshot != s) {
+                markStale(List.of(partnerId));
+                requestRebuild(rebuildDelayMillis);
+            }
+        });
+    }
+
+    private void markStale(Collection<Long> partnerIds) {
+        for (Long partnerId : partnerIds) {
+            stalePartners.put(partnerId, staleSequence.incrementAndGet());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void requestRebuild(long delayMillis) {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuilder.schedule(this::rebuild, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void rebuild() {
+        // 재적재 도중 들어온 요청은 다음 재적재로 예약되도록 먼저 풀어 둠
+        rebuildScheduled.set(false);
+        rebuilding = true;
+        try {
+            ProductColumnarSnapshot previous = snapshot;
+            // 표시는 커밋 후에 하므로, 여기서 본 파트너는 아래에서 읽을 때 그 커밋이 보임
+            Map<Long, Long> stale = Map.copyOf(stalePartners);
+            if (previous != null && stale.isEmpty()) {
+                return;
+            }
+
+            ProductColumnarSnapshot loaded = rebuildTimer.record(() -> previous == null
+                    ? loadAll()
+                    : previous.replacePartners(sorted(stale.keySet()), loadPartners(stale.keySet())));
+            snapshot = loaded;
+            for (Map.Entry<Long, Long> e : stale.entrySet()) {
+                stalePartners.remove(e.getKey(), e.getValue());
+            }
+            log.info("Serving index rebuilt. rows={}, bytes={}, reloadedPartners={}",
+                    loaded.size(), loaded.memoryBytes(), previous == null ? "all" : stale.size());
+        } catch (RuntimeException e) {
+            log.warn("Serving index rebuild failed. Keeping previous snapshot.", e);
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    private ProductColumnarSnapshot loadAll() {
+        return load(con -> con.prepareStatement(LOAD_SQL));
+    }
+
+    private ProductColumnarSnapshot loadPartners(Collection<Long> partnerIds) {
+        return load(con -> {
+            PreparedStatement ps = con.prepareStatement(LOAD_PARTNERS_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", partnerIds.toArray()));
+            return ps;
+        });
+    }
+
+    private ProductColumnarSnapshot load(PreparedStatementCreator query) {
+        ProductColumnarSnapshot.Builder builder = ProductColumnarSnapshot.builder(FETCH_SIZE);
+
+        return loadTransaction.execute(status -> {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = query.createPreparedStatement(con);
+                ps.setFetchSize(FETCH_SIZE);
+                return ps;
+            }, rs -> {
+                builder.add(
+                        rs.getLong(1),
+                        rs.getLong(2),
+                        rs.getLong(3),
+                        rs.getObject(4, LocalDateTime.class),
+                        ProductStatus.valueOf(rs.getString(5)),
+                        rs.getInt(6)
+                );
+            });
+            return builder.build();
+        });
+    }
+
+    private static long[] sorted(Collection<Long> partnerIds) {
+        long[] sorted = partnerIds.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * 인덱스가 고른 행. 정렬/커서에 쓰이는 값(price, createdAt)은 스냅샷 기준입니다.
+     */
+    public record Row(long id, long partnerId, ProductStatus status, long price, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,71 @@
+-- 파트너 × 상태별 상품 수 카운터
+-- 목록 조회의 count(*) 대신 이 테이블 합계로 전체 건수를 응답합니다.
+create table product_status_count (
+                         partner_id     bigint not null,
+                         status         varchar(30) not null,
+                         product_count  bigint not null,
+                         primary key (partner_id, status)
+);
+
+insert into product_status_count (partner_id, status, product_count)
+select partner_id, status, count(*)
+from product
+group by partner_id, status;
+
+-- product 변경분을 문장 단위(transition table)로 집계해 반영합니다.
+-- bulk-add 의 INSERT ... ON CONFLICT, 상태 변경(UPDATE), 삭제 모두 이 경로로 맞춰지며
+-- 행 단위 트리거가 아니므로 청크(수천 행)당 카운터 갱신은 (파트너, 상태) 조합 수만큼만 일어납니다.
+-- (파트너, 상태) 순으로 정렬해 갱신하여 동시 임포트 간 데드락을 피합니다.
+create function product_status_count_apply() returns trigger
+    language plpgsql as
+$$
+begin
+    if tg_op = 'INSERT' then
+        insert into product_status_count (partner_id, status, product_count)
+        select partner_id, status, count(*)
+        from new_rows
+        group by partner_id, status
+        order by partner_id, status
+        on conflict (partner_id, status) do update
+            set product_count = product_status_count.product_count + excluded.product_count;
+
+    elsif tg_op = 'UPDATE' then
+        insert into product_status_count (partner_id, status, product_count)
+        select partner_id, status, sum(delta)
+        from (select partner_id, status, 1 as delta from new_rows
+              union all
+              select partner_id, status, -1 as delta from old_rows) d
+        group by partner_id, status
+        having sum(delta) <> 0
+        order by partner_id, status
+        on conflict (partner_id, status) do update
+            set product_count = product_status_count.product_count + excluded.product_count;
+
+    elsif tg_op = 'DELETE' then
+        insert into product_status_count (partner_id, status, product_count)
+        select partner_id, status, -count(*)
+        from old_rows
+        group by partner_id, status
+        order by partner_id, status
+        on conflict (partner_id, status) do update
+            set product_count = product_status_count.product_count + excluded.product_count;
+    end if;
+
+    return null;
+end;
+$$;
+
+create trigger trg_product_status_count_insert
+    after insert on product
+    referencing new table as new_rows
+    for each statement execute function product_status_count_apply();
+
+create trigger trg_product_status_count_update
+    after update on product
+    referencing old table as old_rows new table as new_rows
+    for each statement execute function product_status_count_apply();
+
+create trigger trg_product_status_count_delete
+    after delete on product
+    referencing old table as old_rows
+    for each statement execute function product_status_count_apply();
@@ -0,0 +1,13 @@
+-- 이름 검색 인덱스
+-- lower(name) like '%kw%' 는 btree 로 처리할 수 없어 product 전체를 seq scan 하던 경로를 대체합니다.
+
+create extension if not exists pg_trgm;
+
+-- 부분 일치: name ilike '%kw%' (searchType=NAME)
+create index idx_product_name_trgm
+    on product using gin (name gin_trgm_ops);
+
+-- 접두 일치: lower(name) like 'kw%' (searchType=NAME_PREFIX)
+-- text_pattern_ops 로 DB collation 과 무관하게 like 'prefix%' 범위 탐색이 가능
+create index idx_product_name_lower_prefix
+    on product (lower(name) text_pattern_ops);
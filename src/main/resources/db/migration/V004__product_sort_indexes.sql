@@ -0,0 +1,36 @@
+-- 1) 스키마 드리프트 보정
+-- Product 엔티티는 category1..3 을 매핑하지만 V001 에는 컬럼이 없었습니다.
+-- 기존 행은 원본 카테고리를 알 수 없으므로 0 으로 채우고, 이후 적재분은 항상 값을 넣으므로 default 는 제거합니다.
+alter table product add column if not exists category1 integer not null default 0;
+alter table product add column if not exists category2 integer not null default 0;
+alter table product add column if not exists category3 integer not null default 0;
+
+alter table product alter column category1 drop default;
+alter table product alter column category2 drop default;
+alter table product alter column category3 drop default;
+
+-- 2) 정렬별 목록 조회 경로 인덱스 (ProductRepositoryImpl.orderBy 와 1:1)
+-- 정렬 키와 tie-breaker(id)를 함께 두어 ORDER BY ... LIMIT 과 (sortKey, id) seek 가
+-- 정렬(Sort) 없이 인덱스 순서대로 끝나도록 합니다. asc/desc 는 같은 인덱스를 역방향으로 스캔합니다.
+
+-- ID / ID_DESC (파트너 필터). 파트너 필터가 없으면 PK 를 사용
+create index idx_product_partner_id_id
+    on product (partner_id, id);
+
+-- CREATED_AT (created_at desc, id desc)
+create index idx_product_partner_created_at_id
+    on product (partner_id, created_at desc, id desc);
+
+create index idx_product_created_at_id
+    on product (created_at desc, id desc);
+
+-- PRICE_ASC (price asc, id asc) / PRICE_DESC (price desc, id desc)
+create index idx_product_partner_price_id
+    on product (partner_id, price, id);
+
+create index idx_product_price_id
+    on product (price, id);
+
+-- 위 인덱스들의 선두 컬럼과 겹치는 기존 단일 컬럼 인덱스 제거
+drop index if exists idx_product_partner_id;
+drop index if exists idx_product_created_at;
@@ -0,0 +1,51 @@
+-- product_status_count 카운터 행 분산 (병렬 임포트용)
+-- 병렬 임포트의 writer 들은 서로 다른 id 를 기록하지만, 트리거가 같은 (파트너, 상태) 카운터 행을 갱신하므로
+-- 커밋까지 그 행 잠금을 기다리며 사실상 한 줄로 직렬화됩니다.
+-- 카운터를 (파트너, 상태, slot) 으로 나누고 slot 을 세션(backend pid)별로 골라 writer 간 잠금 경합을 없앱니다.
+-- 조회는 원래부터 sum(product_count) 이므로 바뀌지 않습니다. (slot 별 값은 음수가 될 수 있음)
+
+alter table product_status_count add column slot smallint not null default 0;
+
+alter table product_status_count drop constraint product_status_count_pkey;
+alter table product_status_count add primary key (partner_id, status, slot);
+
+create or replace function product_status_count_apply() returns trigger
+    language plpgsql as
+$$
+declare
+    v_slot smallint := pg_backend_pid() % 16;
+begin
+    if tg_op = 'INSERT' then
+        insert into product_status_count (partner_id, status, slot, product_count)
+        select partner_id, status, v_slot, count(*)
+        from new_rows
+        group by partner_id, status
+        order by partner_id, status
+        on conflict (partner_id, status, slot) do update
+            set product_count = product_status_count.product_count + excluded.product_count;
+
+    elsif tg_op = 'UPDATE' then
+        insert into product_status_count (partner_id, status, slot, product_count)
+        select partner_id, status, v_slot, sum(delta)
+        from (select partner_id, status, 1 as delta from new_rows
+              union all
+              select partner_id, status, -1 as delta from old_rows) d
+        group by partner_id, status
+        having sum(delta) <> 0
+        order by partner_id, status
+        on conflict (partner_id, status, slot) do update
+            set product_count = product_status_count.product_count + excluded.product_count;
+
+    elsif tg_op = 'DELETE' then
+        insert into product_status_count (partner_id, status, slot, product_count)
+        select partner_id, status, v_slot, -count(*)
+        from old_rows
+        group by partner_id, status
+        order by partner_id, status
+        on conflict (partner_id, status, slot) do update
+            set product_count = product_status_count.product_count + excluded.product_count;
+    end if;
+
+    return null;
+end;
+$$;
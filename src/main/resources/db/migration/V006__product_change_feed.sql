@@ -0,0 +1,29 @@
+-- 변경 피드 (GET /api/v1/products/changes)
+--
+-- modified_at 은 파트너 CSV 의 값을 그대로 저장하므로 과거 시각으로 upsert 될 수 있고,
+-- 서버 시각(now())도 트랜잭션 시작 시각이라 긴 임포트가 커밋되기 전에 소비자가 그 시각을 지나쳐 버리면 누락됩니다.
+-- 대신 행을 마지막으로 쓴 트랜잭션 ID(change_xid)를 기록하고,
+-- 조회 시점 스냅샷의 xmin(아직 진행 중인 가장 오래된 트랜잭션) 미만까지만 내려줍니다.
+-- xmin 미만 트랜잭션은 모두 끝났으므로 그 아래에는 나중에 커밋되어 끼어드는 행이 없습니다.
+
+-- 기존 행은 0 (첫 동기화에 모두 포함)
+alter table product add column change_xid bigint not null default 0;
+alter table product alter column change_xid set default (pg_current_xact_id()::text::bigint);
+
+-- UPDATE 경로 (bulk-add 의 ON CONFLICT DO UPDATE, 상태 변경 등) 모두 갱신
+create function product_touch_change_xid() returns trigger
+    language plpgsql as
+$$
+begin
+    new.change_xid := pg_current_xact_id()::text::bigint;
+    return new;
+end;
+$$;
+
+create trigger trg_product_touch_change_xid
+    before update on product
+    for each row execute function product_touch_change_xid();
+
+-- (change_xid, id) keyset
+create index idx_product_change_xid_id
+    on product (change_xid, id);
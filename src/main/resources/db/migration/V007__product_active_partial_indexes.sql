@@ -0,0 +1,48 @@
+-- 광고 서빙 경로(status = 'ACTIVE') 전용 부분 인덱스
+-- 테이블 대부분은 REJECTED / SUSPENDED / SOLD_OUT 이라 V004 의 전체 인덱스로 ACTIVE 만 읽으면
+-- 정렬 순서대로 훑으면서 비활성 행을 계속 건너뛰게 됩니다.
+-- 부분 인덱스는 ACTIVE 행만 담으므로 크기가 작고, 비활성 행의 쓰기에는 유지 비용이 없습니다.
+--
+-- planner 는 조건절에 status = 'ACTIVE' 리터럴이 있어야 부분 인덱스를 고를 수 있으므로
+-- ProductRepositoryImpl 은 상태 조건을 바인딩 파라미터가 아닌 리터럴로 씁니다. (generic plan 에서도 사용 가능)
+
+-- ID / ID_DESC
+create index idx_product_active_id
+    on product (id)
+    where status = 'ACTIVE';
+
+create index idx_product_active_partner_id_id
+    on product (partner_id, id)
+    where status = 'ACTIVE';
+
+-- CREATED_AT (created_at desc, id desc)
+create index idx_product_active_created_at_id
+    on product (created_at desc, id desc)
+    where status = 'ACTIVE';
+
+create index idx_product_active_partner_created_at_id
+    on product (partner_id, created_at desc, id desc)
+    where status = 'ACTIVE';
+
+-- PRICE_ASC / PRICE_DESC
+create index idx_product_active_price_id
+    on product (price, id)
+    where status = 'ACTIVE';
+
+create index idx_product_active_partner_price_id
+    on product (partner_id, price, id)
+    where status = 'ACTIVE';
+
+-- 카테고리 탐색 (최신순). 카테고리 조건은 category1 부터 연속으로 주는 깊이별로 하나씩
+-- (중간 깊이가 비면 created_at 정렬을 인덱스 순서로 처리할 수 없음)
+create index idx_product_active_category1_created_at_id
+    on product (category1, created_at desc, id desc)
+    where status = 'ACTIVE';
+
+create index idx_product_active_category2_created_at_id
+    on product (category1, category2, created_at desc, id desc)
+    where status = 'ACTIVE';
+
+create index idx_product_active_category3_created_at_id
+    on product (category1, category2, category3, created_at desc, id desc)
+    where status = 'ACTIVE';
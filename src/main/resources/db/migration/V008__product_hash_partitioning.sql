@@ -0,0 +1,100 @@
+-- product 를 partner_id 해시 파티션(16개)으로 전환
+--
+-- 거의 모든 조회/임포트가 partner_id 단위라 파티션 하나의 인덱스/힙만 건드리게 되고,
+-- vacuum / 인덱스 유지가 파티션 단위로 나뉩니다.
+--
+-- 파티션 테이블의 PK/유니크 인덱스는 파티션 키를 포함해야 하므로 PK 는 (id, partner_id) 입니다.
+-- - id 만으로 찾으면 PK 선두 컬럼이 id 라도 파티션마다 인덱스를 탐색하므로,
+--   id 로 찾는 경로(단건/batch-get/상태 변경)는 product_id 등록부(V009)에서 partner_id 를 찾아 파티션 하나만 읽습니다.
+-- - id 의 전역 유일성은 DB 가 보장하지 않으므로 쓰기 경로(ProductBulkWriter)가 등록부로 보장합니다.
+--   (파트너가 바뀐 id 는 이전 파트너 파티션의 행을 지우고 새로 넣음)
+--
+-- 기존 데이터 이전: 새 테이블로 한 트랜잭션 안에서 복사합니다.
+-- 복사 → PK → 보조 인덱스 → 트리거 순서로 만들어 적재 중 인덱스/트리거 비용을 없앱니다.
+-- (트리거를 나중에 붙이므로 product_status_count 는 그대로 유지되고, change_xid 는 기존 값을 그대로 옮김)
+-- 이전 중에는 product 에 ACCESS EXCLUSIVE 잠금이 걸리므로 임포트/조회가 없는 시간에 배포해야 합니다.
+
+alter table product rename to product_legacy;
+
+create table product (
+    id          bigint       not null,
+    partner_id  bigint       not null,
+    category1   integer      not null,
+    category2   integer      not null,
+    category3   integer      not null,
+    name        varchar(200) not null,
+    status      varchar(30)  not null,
+    price       bigint       not null,
+    image_url   varchar(500),
+    created_at  timestamp    not null,
+    modified_at timestamp    not null,
+    change_xid  bigint       not null default (pg_current_xact_id()::text::bigint)
+) partition by hash (partner_id);
+
+do
+$$
+begin
+    for i in 0..15 loop
+        execute format('create table product_p%s partition of product for values with (modulus 16, remainder %s)',
+                       lpad(i::text, 2, '0'), i);
+    end loop;
+end;
+$$;
+
+insert into product (id, partner_id, category1, category2, category3, name, status, price, image_url,
+                     created_at, modified_at, change_xid)
+select id, partner_id, category1, category2, category3, name, status, price, image_url,
+       created_at, modified_at, change_xid
+from product_legacy;
+
+-- 이전 테이블의 트리거/인덱스도 함께 제거 (이름이 같은 인덱스를 아래에서 다시 만듦)
+drop table product_legacy;
+
+alter table product add constraint product_pkey primary key (id, partner_id);
+
+-- 아래 인덱스는 모두 파티션마다 만들어집니다. (V001, V003, V004, V006, V007 과 동일)
+create index idx_product_partner_status on product (partner_id, status);
+
+create index idx_product_name_trgm on product using gin (name gin_trgm_ops);
+create index idx_product_name_lower_prefix on product (lower(name) text_pattern_ops);
+
+create index idx_product_partner_id_id on product (partner_id, id);
+create index idx_product_partner_created_at_id on product (partner_id, created_at desc, id desc);
+create index idx_product_created_at_id on product (created_at desc, id desc);
+create index idx_product_partner_price_id on product (partner_id, price, id);
+create index idx_product_price_id on product (price, id);
+
+create index idx_product_change_xid_id on product (change_xid, id);
+
+create index idx_product_active_id on product (id) where status = 'ACTIVE';
+create index idx_product_active_partner_id_id on product (partner_id, id) where status = 'ACTIVE';
+create index idx_product_active_created_at_id on product (created_at desc, id desc) where status = 'ACTIVE';
+create index idx_product_active_partner_created_at_id on product (partner_id, created_at desc, id desc) where status = 'ACTIVE';
+create index idx_product_active_price_id on product (price, id) where status = 'ACTIVE';
+create index idx_product_active_partner_price_id on product (partner_id, price, id) where status = 'ACTIVE';
+create index idx_product_active_category1_created_at_id on product (category1, created_at desc, id desc) where status = 'ACTIVE';
+create index idx_product_active_category2_created_at_id on product (category1, category2, created_at desc, id desc) where status = 'ACTIVE';
+create index idx_product_active_category3_created_at_id on product (category1, category2, category3, created_at desc, id desc) where status = 'ACTIVE';
+
+-- 트리거 (함수는 V005 / V006 의 것을 그대로 사용)
+-- 전이 테이블을 쓰는 문장 단위 트리거는 파티션 테이블(부모)에 둘 수 있고, 모든 파티션의 변경분을 한 번에 받습니다.
+create trigger trg_product_status_count_insert
+    after insert on product
+    referencing new table as new_rows
+    for each statement execute function product_status_count_apply();
+
+create trigger trg_product_status_count_update
+    after update on product
+    referencing old table as old_rows new table as new_rows
+    for each statement execute function product_status_count_apply();
+
+create trigger trg_product_status_count_delete
+    after delete on product
+    referencing old table as old_rows
+    for each statement execute function product_status_count_apply();
+
+create trigger trg_product_touch_change_xid
+    before update on product
+    for each row execute function product_touch_change_xid();
+
+analyze product;
@@ -0,0 +1,31 @@
+-- id 전역 유일성을 위한 등록부 (파티션하지 않은 테이블)
+--
+-- V008 이후 PK 가 (id, partner_id) 라 DB 는 다른 파트너 파티션에 같은 id 가 들어가는 것을 막지 못합니다.
+-- 쓰기 경로의 "이전 파트너 행 삭제 / not exists" 확인은 다른 트랜잭션의 커밋 전 행을 보지 못하므로,
+-- 같은 id 를 서로 다른 파트너로 동시에 쓰는 두 트랜잭션(비동기 job, 동기 bulk-add, 병렬 writer)이 둘 다 INSERT 할 수 있습니다.
+--
+-- product_id 의 PK(id) 가 id 단위 잠금 역할을 합니다.
+-- ProductBulkWriter 는 product 를 쓰기 전에 청크의 id 를 여기에 먼저 등록하거나 잠그므로(INSERT ... ON CONFLICT),
+-- 같은 id 를 쓰는 다른 트랜잭션은 앞 트랜잭션이 끝날 때까지 기다린 뒤 그 결과를 새 스냅샷으로 보고 진행합니다.
+-- partner_id 는 그 id 가 현재 들어 있는 파트너입니다. (파트너 이동 시 함께 갱신)
+-- id 로 찾는 조회/상태 변경(ProductRepositoryImpl)도 이 partner_id 로 product 파티션 하나만 읽습니다.
+--
+-- 이전 중에는 product 를 지우고 읽으므로 임포트가 없는 시간에 배포해야 합니다.
+
+-- 이미 생긴 중복 id 는 modified_at 이 가장 최신인 행(같으면 partner_id 가 큰 행)만 남깁니다.
+delete from product p
+using product q
+where p.id = q.id
+  and p.partner_id <> q.partner_id
+  and (p.modified_at, p.partner_id) < (q.modified_at, q.partner_id);
+
+create table product_id (
+    id         bigint primary key,
+    partner_id bigint not null
+);
+
+insert into product_id (id, partner_id)
+select id, partner_id
+from product;
+
+analyze product_id;
@@ -0,0 +1,80 @@
+package com.smalldogg.adproductapi.config;
+
+import com.smalldogg.adproductapi.product.cursor.ProductCursor;
+import com.smalldogg.adproductapi.product.enums.ProductSortType;
+import com.smalldogg.adproductapi.product.response.ProductFieldSelection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ApiExceptionHandlerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.registerSingleton("apiExceptionHandler", ApiExceptionHandler.class);
+        context.refresh();
+        ExceptionHandlerExceptionResolver resolver = new ExceptionHandlerExceptionResolver();
+        resolver.setApplicationContext(context);
+        resolver.afterPropertiesSet();
+
+        // 컨트롤러와 필터가 같은 resolver 를 쓰도록 (운영에서는 handlerExceptionResolver 빈)
+        mockMvc = MockMvcBuilders.standaloneSetup(new ValidatingController())
+                .setHandlerExceptionResolvers(resolver)
+                .addFilters(new ReadConsistencyFilter(resolver))
+                .build();
+    }
+
+    @Test
+    void invalidCursorIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/test").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Invalid cursor."));
+    }
+
+    @Test
+    void unknownFieldIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/test").param("fields", "id,nope"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value(startsWith("Unknown field: nope.")));
+    }
+
+    @Test
+    void unknownReadConsistencyIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/test").header(ReadConsistency.HEADER, "primray"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Unknown X-Read-Consistency: primray. available=[primary]"));
+    }
+
+    @Test
+    void validRequestIsOk() throws Exception {
+        mockMvc.perform(get("/api/v1/test").header(ReadConsistency.HEADER, "PRIMARY").param("fields", "id"))
+                .andExpect(status().isOk());
+    }
+
+    @RestController
+    static class ValidatingController {
+
+        @GetMapping("/api/v1/test")
+        String get(@RequestParam(required = false) String cursor, @RequestParam(required = false) String fields) {
+            if (cursor != null) {
+                ProductCursor.decode(cursor, ProductSortType.ID);
+            }
+            ProductFieldSelection.parse(fields, ProductFieldSelection.LIST_ITEM_FIELDS);
+            return "ok";
+        }
+    }
+}
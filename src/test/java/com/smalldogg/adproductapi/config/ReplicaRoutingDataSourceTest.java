@@ -0,0 +1,129 @@
+package com.smalldogg.adproductapi.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final StubDataSource primary = new StubDataSource("primary");
+    private final StubDataSource replica1 = new StubDataSource("replica-1");
+    private final StubDataSource replica2 = new StubDataSource("replica-2");
+    private final Map<StubDataSource, Double> lags = new HashMap<>();
+
+    private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+            primary,
+            List.of(new ReplicaRoutingDataSource.Replica("replica-1", replica1),
+                    new ReplicaRoutingDataSource.Replica("replica-2", replica2)),
+            Duration.ofSeconds(10),
+            new SimpleMeterRegistry(),
+            ds -> {
+                StubDataSource stub = (StubDataSource) ds;
+                if (stub.down) {
+                    throw new SQLException("connection refused");
+                }
+                return lags.getOrDefault(stub, 0.0);
+            });
+
+    @Test
+    void roundRobinsAcrossReplicas() throws SQLException {
+        assertThat(List.of(open(), open(), open(), open()))
+                .containsExactly("replica-1", "replica-2", "replica-1", "replica-2");
+        assertThat(primary.opened).isZero();
+    }
+
+    @Test
+    void skipsReplicaThatFailsToConnect() throws SQLException {
+        replica1.down = true;
+
+        assertThat(List.of(open(), open(), open())).containsOnly("replica-2");
+    }
+
+    /**
+     * 접속 실패(풀 타임아웃)는 그 replica 를 고른 첫 요청만 겪고, 상태 확인이 되살리기 전까지는 다시 시도하지 않습니다.
+     */
+    @Test
+    void failedReplicaIsNotRetriedUntilHealthCheckRestoresIt() throws SQLException {
+        replica1.down = true;
+        assertThat(List.of(open(), open(), open(), open())).containsOnly("replica-2");
+        assertThat(replica1.attempts).isEqualTo(1);
+
+        replica1.down = false;
+        assertThat(open()).isEqualTo("replica-2");
+        routing.checkHealth();
+        assertThat(List.of(open(), open())).containsExactlyInAnyOrder("replica-1", "replica-2");
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenNoReplicaIsHealthy() throws SQLException {
+        replica1.down = true;
+        replica2.down = true;
+        routing.checkHealth();
+
+        assertThat(open()).isEqualTo("primary");
+        assertThat(replica1.opened + replica2.opened).isZero();
+    }
+
+    @Test
+    void excludesLaggingReplicaUntilItCatchesUp() throws SQLException {
+        lags.put(replica2, 30.0);
+        routing.checkHealth();
+        assertThat(List.of(open(), open())).containsOnly("replica-1");
+
+        lags.put(replica2, 0.5);
+        routing.checkHealth();
+        assertThat(List.of(open(), open())).containsExactlyInAnyOrder("replica-1", "replica-2");
+    }
+
+    @Test
+    void readYourWritesGoesToPrimary() throws SQLException {
+        try (ReadConsistency.Scope ignored = ReadConsistency.require(true)) {
+            assertThat(open()).isEqualTo("primary");
+        }
+        assertThat(open()).startsWith("replica-");
+    }
+
+    private String open() throws SQLException {
+        return routing.getConnection().toString();
+    }
+
+    private static final class StubDataSource extends AbstractDataSource {
+
+        private final String name;
+        private boolean down;
+        private int attempts;
+        private int opened;
+
+        private StubDataSource(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            attempts++;
+            if (down) {
+                throw new SQLException("connection refused");
+            }
+            opened++;
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> method.getName().equals("toString") ? name : null);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
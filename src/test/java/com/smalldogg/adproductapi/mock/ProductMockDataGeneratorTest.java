@@ -0,0 +1,81 @@
+package com.smalldogg.adproductapi.mock;
+
+import com.smalldogg.adproductapi.product.bulk.ProductCsvParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductMockDataGeneratorTest {
+
+    private static final ProductMockDataGenerator.Options OPTIONS = ProductMockDataGenerator.Options.parse(new String[]{
+            "--rows=50000", "--partners=500", "--zipf=1.1", "--seed=7", "--quoted-names=0.01", "--threads=1"
+    });
+
+    @Test
+    void sameSeedProducesSameBytesRegardlessOfThreads(@TempDir Path dir) throws IOException {
+        Path single = dir.resolve("single.csv");
+        Path parallel = dir.resolve("parallel.csv");
+        ProductMockDataGenerator.generate(single, OPTIONS);
+        ProductMockDataGenerator.generate(parallel, OPTIONS.withThreads(4));
+
+        assertThat(Files.readAllBytes(parallel)).isEqualTo(Files.readAllBytes(single));
+    }
+
+    @Test
+    void gzipDecompressesToPlainOutput(@TempDir Path dir) throws IOException {
+        Path plain = dir.resolve("products.csv");
+        Path gzip = dir.resolve("products.csv.gz");
+        ProductMockDataGenerator.generate(plain, OPTIONS);
+        ProductMockDataGenerator.generate(gzip, OPTIONS.withThreads(3).withGzip(true));
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(gzip))) {
+            assertThat(in.readAllBytes()).isEqualTo(Files.readAllBytes(plain));
+        }
+    }
+
+    /**
+     * 따옴표로 감싼 이름(콤마, 이스케이프된 따옴표, 줄바꿈)까지 임포트 파서가 그대로 읽어야 하고,
+     * Zipf 분포라 가장 큰 파트너가 균등 분포 평균(100)보다 훨씬 커야 합니다.
+     */
+    @Test
+    void outputParsesAndIsSkewed(@TempDir Path dir) throws IOException {
+        Path csv = dir.resolve("products.csv");
+        ProductMockDataGenerator.generate(csv, OPTIONS);
+
+        long rows = 0;
+        long quotedNames = 0;
+        Map<Long, Integer> perPartner = new HashMap<>();
+        try (InputStream in = Files.newInputStream(csv)) {
+            ProductCsvParser parser = new ProductCsvParser(in);
+            parser.next(); // header
+            while (parser.next()) {
+                assertThat(parser.error()).isNull();
+                assertThat(parser.fieldCount()).isEqualTo(9);
+
+                rows++;
+                assertThat(parser.getLong(0)).isEqualTo(rows);
+                perPartner.merge(parser.getLong(1), 1, Integer::sum);
+                String name = parser.getString(3);
+                if (name.contains(",") || name.contains("\"") || name.contains("\n")) {
+                    quotedNames++;
+                }
+                LocalDateTime createdAt = parser.getDateTime(7);
+                assertThat(parser.getDateTime(8)).isAfterOrEqualTo(createdAt);
+            }
+        }
+
+        assertThat(rows).isEqualTo(50_000);
+        assertThat(quotedNames).isBetween(250L, 750L);
+        assertThat(perPartner.values().stream().mapToInt(Integer::intValue).max().orElseThrow()).isGreaterThan(2_000);
+    }
+}
@@ -0,0 +1,69 @@
+package com.smalldogg.adproductapi.product;
+
+import com.smalldogg.adproductapi.product.response.ProductApiResponse;
+import com.smalldogg.adproductapi.product.response.ProductListResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductETagsTest {
+
+    @Test
+    void strongETagFollowsChangeXidNotModifiedAt() {
+        // 파트너가 modified_at 을 그대로 두고 내용만 바꿔도 change_xid 가 바뀌므로 ETag 가 바뀜
+        LocalDateTime t = LocalDateTime.of(2026, 1, 6, 12, 0);
+        ProductApiResponse before = product("name", t, 100L);
+        ProductApiResponse after = product("renamed", t, 101L);
+
+        assertThat(ProductETags.of(before)).isEqualTo("\"1-100\"");
+        assertThat(ProductETags.of(before)).isNotEqualTo(ProductETags.of(after));
+        assertThat(ProductETags.of(before)).isEqualTo(ProductETags.of(1L, 100L));
+        assertThat(ProductETags.of(1L, 100L)).isNotEqualTo(ProductETags.of(2L, 100L));
+    }
+
+    @Test
+    void lastModifiedIgnoresSubMicrosecondPrecision() {
+        // changeStatus 는 나노초까지 가진 now() 를 쓰지만 DB 에는 마이크로초까지만 저장됨
+        LocalDateTime fromEntity = LocalDateTime.of(2026, 1, 6, 12, 0, 0, 123_456_789);
+        LocalDateTime fromDb = LocalDateTime.of(2026, 1, 6, 12, 0, 0, 123_456_000);
+
+        assertThat(ProductETags.lastModified(fromEntity)).isEqualTo(ProductETags.lastModified(fromDb));
+    }
+
+    @Test
+    void weakETagChangesWhenAnyItemChanges() {
+        LocalDateTime t = LocalDateTime.of(2026, 1, 6, 12, 0);
+        ProductListResponse.PageMeta meta = new ProductListResponse.PageMeta(0, 20, null, null, false, null, null);
+
+        ProductListResponse before = new ProductListResponse(List.of(item(1L, "ACTIVE", t), item(2L, "ACTIVE", t)), meta);
+        ProductListResponse same = new ProductListResponse(List.of(item(1L, "ACTIVE", t), item(2L, "ACTIVE", t)), meta);
+        ProductListResponse changed = new ProductListResponse(List.of(item(1L, "ACTIVE", t), item(2L, "SOLD_OUT", t.plusSeconds(1))), meta);
+
+        assertThat(ProductETags.weak(before, null)).startsWith("W/\"").isEqualTo(ProductETags.weak(same, null));
+        assertThat(ProductETags.weak(before, null)).isNotEqualTo(ProductETags.weak(changed, null));
+        assertThat(ProductETags.weak(before, null)).isNotEqualTo(ProductETags.weak(before, "id,price,status"));
+    }
+
+    @Test
+    void weakETagChangesWhenContentChangesWithSameModifiedAt() {
+        LocalDateTime t = LocalDateTime.of(2026, 1, 6, 12, 0);
+        ProductListResponse.PageMeta meta = new ProductListResponse.PageMeta(0, 20, null, null, false, null, null);
+
+        ProductListResponse before = new ProductListResponse(List.of(item(1L, "ACTIVE", t)), meta);
+        ProductListResponse renamed = new ProductListResponse(List.of(
+                new ProductListResponse.ProductItem(1L, 1L, 100, 10, 1, "renamed", "ACTIVE", 1_000L, null, t, t)), meta);
+
+        assertThat(ProductETags.weak(before, null)).isNotEqualTo(ProductETags.weak(renamed, null));
+    }
+
+    private static ProductListResponse.ProductItem item(long id, String status, LocalDateTime modifiedAt) {
+        return new ProductListResponse.ProductItem(id, 1L, 100, 10, 1, "name", status, 1_000L, null, modifiedAt, modifiedAt);
+    }
+
+    private static ProductApiResponse product(String name, LocalDateTime modifiedAt, long changeXid) {
+        return new ProductApiResponse(1L, name, 1_000L, null, 1L, 100, 10, 1, modifiedAt, modifiedAt, changeXid);
+    }
+}
@@ -0,0 +1,280 @@
+package com.smalldogg.adproductapi.product;
+
+import com.smalldogg.adproductapi.product.cursor.ProductCursor;
+import com.smalldogg.adproductapi.product.entity.ProductStatus;
+import com.smalldogg.adproductapi.product.enums.ProductSortType;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 목록 조회 쿼리 형태별 EXPLAIN 회귀 테스트 (./gradlew queryPlanTest, check 에 포함).
+ *
+ * 로컬 PostgreSQL 에 Flyway 마이그레이션을 적용한 뒤 ProductRepositoryImpl 이 만드는 SQL 그대로 EXPLAIN 합니다.
+ * 테스트 DB 는 데이터가 적어 planner 가 seq scan 을 고르기 쉬우므로 enable_seqscan / enable_sort 를 끄고,
+ * 그래도 플랜에 Seq Scan 이나 Sort 가 남으면 "그 형태를 받쳐주는 인덱스가 없다"는 뜻으로 실패시킵니다.
+ *
+ * id 로 찾는 경로는 product_id 등록부로 파티션을 고르는지 EXPLAIN ANALYZE 로 실제 읽은 파티션 수를 확인합니다.
+ * (실행 시점 pruning 은 EXPLAIN 만으로는 드러나지 않음, 확인용 행을 넣고 끝나면 지움)
+ *
+ * 접속 정보: QUERY_PLAN_DB_URL / QUERY_PLAN_DB_USERNAME / QUERY_PLAN_DB_PASSWORD
+ * (QUERY_PLAN_DB_URL 을 지정하지 않았고 기본 로컬 DB 에 접속할 수 없으면 건너뜀)
+ */
+@Tag("query-plan")
+class QueryPlanRegressionTest {
+
+    private static final String DEFAULT_URL = "jdbc:postgresql://localhost:5432/product";
+
+    private static final long PROBE_ID = 9_000_000_000_000L;
+    private static final Pattern PARTITION_SCAN = Pattern.compile("Scan.* on (product_p\\d+) ");
+
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static ExplainingJdbcTemplate explainTemplate;
+    private static ProductRepositoryImpl repository;
+
+    @BeforeAll
+    static void setUp() {
+        String url = System.getenv("QUERY_PLAN_DB_URL");
+        String username = System.getenv().getOrDefault("QUERY_PLAN_DB_USERNAME", "test");
+        String password = System.getenv().getOrDefault("QUERY_PLAN_DB_PASSWORD", "test");
+        if (url == null) {
+            assumeTrue(isReachable(DEFAULT_URL, username, password), "local PostgreSQL is not available: " + DEFAULT_URL);
+            url = DEFAULT_URL;
+        }
+
+        Flyway.configure().dataSource(url, username, password).load().migrate();
+
+        dataSource = new SingleConnectionDataSource(url, username, password, true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        deleteProbeRows();
+        for (long i = 0; i < 2; i++) {
+            jdbcTemplate.update("""
+                    insert into product (id, partner_id, category1, category2, category3, name, status, price, created_at, modified_at)
+                    values (?, ?, 100, 10, 1, 'probe', 'ACTIVE', 1000, localtimestamp, localtimestamp)
+                    """, PROBE_ID + i, i + 1);
+            jdbcTemplate.update("insert into product_id (id, partner_id) values (?, ?)", PROBE_ID + i, i + 1);
+        }
+        jdbcTemplate.execute("analyze product");
+        jdbcTemplate.execute("analyze product_id");
+        jdbcTemplate.execute("set enable_seqscan = off");
+        jdbcTemplate.execute("set enable_sort = off");
+
+        explainTemplate = new ExplainingJdbcTemplate(jdbcTemplate);
+        repository = new ProductRepositoryImpl(jdbcTemplate, explainTemplate);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (dataSource != null) {
+            deleteProbeRows();
+            dataSource.destroy();
+        }
+    }
+
+    private static void deleteProbeRows() {
+        jdbcTemplate.update("delete from product where id between ? and ?", PROBE_ID, PROBE_ID + 1);
+        jdbcTemplate.update("delete from product_id where id between ? and ?", PROBE_ID, PROBE_ID + 1);
+    }
+
+    static Stream<Arguments> listingShapes() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 6, 12, 0);
+        List<Arguments> shapes = new ArrayList<>();
+
+        for (ProductSortType sortType : ProductSortType.values()) {
+            for (Long partnerId : new Long[]{null, 1L}) {
+                List<ProductListFilter> filters = List.of(
+                        new ProductListFilter(partnerId, null, null, null, null, null, null, null),
+                        new ProductListFilter(partnerId, null, null, null, ProductStatus.SUSPENDED, null, null, null),
+                        new ProductListFilter(partnerId, "shoe", null, null, null, null, null, null),
+                        new ProductListFilter(partnerId, null, "sho", null, null, null, null, null)
+                );
+                ProductCursor cursor = new ProductCursor(sortType, createdAt, 10_000L, 1_000L);
+                for (ProductListFilter filter : filters) {
+                    shapes.add(Arguments.of(sortType, filter, null));
+                    shapes.add(Arguments.of(sortType, filter, cursor));
+                }
+            }
+        }
+        return shapes.stream();
+    }
+
+    @ParameterizedTest(name = "seek {0} {1} after={2}")
+    @MethodSource("listingShapes")
+    void seekUsesIndexOrder(ProductSortType sortType, ProductListFilter filter, ProductCursor after) {
+        repository.findBySeek(filter, sortType, after, 21);
+
+        assertNoSeqScanOrSort(explainTemplate.lastPlan());
+    }
+
+    @ParameterizedTest(name = "offset {0} {1}")
+    @MethodSource("listingShapes")
+    void offsetUsesIndexOrder(ProductSortType sortType, ProductListFilter filter, ProductCursor ignored) {
+        repository.findByOffset(filter, sortType, 200, 21);
+
+        assertNoSeqScanOrSort(explainTemplate.lastPlan());
+    }
+
+    static Stream<Arguments> activeShapes() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 6, 12, 0);
+        List<Arguments> shapes = new ArrayList<>();
+
+        for (ProductSortType sortType : ProductSortType.values()) {
+            ProductCursor cursor = new ProductCursor(sortType, createdAt, 10_000L, 1_000L);
+            for (Long partnerId : new Long[]{null, 1L}) {
+                ProductListFilter filter = new ProductListFilter(partnerId, null, null, null, ProductStatus.ACTIVE, null, null, null);
+                shapes.add(Arguments.of(sortType, filter, null));
+                shapes.add(Arguments.of(sortType, filter, cursor));
+            }
+        }
+        ProductCursor cursor = new ProductCursor(ProductSortType.CREATED_AT, createdAt, 10_000L, 1_000L);
+        List<ProductListFilter> categoryFilters = List.of(
+                new ProductListFilter(null, null, null, null, ProductStatus.ACTIVE, 1, null, null),
+                new ProductListFilter(null, null, null, null, ProductStatus.ACTIVE, 1, 10, null),
+                new ProductListFilter(null, null, null, null, ProductStatus.ACTIVE, 1, 10, 100)
+        );
+        for (ProductListFilter filter : categoryFilters) {
+            shapes.add(Arguments.of(ProductSortType.CREATED_AT, filter, null));
+            shapes.add(Arguments.of(ProductSortType.CREATED_AT, filter, cursor));
+        }
+        return shapes.stream();
+    }
+
+    /**
+     * 서빙 경로(status=ACTIVE)는 비활성 행이 섞인 전체 인덱스가 아니라 ACTIVE 부분 인덱스(V007)를 타야 합니다.
+     */
+    @ParameterizedTest(name = "active seek {0} {1} after={2}")
+    @MethodSource("activeShapes")
+    void activeSeekUsesPartialIndex(ProductSortType sortType, ProductListFilter filter, ProductCursor after) {
+        repository.findBySeek(filter, sortType, after, 21);
+
+        assertNoSeqScanOrSort(explainTemplate.lastPlan());
+        assertThat(String.join("\n", explainTemplate.lastPlan())).contains("idx_product_active_");
+    }
+
+    @Test
+    void singleGetReadsOnePartition() {
+        assertScannedPartitions(explainAnalyze(ProductRepositoryImpl.FIND_API_RESPONSE_BY_ID_SQL, PROBE_ID), 1);
+        assertScannedPartitions(explainAnalyze(ProductRepositoryImpl.FIND_VERSION_BY_ID_SQL, PROBE_ID), 1);
+    }
+
+    @Test
+    void batchGetReadsOnlyPartitionsOfRequestedIds() {
+        Long[] ids = {PROBE_ID, PROBE_ID + 1};
+
+        assertScannedPartitions(explainAnalyze(ProductRepositoryImpl.FIND_API_RESPONSES_BY_IDS_SQL, (Object) ids), 2);
+    }
+
+    /**
+     * 실제로 갱신하므로 롤백합니다.
+     */
+    @Test
+    void statusChangeUpdatesOnePartition() {
+        List<String> plan = jdbcTemplate.execute((ConnectionCallback<List<String>>) con -> {
+            con.setAutoCommit(false);
+            try {
+                return new JdbcTemplate(new SingleConnectionDataSource(con, true)).query(
+                        "explain (analyze, costs off, timing off, summary off) " + ProductRepositoryImpl.UPDATE_STATUS_SQL,
+                        (rs, rowNum) -> rs.getString(1),
+                        ProductStatus.SUSPENDED.name(), LocalDateTime.now(), PROBE_ID, PROBE_ID);
+            } finally {
+                con.rollback();
+                con.setAutoCommit(true);
+            }
+        });
+
+        assertScannedPartitions(plan, 1);
+    }
+
+    private static List<String> explainAnalyze(String sql, Object... args) {
+        return jdbcTemplate.query("explain (analyze, costs off, timing off, summary off) " + sql,
+                (rs, rowNum) -> rs.getString(1), args);
+    }
+
+    /**
+     * 실행된 product 파티션 스캔이 1 ~ max 개인지 (실행 시점에 걸러진 파티션은 "never executed" 또는 "Subplans Removed")
+     */
+    private static void assertScannedPartitions(List<String> plan, int max) {
+        Set<String> scanned = new TreeSet<>();
+        for (String line : plan) {
+            Matcher m = PARTITION_SCAN.matcher(line);
+            if (m.find() && !line.contains("never executed")) {
+                scanned.add(m.group(1));
+            }
+        }
+        assertThat(scanned.size())
+                .as("plan:\n%s", String.join("\n", plan))
+                .isBetween(1, max);
+    }
+
+    private static void assertNoSeqScanOrSort(List<String> plan) {
+        String planText = String.join("\n", plan);
+        for (String line : plan) {
+            String node = line.strip();
+            if (node.startsWith("->")) {
+                node = node.substring(2).strip();
+            }
+            assertThat(node)
+                    .as("plan:\n%s", planText)
+                    .doesNotStartWith("Seq Scan")
+                    .doesNotStartWith("Sort")
+                    .doesNotStartWith("Incremental Sort");
+        }
+    }
+
+    private static boolean isReachable(String url, String username, String password) {
+        try (Connection ignored = DriverManager.getConnection(url, username, password)) {
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 조회 SQL 을 실행하는 대신 EXPLAIN 결과를 기록합니다. (행은 반환하지 않음)
+     */
+    private static final class ExplainingJdbcTemplate extends NamedParameterJdbcTemplate {
+
+        private List<String> lastPlan = List.of();
+
+        private ExplainingJdbcTemplate(JdbcTemplate jdbcTemplate) {
+            super(jdbcTemplate);
+        }
+
+        @Override
+        public <T> List<T> query(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper) {
+            lastPlan = super.query("explain (costs off) " + sql, paramSource, (rs, rowNum) -> rs.getString(1));
+            return List.of();
+        }
+
+        List<String> lastPlan() {
+            return lastPlan;
+        }
+    }
+}
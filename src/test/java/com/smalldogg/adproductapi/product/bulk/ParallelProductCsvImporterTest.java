@@ -0,0 +1,92 @@
+package com.smalldogg.adproductapi.product.bulk;
+
+import com.smalldogg.adproductapi.config.ProductImportProperties;
+import com.smalldogg.adproductapi.mock.ProductMockDataGenerator;
+import com.smalldogg.adproductapi.product.entity.Product;
+import com.smalldogg.adproductapi.product.response.BulkAddResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelProductCsvImporterTest {
+
+    private static final int WRITERS = 4;
+
+    private ProductCsvImporter sequential;
+    private ParallelProductCsvImporter parallel;
+
+    @BeforeEach
+    void setUp() {
+        ProductImportProperties properties = new ProductImportProperties(1_000, 1, 1, Duration.ofHours(1), WRITERS, 4);
+        ProductImportMetrics metrics = new ProductImportMetrics(new SimpleMeterRegistry());
+        sequential = new ProductCsvImporter(properties, metrics);
+        parallel = new ParallelProductCsvImporter(sequential, properties, metrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallel.shutdown();
+    }
+
+    /**
+     * 여러 블록(1MB)에 걸친 파일에서 중복 id 의 마지막 행, 잘못된 행의 줄 번호까지 단일 스레드 임포트와 같아야 합니다.
+     */
+    @Test
+    void matchesSequentialImport(@TempDir Path dir) throws IOException {
+        Path csv = dir.resolve("products.csv");
+        ProductMockDataGenerator.generate(csv, ProductMockDataGenerator.Options.of(30_000, 100, 1L));
+        String content = Files.readString(csv)
+                // 앞 블록의 id 를 뒤 블록에서 다시 등장시킴 (마지막 행이 이겨야 함)
+                + "7,1,123,\"다시, 등장\",ACTIVE,111,,2026-01-06T00:00:00,2026-01-06T00:00:00\n"
+                + "not-a-number,1,123,x,ACTIVE,1,,2026-01-06T00:00:00,2026-01-06T00:00:00\n"
+                + "7,1,123,\"마지막\nfinal\",ACTIVE,222,,2026-01-06T00:00:00,2026-01-06T00:00:00\n";
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+
+        Map<Long, Product> sequentialTable = new HashMap<>();
+        BulkAddResponse expected = sequential.importCsv(
+                new ByteArrayInputStream(bytes), new ImportProgress(bytes.length), upsertInto(sequentialTable));
+
+        Map<Long, Product> parallelTable = new ConcurrentHashMap<>();
+        BulkAddResponse actual = parallel.importCsv(
+                new ByteArrayInputStream(bytes), new ImportProgress(bytes.length), upsertInto(parallelTable));
+
+        assertThat(actual.totalLines()).isEqualTo(expected.totalLines());
+        assertThat(actual.skippedRows()).isEqualTo(expected.skippedRows());
+        assertThat(actual.errors()).containsExactlyInAnyOrderElementsOf(expected.errors());
+        assertThat(parallelTable).hasSameSizeAs(sequentialTable);
+        assertThat(parallelTable.get(7L).getName()).isEqualTo("마지막\nfinal");
+        sequentialTable.forEach((id, product) -> {
+            assertThat(parallelTable.get(id).getPrice()).isEqualTo(product.getPrice());
+            assertThat(parallelTable.get(id).getName()).isEqualTo(product.getName());
+        });
+    }
+
+    /**
+     * 메모리 테이블에 청크를 순서대로 반영 (insert/update 구분만 흉내)
+     */
+    private static Function<Collection<Product>, BulkWriteResult> upsertInto(Map<Long, Product> table) {
+        return chunk -> {
+            long inserted = 0;
+            for (Product p : chunk) {
+                if (table.put(p.getId(), p) == null) inserted++;
+            }
+            return new BulkWriteResult(inserted, chunk.size() - inserted, 0, 0);
+        };
+    }
+}
@@ -0,0 +1,320 @@
+package com.smalldogg.adproductapi.product.bulk;
+
+import com.smalldogg.adproductapi.config.ProductCacheProperties;
+import com.smalldogg.adproductapi.config.ProductImportProperties;
+import com.smalldogg.adproductapi.config.ProductServingIndexProperties;
+import com.smalldogg.adproductapi.product.cache.ProductCache;
+import com.smalldogg.adproductapi.product.entity.Product;
+import com.smalldogg.adproductapi.product.entity.ProductStatus;
+import com.smalldogg.adproductapi.product.enums.BulkImportMode;
+import com.smalldogg.adproductapi.product.response.BulkAddResponse;
+import com.smalldogg.adproductapi.product.serving.ProductServingIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 실제 PostgreSQL 에 쓰는 ProductBulkWriter 테스트 (./gradlew dbTest, check 에 포함).
+ *
+ * 접속 정보: TEST_DB_URL / TEST_DB_USERNAME / TEST_DB_PASSWORD
+ * (TEST_DB_URL 을 지정하지 않았고 기본 로컬 DB 에 접속할 수 없으면 건너뜀)
+ * 다른 데이터와 겹치지 않도록 BASE_ID 이상의 id 와 테스트용 파트너(PARTNER_A, PARTNER_B)만 쓰고 테스트마다 지웁니다.
+ */
+@Tag("db")
+class ProductBulkWriterTest {
+
+    private static final String DEFAULT_URL = "jdbc:postgresql://localhost:5432/product";
+
+    private static final long BASE_ID = 9_000_000_000_000L;
+    private static final long PARTNER_A = 9_000_000_001L;
+    private static final long PARTNER_B = 9_000_000_002L;
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 6, 12, 0);
+
+    private static final String HEADER = "id,partner_id,category,name,status,price,image_url,created_at,modified_at\n";
+
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+    private static ProductBulkWriter writer;
+    private static ProductCsvImporter importer;
+
+    @BeforeAll
+    static void setUp() {
+        String url = System.getenv("TEST_DB_URL");
+        String username = System.getenv().getOrDefault("TEST_DB_USERNAME", "test");
+        String password = System.getenv().getOrDefault("TEST_DB_PASSWORD", "test");
+        if (url == null) {
+            assumeTrue(isReachable(DEFAULT_URL, username, password), "local PostgreSQL is not available: " + DEFAULT_URL);
+            url = DEFAULT_URL;
+        }
+
+        Flyway.configure().dataSource(url, username, password).load().migrate();
+
+        // 커넥션 풀 없이 트랜잭션마다 새 커넥션 (동시 writer 가 각자 세션/임시 테이블을 가짐)
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url, username, password);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        writer = new ProductBulkWriter(
+                jdbcTemplate,
+                new ProductCache(new ProductCacheProperties(1_000, Duration.ofMinutes(5)), registry),
+                new ProductImportMetrics(registry),
+                new ProductServingIndex(new ProductServingIndexProperties(false, Duration.ofSeconds(2)),
+                        jdbcTemplate, transactionManager, registry)
+        );
+        importer = new ProductCsvImporter(
+                new ProductImportProperties(1_000, 1, 1, Duration.ofHours(1), 1, 0),
+                new ProductImportMetrics(registry));
+    }
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from product where id >= ?", BASE_ID);
+        jdbcTemplate.update("delete from product_id where id >= ?", BASE_ID);
+    }
+
+    /**
+     * DELTA 는 저장된 행보다 modified_at 이 최신이고 내용이 다른 행만 씁니다.
+     * 파트너 이동도 같은 기준이며, 옮긴 행은 updatedRows 로 집계합니다.
+     */
+    @Test
+    void deltaWritesOnlyNewerChangedRows() throws IOException {
+        inTransaction(() -> writer.write(List.of(
+                product(BASE_ID + 1, PARTNER_A, "name-1", 1_000L, T0),
+                product(BASE_ID + 2, PARTNER_A, "name-2", 1_000L, T0),
+                product(BASE_ID + 3, PARTNER_A, "name-3", 1_000L, T0),
+                product(BASE_ID + 4, PARTNER_A, "name-4", 1_000L, T0),
+                product(BASE_ID + 5, PARTNER_A, "name-5", 1_000L, T0)
+        ), BulkImportMode.UPSERT));
+
+        String newer = "2026-01-06T13:00:00";
+        String older = "2026-01-06T11:00:00";
+        String csv = HEADER
+                + row(BASE_ID + 1, PARTNER_A, "renamed-1", 1_500L, newer)   // 최신 + 내용 변경 → updated
+                + row(BASE_ID + 2, PARTNER_A, "renamed-2", 1_500L, older)   // 과거 → unchanged
+                + row(BASE_ID + 3, PARTNER_A, "name-3", 1_000L, newer)      // 최신이지만 내용 같음 → unchanged
+                + row(BASE_ID + 4, PARTNER_B, "name-4", 1_000L, newer)      // 최신 파트너 이동 → updated
+                + row(BASE_ID + 5, PARTNER_B, "name-5", 1_000L, older)      // 과거 파트너 이동 → unchanged
+                + row(BASE_ID + 6, PARTNER_A, "name-6", 1_000L, newer);     // 새 id → inserted
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+
+        BulkAddResponse response = importer.importCsv(new ByteArrayInputStream(bytes), new ImportProgress(bytes.length),
+                chunk -> inTransaction(() -> writer.write(chunk, BulkImportMode.DELTA)));
+
+        assertThat(response.totalLines()).isEqualTo(6);
+        assertThat(response.insertedRows()).isEqualTo(1);
+        assertThat(response.updatedRows()).isEqualTo(2);
+        assertThat(response.unchangedRows()).isEqualTo(3);
+        assertThat(response.skippedRows()).isZero();
+
+        assertThat(nameOf(BASE_ID + 1)).isEqualTo("renamed-1");
+        assertThat(nameOf(BASE_ID + 2)).isEqualTo("name-2");
+        assertThat(partnersOf(BASE_ID + 4)).containsExactly(PARTNER_B);
+        assertThat(registeredPartner(BASE_ID + 4)).isEqualTo(PARTNER_B);
+        assertThat(partnersOf(BASE_ID + 5)).containsExactly(PARTNER_A);
+        assertThat(registeredPartner(BASE_ID + 5)).isEqualTo(PARTNER_A);
+        assertThat(partnersOf(BASE_ID + 6)).containsExactly(PARTNER_A);
+    }
+
+    /**
+     * 같은 파일을 다시 넣으면 모두 unchanged 입니다. (반영된 행이 없으면 캐시/인덱스도 건드리지 않음)
+     */
+    @Test
+    void deltaReimportOfSameRowsIsUnchanged() {
+        List<Product> rows = List.of(
+                product(BASE_ID + 1, PARTNER_A, "name-1", 1_000L, T0),
+                product(BASE_ID + 2, PARTNER_B, "name-2", 2_000L, T0)
+        );
+
+        BulkWriteResult first = inTransaction(() -> writer.write(rows, BulkImportMode.DELTA));
+        BulkWriteResult second = inTransaction(() -> writer.write(rows, BulkImportMode.DELTA));
+
+        assertThat(first).isEqualTo(new BulkWriteResult(2, 0, 0, 0));
+        assertThat(second).isEqualTo(new BulkWriteResult(0, 0, 0, 2));
+    }
+
+    /**
+     * 바뀌지 않은 행은 등록부도 잠그지 않습니다. (행 잠금도 xmax 를 기록하므로 ctid / xmax 가 그대로여야 함)
+     * 쓴 행만 잠기는지 확인하도록 바뀐 행 하나를 섞습니다.
+     */
+    @Test
+    void deltaLocksRegistryOnlyForWrittenRows() {
+        inTransaction(() -> writer.write(List.of(
+                product(BASE_ID + 1, PARTNER_A, "name-1", 1_000L, T0),
+                product(BASE_ID + 2, PARTNER_A, "name-2", 1_000L, T0),
+                product(BASE_ID + 3, PARTNER_B, "name-3", 1_000L, T0)
+        ), BulkImportMode.UPSERT));
+        List<String> before = registryTuples();
+
+        BulkWriteResult result = inTransaction(() -> writer.write(List.of(
+                product(BASE_ID + 1, PARTNER_A, "name-1", 1_000L, T0),                  // 같음
+                product(BASE_ID + 2, PARTNER_A, "renamed-2", 1_000L, T0.minusHours(1)), // 과거
+                product(BASE_ID + 3, PARTNER_B, "renamed-3", 1_000L, T0.plusHours(1))   // 최신 + 내용 변경
+        ), BulkImportMode.DELTA));
+        List<String> after = registryTuples();
+
+        assertThat(result).isEqualTo(new BulkWriteResult(0, 1, 0, 2));
+        assertThat(after.subList(0, 2)).isEqualTo(before.subList(0, 2));
+        assertThat(after.get(2)).isNotEqualTo(before.get(2));
+    }
+
+    /**
+     * 같은 id 를 서로 다른 파트너로 동시에 쓰면 두 번째 writer 는 첫 번째가 끝날 때까지 기다렸다가
+     * 그 결과를 보고 반영해야 합니다. (파티션마다 같은 id 가 하나씩 남으면 안 됨)
+     */
+    @ParameterizedTest
+    @EnumSource(BulkImportMode.class)
+    void concurrentWritesOfSameIdToDifferentPartnersLeaveOneRow(BulkImportMode mode) throws Exception {
+        long id = BASE_ID + 1;
+        Product first = product(id, PARTNER_A, "first", 1_000L, T0);
+        Product second = product(id, PARTNER_B, "second", 2_000L, T0.plusHours(1));
+
+        CountDownLatch firstWritten = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<BulkWriteResult> a = pool.submit(() -> inTransaction(() -> {
+                BulkWriteResult result = writer.write(List.of(first), mode);
+                firstWritten.countDown();
+                assertThat(commitFirst.await(10, TimeUnit.SECONDS)).isTrue();
+                return result;
+            }));
+            assertThat(firstWritten.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Future<BulkWriteResult> b = pool.submit(() -> inTransaction(() -> writer.write(List.of(second), mode)));
+            awaitLockWaitOrDone(b);
+            commitFirst.countDown();
+
+            assertThat(a.get(10, TimeUnit.SECONDS).insertedRows()).isEqualTo(1);
+            b.get(10, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long expectedPartner = mode == BulkImportMode.INSERT_ONLY ? PARTNER_A : PARTNER_B;
+        assertThat(partnersOf(id)).containsExactly(expectedPartner);
+        assertThat(registeredPartner(id)).isEqualTo(expectedPartner);
+    }
+
+    /**
+     * 동기 bulk-add 잠금은 트랜잭션 단위라 앞 트랜잭션이 끝나기 전에는 다른 트랜잭션이 잡지 못합니다.
+     */
+    @Test
+    void syncImportLockAllowsOneTransactionAtATime() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> holder = pool.submit(() -> inTransaction(() -> {
+                boolean acquired = writer.tryLockSyncImport();
+                locked.countDown();
+                assertThat(release.await(10, TimeUnit.SECONDS)).isTrue();
+                return acquired;
+            }));
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(inTransaction(writer::tryLockSyncImport)).isFalse();
+            release.countDown();
+            assertThat(holder.get(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(inTransaction(writer::tryLockSyncImport)).isTrue();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static <T> T inTransaction(Callable<T> body) {
+        return transactionTemplate.execute(status -> {
+            try {
+                return body.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    /**
+     * 두 번째 writer 가 잠금 대기에 들어가거나(등록부 잠금이 있을 때) 끝날 때까지(없을 때) 기다립니다.
+     */
+    private static void awaitLockWaitOrDone(Future<?> future) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!future.isDone() && System.nanoTime() < deadline) {
+            Integer waiting = jdbcTemplate.queryForObject(
+                    "select count(*) from pg_stat_activity where datname = current_database() and wait_event_type = 'Lock'",
+                    Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * 등록부 행의 물리 위치와 잠금/삭제 트랜잭션 (id 순)
+     */
+    private static List<String> registryTuples() {
+        return jdbcTemplate.queryForList(
+                "select ctid::text || '/' || xmax::text from product_id where id >= ? order by id", String.class, BASE_ID);
+    }
+
+    private static String nameOf(long id) {
+        return jdbcTemplate.queryForObject("select name from product where id = ?", String.class, id);
+    }
+
+    private static List<Long> partnersOf(long id) {
+        return jdbcTemplate.queryForList("select partner_id from product where id = ?", Long.class, id);
+    }
+
+    private static Long registeredPartner(long id) {
+        return jdbcTemplate.queryForObject("select partner_id from product_id where id = ?", Long.class, id);
+    }
+
+    private static Product product(long id, long partnerId, String name, long price, LocalDateTime modifiedAt) {
+        return Product.of(id, partnerId, 123, name, ProductStatus.ACTIVE, price, null, T0, modifiedAt);
+    }
+
+    private static String row(long id, long partnerId, String name, long price, String modifiedAt) {
+        return id + "," + partnerId + ",123," + name + ",ACTIVE," + price + ",,2026-01-06T00:00:00," + modifiedAt + "\n";
+    }
+
+    private static boolean isReachable(String url, String username, String password) {
+        try (Connection ignored = DriverManager.getConnection(url, username, password)) {
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
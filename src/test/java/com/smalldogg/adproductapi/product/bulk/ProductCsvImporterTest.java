@@ -0,0 +1,60 @@
+package com.smalldogg.adproductapi.product.bulk;
+
+import com.smalldogg.adproductapi.config.ProductImportProperties;
+import com.smalldogg.adproductapi.product.entity.Product;
+import com.smalldogg.adproductapi.product.response.BulkAddResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCsvImporterTest {
+
+    private static final String HEADER = "id,partner_id,category,name,status,price,image_url,created_at,modified_at\n";
+
+    private final ProductCsvImporter importer = new ProductCsvImporter(
+            new ProductImportProperties(1_000, 1, 1, Duration.ofHours(1), 1, 0),
+            new ProductImportMetrics(new SimpleMeterRegistry()));
+
+    /**
+     * 컬럼 길이를 넘는 행은 COPY 까지 가지 않고 줄 번호와 사유를 남긴 채 건너뜁니다. (varchar 는 문자 수 기준)
+     */
+    @Test
+    void rejectsValuesThatDoNotFitTheColumns() throws IOException {
+        String longestName = "가".repeat(ProductCsvImporter.NAME_MAX_LENGTH);
+        String longestUrl = "https://img/" + "x".repeat(ProductCsvImporter.IMAGE_URL_MAX_LENGTH - 12);
+        String csv = HEADER
+                + row(1, longestName, longestUrl)       // 2: 딱 맞음
+                + row(2, longestName + "가", "")         // 3: 이름 초과
+                + row(3, "ok", longestUrl + "x")         // 4: 이미지 URL 초과
+                + row(4, "\"  \"", "")                   // 5: 빈 이름
+                + row(5, "ok", "");                      // 6
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+        List<Product> written = new ArrayList<>();
+
+        BulkAddResponse response = importer.importCsv(new ByteArrayInputStream(bytes), new ImportProgress(bytes.length),
+                chunk -> {
+                    written.addAll(chunk);
+                    return new BulkWriteResult(chunk.size(), 0, 0, 0);
+                });
+
+        assertThat(written).extracting(Product::getId).containsExactly(1L, 5L);
+        assertThat(response.insertedRows()).isEqualTo(2);
+        assertThat(response.skippedRows()).isEqualTo(3);
+        assertThat(response.errors()).containsExactly(
+                new BulkAddResponse.RowError(3, "name is longer than 200"),
+                new BulkAddResponse.RowError(4, "image_url is longer than 500"),
+                new BulkAddResponse.RowError(5, "name is empty"));
+    }
+
+    private static String row(long id, String name, String imageUrl) {
+        return id + ",1,123," + name + ",ACTIVE,1000," + imageUrl + ",2026-01-06T00:00:00,2026-01-06T00:00:00\n";
+    }
+}
@@ -0,0 +1,101 @@
+package com.smalldogg.adproductapi.product.bulk;
+
+import com.smalldogg.adproductapi.product.entity.ProductStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductCsvParserTest {
+
+    private static ProductCsvParser parser(String csv) {
+        // 작은 버퍼로 레코드가 버퍼 경계에 걸치는 경우까지 함께 검증
+        return new ProductCsvParser(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), 7);
+    }
+
+    @Test
+    void parsesTypedFieldsWithoutQuotes() throws IOException {
+        ProductCsvParser p = parser("1, 20 ,123,신발,ACTIVE,15000,,2026-01-06T12:34:56,2026-01-06 12:34\n");
+
+        assertThat(p.next()).isTrue();
+        assertThat(p.fieldCount()).isEqualTo(9);
+        assertThat(p.getLong(0)).isEqualTo(1L);
+        assertThat(p.getLong(1)).isEqualTo(20L);
+        assertThat(p.getInt(2)).isEqualTo(123);
+        assertThat(p.getString(3)).isEqualTo("신발");
+        assertThat(p.getStatus(4)).isEqualTo(ProductStatus.ACTIVE);
+        assertThat(p.getLong(5)).isEqualTo(15_000L);
+        assertThat(p.isEmpty(6)).isTrue();
+        assertThat(p.getDateTime(7)).isEqualTo(LocalDateTime.of(2026, 1, 6, 12, 34, 56));
+        assertThat(p.getDateTime(8)).isEqualTo(LocalDateTime.of(2026, 1, 6, 12, 34));
+        assertThat(p.next()).isFalse();
+    }
+
+    @Test
+    void handlesQuotedCommasEscapedQuotesAndNewlines() throws IOException {
+        ProductCsvParser p = parser("""
+                "a,b","say ""hi""","line1
+                line2",x
+                next
+                """);
+
+        assertThat(p.next()).isTrue();
+        assertThat(p.lineNumber()).isEqualTo(1);
+        assertThat(p.fieldCount()).isEqualTo(4);
+        assertThat(p.getString(0)).isEqualTo("a,b");
+        assertThat(p.getString(1)).isEqualTo("say \"hi\"");
+        assertThat(p.getString(2)).isEqualTo("line1\nline2");
+        assertThat(p.getString(3)).isEqualTo("x");
+
+        // 따옴표 안 줄바꿈만큼 줄 번호가 밀림
+        assertThat(p.next()).isTrue();
+        assertThat(p.lineNumber()).isEqualTo(3);
+        assertThat(p.getString(0)).isEqualTo("next");
+    }
+
+    @Test
+    void ignoresCarriageReturnOfCrlf() throws IOException {
+        ProductCsvParser p = parser("a,b\r\nc,d\r\n");
+
+        assertThat(p.next()).isTrue();
+        assertThat(p.getString(1)).isEqualTo("b");
+        assertThat(p.next()).isTrue();
+        assertThat(p.getString(0)).isEqualTo("c");
+        assertThat(p.getString(1)).isEqualTo("d");
+        assertThat(p.next()).isFalse();
+    }
+
+    @Test
+    void parsesFractionalSeconds() throws IOException {
+        ProductCsvParser p = parser("2026-01-06T12:34:56.123,2026-01-06 00:00:00.000000001");
+
+        assertThat(p.next()).isTrue();
+        assertThat(p.getDateTime(0)).isEqualTo(LocalDateTime.of(2026, 1, 6, 12, 34, 56, 123_000_000));
+        assertThat(p.getDateTime(1)).isEqualTo(LocalDateTime.of(2026, 1, 6, 0, 0, 0, 1));
+    }
+
+    @Test
+    void reportsInvalidValuesWithFieldPosition() throws IOException {
+        ProductCsvParser p = parser("12a,UNKNOWN,2026-13-01T00:00:00,9999999999999999999\n");
+
+        assertThat(p.next()).isTrue();
+        assertThatThrownBy(() -> p.getLong(0)).hasMessageContaining("field #1");
+        assertThatThrownBy(() -> p.getStatus(1)).hasMessageContaining("field #2");
+        assertThatThrownBy(() -> p.getDateTime(2)).hasMessageContaining("field #3");
+        assertThatThrownBy(() -> p.getLong(3)).hasMessageContaining("out of range");
+        assertThatThrownBy(() -> p.getString(4)).hasMessageContaining("missing field #5");
+    }
+
+    @Test
+    void flagsUnterminatedQuoteAsRecordError() throws IOException {
+        ProductCsvParser p = parser("1,\"open");
+
+        assertThat(p.next()).isTrue();
+        assertThat(p.error()).isEqualTo("unterminated quoted field");
+    }
+}
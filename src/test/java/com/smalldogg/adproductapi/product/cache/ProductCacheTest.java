@@ -0,0 +1,85 @@
+package com.smalldogg.adproductapi.product.cache;
+
+import com.smalldogg.adproductapi.config.ProductCacheProperties;
+import com.smalldogg.adproductapi.product.response.ProductApiResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCacheTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 6, 12, 0);
+
+    private final ProductCache cache = new ProductCache(
+            new ProductCacheProperties(1_000, Duration.ofMinutes(5)), new SimpleMeterRegistry());
+
+    @Test
+    void batchLoadsOnlyMissingIds() {
+        cache.get(1L, id -> product(id, "cached"));
+        List<Set<Long>> requested = new ArrayList<>();
+
+        Map<Long, ProductApiResponse> found = cache.getAll(List.of(1L, 2L, 3L), missing -> {
+            requested.add(Set.copyOf(missing));
+            return Map.of(2L, product(2L, "loaded"));
+        });
+
+        assertThat(requested).containsExactly(Set.of(2L, 3L));
+        assertThat(found).containsOnlyKeys(1L, 2L);
+        assertThat(found.get(1L).name()).isEqualTo("cached");
+    }
+
+    /**
+     * 배치 적재가 이전 값을 읽은 뒤 writer 가 커밋하고 무효화해도, 그 이전 값이 캐시에 남으면 안 됩니다.
+     */
+    @Test
+    void batchLoadReadBeforeInvalidationIsNotCached() throws Exception {
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Map<Long, ProductApiResponse>> batch = pool.submit(() -> cache.getAll(List.of(1L), missing -> {
+                ProductApiResponse stale = product(1L, "before-commit");
+                read.countDown();
+                await(invalidated);
+                return Map.of(1L, stale);
+            }));
+
+            assertThat(read.await(5, TimeUnit.SECONDS)).isTrue();
+            cache.evictAfterCommit(1L); // 트랜잭션 밖이라 즉시 무효화 (커밋 직후 무효화와 같은 시점)
+            invalidated.countDown();
+
+            assertThat(batch.get(5, TimeUnit.SECONDS).get(1L).name()).isEqualTo("before-commit");
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(cache.getIfPresent(1L)).isNull();
+        assertThat(cache.get(1L, id -> product(id, "after-commit")).name()).isEqualTo("after-commit");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ProductApiResponse product(Long id, String name) {
+        return new ProductApiResponse(id, name, 1_000L, null, 1L, 100, 10, 1, T0, T0, 1L);
+    }
+}
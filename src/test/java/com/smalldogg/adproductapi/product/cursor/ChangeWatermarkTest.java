@@ -0,0 +1,29 @@
+package com.smalldogg.adproductapi.product.cursor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChangeWatermarkTest {
+
+    @Test
+    void roundTrips() {
+        ChangeWatermark watermark = new ChangeWatermark(123_456L, 42L);
+
+        assertThat(ChangeWatermark.decode(watermark.encode())).isEqualTo(watermark);
+    }
+
+    @Test
+    void upToCoversEveryRowBelowHorizon() {
+        ChangeWatermark watermark = ChangeWatermark.upTo(1_000L);
+
+        assertThat(ChangeWatermark.decode(watermark.encode())).isEqualTo(new ChangeWatermark(999L, Long.MAX_VALUE));
+    }
+
+    @Test
+    void rejectsGarbage() {
+        assertThatThrownBy(() -> ChangeWatermark.decode("not-a-watermark"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,45 @@
+package com.smalldogg.adproductapi.product.cursor;
+
+import com.smalldogg.adproductapi.product.enums.ProductSortType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductCursorTest {
+
+    @Test
+    void roundTripsEverySortType() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 6, 12, 34, 56);
+
+        for (ProductSortType sortType : ProductSortType.values()) {
+            ProductCursor cursor = new ProductCursor(sortType, createdAt, 15_000L, 42L);
+
+            ProductCursor decoded = ProductCursor.decode(cursor.encode(), sortType);
+
+            assertThat(decoded.sortType()).isEqualTo(sortType);
+            assertThat(decoded.id()).isEqualTo(42L);
+            switch (sortType) {
+                case CREATED_AT -> assertThat(decoded.createdAt()).isEqualTo(createdAt);
+                case PRICE_ASC, PRICE_DESC -> assertThat(decoded.price()).isEqualTo(15_000L);
+                default -> { }
+            }
+        }
+    }
+
+    @Test
+    void rejectsCursorIssuedForAnotherSortType() {
+        String encoded = new ProductCursor(ProductSortType.PRICE_ASC, null, 100L, 1L).encode();
+
+        assertThatThrownBy(() -> ProductCursor.decode(encoded, ProductSortType.PRICE_DESC))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsGarbage() {
+        assertThatThrownBy(() -> ProductCursor.decode("not-a-cursor", ProductSortType.ID))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
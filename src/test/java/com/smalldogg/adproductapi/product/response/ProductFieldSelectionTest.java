@@ -0,0 +1,49 @@
+package com.smalldogg.adproductapi.product.response;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductFieldSelectionTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2026, 1, 6, 12, 0);
+
+    @Test
+    void keepsRequestedFieldsInRequestOrder() {
+        ProductFieldSelection<ProductListResponse.ProductItem> selection =
+                ProductFieldSelection.parse(" price, id ,status,id", ProductFieldSelection.LIST_ITEM_FIELDS);
+
+        List<Map<String, Object>> items = selection.apply(List.of(item(7L)));
+
+        assertThat(selection.fields()).isEqualTo("price,id,status");
+        assertThat(items).hasSize(1);
+        assertThat(items.get(0)).containsExactly(
+                Map.entry("price", 1_000L),
+                Map.entry("id", 7L),
+                Map.entry("status", "ACTIVE")
+        );
+    }
+
+    @Test
+    void blankMeansAllFields() {
+        assertThat(ProductFieldSelection.parse(null, ProductFieldSelection.LIST_ITEM_FIELDS)).isNull();
+        assertThat(ProductFieldSelection.parse(" , ", ProductFieldSelection.LIST_ITEM_FIELDS)).isNull();
+    }
+
+    @Test
+    void rejectsUnknownField() {
+        // batch-get 응답(ProductApiResponse)에는 status 가 없음
+        assertThatThrownBy(() -> ProductFieldSelection.parse("id,status", ProductFieldSelection.API_RESPONSE_FIELDS))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("status");
+    }
+
+    private static ProductListResponse.ProductItem item(long id) {
+        return new ProductListResponse.ProductItem(id, 1L, 100, 10, 1, "name", "ACTIVE", 1_000L, null, T, T);
+    }
+}
@@ -0,0 +1,172 @@
+package com.smalldogg.adproductapi.product.serving;
+
+import com.smalldogg.adproductapi.product.cursor.ProductCursor;
+import com.smalldogg.adproductapi.product.entity.ProductStatus;
+import com.smalldogg.adproductapi.product.enums.ProductSortType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductColumnarSnapshotTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 6, 12, 0);
+    private static final ProductStatus[] STATUSES = ProductStatus.values();
+
+    /** (partnerId, id) 순, 가격/생성 시각은 동점이 많도록 좁은 범위에서 뽑음 */
+    private final List<TestRow> rows = new ArrayList<>();
+    private final ProductColumnarSnapshot snapshot;
+
+    ProductColumnarSnapshotTest() {
+        SplittableRandom rnd = new SplittableRandom(42);
+        ProductColumnarSnapshot.Builder builder = ProductColumnarSnapshot.builder(4);
+        long id = 0;
+        for (long partnerId = 1; partnerId <= 3; partnerId++) {
+            for (int i = 0; i < 200; i++) {
+                id += rnd.nextInt(1, 4);
+                TestRow row = new TestRow(id, partnerId, rnd.nextLong(1, 20) * 100,
+                        BASE.plusNanos(rnd.nextLong(0, 30) * 1_000), STATUSES[rnd.nextInt(STATUSES.length)], rnd.nextInt(1, 4));
+                rows.add(row);
+                builder.add(row.id, row.partnerId, row.price, row.createdAt, row.status, row.category1);
+            }
+        }
+        snapshot = builder.build();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ProductSortType.class)
+    void offsetPagesFollowSortOrder(ProductSortType sortType) {
+        List<Long> expected = expected(2L, ProductStatus.ACTIVE, null, sortType);
+
+        assertThat(ids(snapshot.select(2L, ProductStatus.ACTIVE, null, sortType, null, 0, 1_000))).isEqualTo(expected);
+        assertThat(ids(snapshot.select(2L, ProductStatus.ACTIVE, null, sortType, null, 5, 7)))
+                .isEqualTo(expected.subList(5, 12));
+    }
+
+    @ParameterizedTest
+    @EnumSource(ProductSortType.class)
+    void cursorPagesWalkTheWholePartner(ProductSortType sortType) {
+        List<Long> walked = new ArrayList<>();
+        ProductCursor after = null;
+        while (true) {
+            int[] page = snapshot.select(3L, null, 2, sortType, after, 0, 9);
+            if (page.length == 0) {
+                break;
+            }
+            for (int row : page) {
+                walked.add(snapshot.id(row));
+            }
+            int last = page[page.length - 1];
+            after = new ProductCursor(sortType, snapshot.createdAt(last), snapshot.price(last), snapshot.id(last));
+        }
+
+        assertThat(walked).isEqualTo(expected(3L, null, 2, sortType));
+    }
+
+    @Test
+    void countsMatchingRows() {
+        assertThat(snapshot.count(1L, null, null)).isEqualTo(200);
+        assertThat(snapshot.count(1L, ProductStatus.SUSPENDED, 3)).isEqualTo(expected(1L, ProductStatus.SUSPENDED, 3, ProductSortType.ID).size());
+        assertThat(snapshot.count(99L, null, null)).isZero();
+    }
+
+    @Test
+    void patchStatusIsVisibleToFilters() {
+        TestRow row = rows.get(250);
+        ProductStatus other = row.status == ProductStatus.REJECTED ? ProductStatus.SOLD_OUT : ProductStatus.REJECTED;
+        long before = snapshot.count(row.partnerId, other, null);
+
+        assertThat(snapshot.patchStatus(row.partnerId, row.id, other)).isTrue();
+        assertThat(snapshot.count(row.partnerId, other, null)).isEqualTo(before + 1);
+        assertThat(snapshot.patchStatus(row.partnerId, -1L, other)).isFalse();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ProductSortType.class)
+    void replacePartnersSwapsOnlyReloadedPartners(ProductSortType sortType) {
+        // 2 는 다시 읽은 행으로 교체, 3 은 다시 읽었더니 없음(모두 이동/삭제), 5 는 새 파트너
+        List<TestRow> reloaded = List.of(
+                new TestRow(3L, 2L, 500L, BASE.plusNanos(2_000), ProductStatus.ACTIVE, 1),
+                new TestRow(7L, 2L, 100L, BASE.plusNanos(9_000), ProductStatus.ACTIVE, 2),
+                new TestRow(9L, 2L, 300L, BASE, ProductStatus.SUSPENDED, 1),
+                new TestRow(4L, 5L, 200L, BASE, ProductStatus.ACTIVE, 3));
+        ProductColumnarSnapshot.Builder builder = ProductColumnarSnapshot.builder(4);
+        reloaded.forEach(r -> builder.add(r.id, r.partnerId, r.price, r.createdAt, r.status, r.category1));
+
+        ProductColumnarSnapshot merged = snapshot.replacePartners(new long[]{2L, 3L, 5L}, builder.build());
+
+        assertThat(merged.size()).isEqualTo(200 + reloaded.size());
+        assertThat(ids(merged, merged.select(1L, null, null, sortType, null, 0, 1_000)))
+                .isEqualTo(expected(rows, 1L, null, null, sortType));
+        assertThat(ids(merged, merged.select(2L, null, null, sortType, null, 0, 1_000)))
+                .isEqualTo(expected(reloaded, 2L, null, null, sortType));
+        assertThat(merged.count(2L, ProductStatus.ACTIVE, null)).isEqualTo(2);
+        assertThat(merged.count(3L, null, null)).isZero();
+        assertThat(ids(merged, merged.select(5L, null, null, sortType, null, 0, 1_000))).containsExactly(4L);
+        // 원래 스냅샷은 그대로
+        assertThat(snapshot.count(3L, null, null)).isEqualTo(200);
+    }
+
+    @Test
+    void keepsMicrosecondPrecision() {
+        LocalDateTime value = LocalDateTime.of(1999, 12, 31, 23, 59, 59, 123_456_000);
+
+        assertThat(ProductColumnarSnapshot.fromMicros(ProductColumnarSnapshot.toMicros(value))).isEqualTo(value);
+    }
+
+    @Test
+    void rejectsUnorderedRows() {
+        ProductColumnarSnapshot.Builder builder = ProductColumnarSnapshot.builder(4)
+                .add(10L, 2L, 100L, BASE, ProductStatus.ACTIVE, 1);
+
+        assertThatThrownBy(() -> builder.add(5L, 2L, 100L, BASE, ProductStatus.ACTIVE, 1))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> builder.add(11L, 1L, 100L, BASE, ProductStatus.ACTIVE, 1))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private List<Long> ids(int[] selected) {
+        return ids(snapshot, selected);
+    }
+
+    private static List<Long> ids(ProductColumnarSnapshot source, int[] selected) {
+        List<Long> ids = new ArrayList<>(selected.length);
+        for (int row : selected) {
+            ids.add(source.id(row));
+        }
+        return ids;
+    }
+
+    private List<Long> expected(long partnerId, ProductStatus status, Integer category1, ProductSortType sortType) {
+        return expected(rows, partnerId, status, category1, sortType);
+    }
+
+    private static List<Long> expected(List<TestRow> source, long partnerId, ProductStatus status, Integer category1,
+                                       ProductSortType sortType) {
+        Comparator<TestRow> order = switch (sortType) {
+            case ID -> Comparator.comparingLong(TestRow::id);
+            case ID_DESC -> Comparator.comparingLong(TestRow::id).reversed();
+            case CREATED_AT -> Comparator.comparing(TestRow::createdAt).thenComparingLong(TestRow::id).reversed();
+            case PRICE_ASC -> Comparator.comparingLong(TestRow::price).thenComparingLong(TestRow::id);
+            case PRICE_DESC -> Comparator.comparingLong(TestRow::price).thenComparingLong(TestRow::id).reversed();
+        };
+        return source.stream()
+                .filter(r -> r.partnerId == partnerId)
+                .filter(r -> status == null || r.status == status)
+                .filter(r -> category1 == null || r.category1 == category1)
+                .sorted(order)
+                .map(TestRow::id)
+                .toList();
+    }
+
+    private record TestRow(long id, long partnerId, long price, LocalDateTime createdAt, ProductStatus status, int category1) {
+    }
+}